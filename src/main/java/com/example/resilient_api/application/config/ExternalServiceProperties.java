@@ -0,0 +1,73 @@
+package com.example.resilient_api.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * URL base, pool de conexiones, hedging y límite de concurrencia de cada servicio externo
+ * (external.bootcamp, external.capacity, external.user)
+ */
+@Data
+@ConfigurationProperties(prefix = "external")
+public class ExternalServiceProperties {
+
+    private Service bootcamp = new Service();
+    private Service capacity = new Service();
+    private Service user = new Service();
+
+    @Data
+    public static class Service {
+        private String baseUrl;
+        private Pool pool = new Pool();
+        private Hedge hedge = new Hedge();
+        private Limiter limiter = new Limiter();
+    }
+
+    @Data
+    public static class Pool {
+        /** Conexiones abiertas como máximo hacia el servicio */
+        private int maxConnections = 50;
+        /** Solicitudes que pueden esperar una conexión libre; las siguientes fallan de inmediato */
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+        /** Las conexiones ociosas o viejas se cierran antes de que el servidor o un balanceador las corte */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+        private Duration evictionInterval = Duration.ofSeconds(30);
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration responseTimeout = Duration.ofSeconds(10);
+        private boolean keepAlive = true;
+    }
+
+    @Data
+    public static class Hedge {
+        /** Solo se aplica a lecturas idempotentes: IDs inscritos (bootcamp) y detalles de usuarios (user) */
+        private boolean enabled = false;
+        /** Percentil de las latencias recientes que debe superar la original para enviar la copia */
+        private double percentile = 0.95;
+        /** Carga extra máxima, en porcentaje de las llamadas, que pueden sumar las copias */
+        private double budgetPercent = 5;
+        private Duration minDelay = Duration.ofMillis(20);
+        /** Demora usada hasta juntar suficientes latencias */
+        private Duration initialDelay = Duration.ofMillis(500);
+        /** Latencias recientes consideradas para el percentil */
+        private int window = 1000;
+    }
+
+    @Data
+    public static class Limiter {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        /** Nunca más llamadas en vuelo que conexiones en el pool */
+        private int maxLimit = 50;
+        /** Factor aplicado al límite ante una falla o una respuesta lenta */
+        private double backoffRatio = 0.9;
+        /** Una respuesta más lenta que esto se trata como señal de sobrecarga */
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+        /** Llamadas que pueden esperar un permiso; las siguientes se descartan */
+        private int maxQueued = 200;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.resilient_api.application.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler dedicado a la reconstrucción de reportes, para que armar y mapear reportes grandes no compita
+ * con el I/O de las peticiones en los event loops de Netty.
+ * Tiene hilos y cola acotados (report.rebuild.scheduler.*); con la cola llena la tarea se rechaza y la
+ * reconstrucción falla en lugar de acumular trabajo sin límite.
+ * Su uso se publica como executor.* con el tag name=report-rebuild (hilos activos, cola, tareas completadas).
+ */
+@Configuration
+public class RebuildSchedulerConfig {
+
+    private static final String NAME = "report-rebuild";
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler reportRebuildScheduler(MeterRegistry meterRegistry,
+                                            @Value("${report.rebuild.scheduler.threads:4}") int threads,
+                                            @Value("${report.rebuild.scheduler.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, NAME, Tags.empty()).bindTo(meterRegistry);
+        return Schedulers.fromExecutorService(executor, NAME);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, NAME + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -33,10 +33,20 @@ public class SecurityConfig {
                         // ===== ENDPOINTS ADMIN (solo isAdmin = true) =====
                         // Ver el bootcamp más popular - solo admin
                         .pathMatchers(HttpMethod.GET, "/metrics/bootcamp/most-popular").hasRole("ADMIN")
+                        // Ranking de bootcamps por inscritos - solo admin
+                        .pathMatchers(HttpMethod.GET, "/metrics/bootcamp/ranking").hasRole("ADMIN")
 
                         // ===== ENDPOINTS INTERNOS (sin autenticación de usuario) =====
                         // Registrar reporte de bootcamp - llamado internamente por capacity-api
                         .pathMatchers(HttpMethod.POST, "/metrics/bootcamp/report").permitAll()
+                        // Registro por lote y consulta de su estado - llamados internamente
+                        .pathMatchers(HttpMethod.POST, "/metrics/bootcamp/report/batch").permitAll()
+                        .pathMatchers(HttpMethod.GET, "/metrics/bootcamp/report/batch/**").permitAll()
+                        // Deltas de inscripción - llamados internamente al inscribir o dar de baja un usuario
+                        .pathMatchers(HttpMethod.POST, "/metrics/bootcamp/*/enrollments").permitAll()
+                        .pathMatchers(HttpMethod.DELETE, "/metrics/bootcamp/*/enrollments/*").permitAll()
+                        // Invalidación de perfiles cacheados - llamada internamente por users-api al cambiar un perfil
+                        .pathMatchers(HttpMethod.POST, "/metrics/users/profile-cache/invalidate").permitAll()
 
                         // Por defecto: permitir todo lo demás
                         .anyExchange().permitAll()
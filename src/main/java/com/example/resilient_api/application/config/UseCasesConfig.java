@@ -1,60 +1,162 @@
 package com.example.resilient_api.application.config;
 
 import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.model.ReportBuildSettings;
 import com.example.resilient_api.domain.spi.*;
 import com.example.resilient_api.domain.usecase.BootcampReportUseCase;
+import com.example.resilient_api.infrastructure.adapters.externalservice.AdaptiveConcurrencyLimiter;
 import com.example.resilient_api.infrastructure.adapters.externalservice.BootcampExternalServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.externalservice.BatchingUserExternalServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.externalservice.CachingUserExternalServiceAdapter;
 import com.example.resilient_api.infrastructure.adapters.externalservice.CapacityExternalServiceAdapter;
 import com.example.resilient_api.infrastructure.adapters.externalservice.UserExternalServiceAdapter;
+import com.example.resilient_api.infrastructure.adapters.metrics.MicrometerStageMetricsAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.BatchingBootcampReportPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.BootcampLeaderboard;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.BootcampReportPersistenceAdapter;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.LeaderboardBootcampReportPersistenceAdapter;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampReportMapper;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampReportRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.EnrollmentBucketRepository;
 import com.example.resilient_api.infrastructure.adapters.webclient.BootcampWebClient;
 import com.example.resilient_api.infrastructure.adapters.webclient.CapacityWebClient;
 import com.example.resilient_api.infrastructure.adapters.webclient.UserWebClient;
+import com.example.resilient_api.infrastructure.entrypoints.cache.CachingBootcampReportService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
 
 @Configuration
 @RequiredArgsConstructor
 public class UseCasesConfig {
 
     private final BootcampReportRepository bootcampReportRepository;
+    private final EnrollmentBucketRepository enrollmentBucketRepository;
     private final BootcampReportMapper bootcampReportMapper;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
     private final BootcampWebClient bootcampWebClient;
     private final CapacityWebClient capacityWebClient;
     private final UserWebClient userWebClient;
 
     @Bean
-    public BootcampReportPersistencePort bootcampReportPersistencePort() {
-        return new BootcampReportPersistenceAdapter(bootcampReportRepository, bootcampReportMapper);
+    public BootcampReportPersistencePort bootcampReportPersistencePort(
+            MeterRegistry meterRegistry,
+            @Value("${report.persistence.batching.enabled:true}") boolean batchingEnabled,
+            @Value("${report.persistence.batching.max-batch-size:100}") int maxBatchSize,
+            @Value("${report.persistence.batching.max-delay:50ms}") Duration maxDelay,
+            @Value("${report.persistence.enrollment-bucket-size:200}") int enrollmentBucketSize,
+            @Value("${report.leaderboard.enabled:true}") boolean leaderboardEnabled) {
+        BootcampReportPersistenceAdapter persistenceAdapter = new BootcampReportPersistenceAdapter(
+                bootcampReportRepository, enrollmentBucketRepository, bootcampReportMapper, reactiveMongoTemplate, enrollmentBucketSize);
+        BootcampReportPersistencePort persistencePort = batchingEnabled
+                ? new BatchingBootcampReportPersistenceAdapter(
+                        persistenceAdapter, reactiveMongoTemplate, bootcampReportMapper, meterRegistry, maxBatchSize, maxDelay)
+                : persistenceAdapter;
+        if (!leaderboardEnabled) {
+            return persistencePort;
+        }
+        return new LeaderboardBootcampReportPersistenceAdapter(persistencePort, new BootcampLeaderboard(), meterRegistry);
+    }
+
+    @Bean
+    public BootcampExternalServicePort bootcampExternalServicePort(ExternalServiceProperties properties, MeterRegistry meterRegistry) {
+        return new BootcampExternalServiceAdapter(bootcampWebClient, concurrencyLimiter(
+                "bootcamp", properties.getBootcamp().getLimiter(), TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE, meterRegistry));
     }
 
     @Bean
-    public BootcampExternalServicePort bootcampExternalServicePort() {
-        return new BootcampExternalServiceAdapter(bootcampWebClient);
+    public CapacityExternalServicePort capacityExternalServicePort(ExternalServiceProperties properties, MeterRegistry meterRegistry) {
+        return new CapacityExternalServiceAdapter(capacityWebClient, concurrencyLimiter(
+                "capacity", properties.getCapacity().getLimiter(), TechnicalMessage.CAPACITY_SERVICE_UNAVAILABLE, meterRegistry));
     }
 
     @Bean
-    public CapacityExternalServicePort capacityExternalServicePort() {
-        return new CapacityExternalServiceAdapter(capacityWebClient);
+    public UserExternalServicePort userExternalServicePort(
+            ExternalServiceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${external.user.chunk.size:500}") int chunkSize,
+            @Value("${external.user.chunk.concurrency:4}") int chunkConcurrency,
+            @Value("${external.user.chunk.max-retries:2}") int chunkMaxRetries,
+            @Value("${external.user.chunk.retry-backoff:200ms}") Duration chunkRetryBackoff,
+            @Value("${external.user.batching.enabled:true}") boolean batchingEnabled,
+            @Value("${external.user.batching.window:10ms}") Duration batchingWindow,
+            @Value("${external.user.batching.max-batch-size:500}") int batchingMaxBatchSize,
+            @Value("${external.user.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${external.user.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${external.user.cache.max-entries:100000}") int cacheMaxEntries) {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = concurrencyLimiter(
+                "user", properties.getUser().getLimiter(), TechnicalMessage.USER_SERVICE_UNAVAILABLE, meterRegistry);
+        UserExternalServicePort userExternalServiceAdapter = new UserExternalServiceAdapter(
+                userWebClient, concurrencyLimiter, meterRegistry, chunkSize, chunkConcurrency, chunkMaxRetries, chunkRetryBackoff);
+        if (batchingEnabled) {
+            userExternalServiceAdapter = new BatchingUserExternalServiceAdapter(
+                    userExternalServiceAdapter, meterRegistry, batchingMaxBatchSize, batchingWindow);
+        }
+        if (!cacheEnabled) {
+            return userExternalServiceAdapter;
+        }
+        return new CachingUserExternalServiceAdapter(userExternalServiceAdapter, meterRegistry, cacheTtl, cacheMaxEntries);
     }
 
     @Bean
-    public UserExternalServicePort userExternalServicePort() {
-        return new UserExternalServiceAdapter(userWebClient);
+    public StageMetricsPort stageMetricsPort(MeterRegistry meterRegistry) {
+        return new MicrometerStageMetricsAdapter(meterRegistry);
     }
 
     @Bean
     public BootcampReportServicePort bootcampReportServicePort(
             BootcampReportPersistencePort bootcampReportPersistencePort,
             BootcampExternalServicePort bootcampExternalServicePort,
-            UserExternalServicePort userExternalServicePort) {
-        return new BootcampReportUseCase(
+            UserExternalServicePort userExternalServicePort,
+            StageMetricsPort stageMetricsPort,
+            RebuildLanePort rebuildLanePort,
+            MeterRegistry meterRegistry,
+            @Qualifier("reportRebuildScheduler") Scheduler rebuildScheduler,
+            @Value("${report.build.bootcamp-timeout:5s}") Duration bootcampTimeout,
+            @Value("${report.build.user-ids-timeout:5s}") Duration userIdsTimeout,
+            @Value("${report.build.users-timeout:10s}") Duration usersTimeout,
+            @Value("${report.build.fallback-to-stored-users:true}") boolean fallbackToStoredUsers,
+            @Value("${report.most-popular.degraded.enabled:true}") boolean degradedReads,
+            @Value("${report.most-popular.degraded.enrichment-budget:1s}") Duration readEnrichmentBudget,
+            @Value("${report.most-popular.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${report.most-popular.cache.ttl:30s}") Duration cacheTtl,
+            @Value("${report.most-popular.cache.stale-while-revalidate:2m}") Duration staleWhileRevalidate,
+            @Value("${report.most-popular.cache.max-cached-users:10000}") int maxCachedUsers) {
+        BootcampReportUseCase bootcampReportUseCase = new BootcampReportUseCase(
                 bootcampReportPersistencePort,
                 bootcampExternalServicePort,
-                userExternalServicePort
+                userExternalServicePort,
+                stageMetricsPort,
+                rebuildLanePort,
+                ReportBuildSettings.builder()
+                        .bootcampTimeout(bootcampTimeout)
+                        .userIdsTimeout(userIdsTimeout)
+                        .usersTimeout(usersTimeout)
+                        .fallbackToStoredUsers(fallbackToStoredUsers)
+                        .readEnrichmentBudget(readEnrichmentBudget)
+                        .degradedReads(degradedReads)
+                        .rebuildScheduler(rebuildScheduler)
+                        .build()
         );
+        // Con la cache deshabilitada los resultados vencen al instante, pero las lecturas concurrentes se siguen colapsando
+        return new CachingBootcampReportService(bootcampReportUseCase, bootcampReportPersistencePort, meterRegistry,
+                cacheEnabled ? cacheTtl : Duration.ZERO,
+                cacheEnabled ? staleWhileRevalidate : Duration.ZERO,
+                maxCachedUsers);
+    }
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter(String service, ExternalServiceProperties.Limiter limiter,
+                                                          TechnicalMessage rejectedMessage, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(service, meterRegistry, rejectedMessage, limiter.isEnabled(),
+                limiter.getInitialLimit(), limiter.getMinLimit(), limiter.getMaxLimit(), limiter.getBackoffRatio(),
+                limiter.getLatencyThreshold(), limiter.getMaxQueued());
     }
 }
@@ -0,0 +1,119 @@
+package com.example.resilient_api.application.config;
+
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import com.example.resilient_api.infrastructure.adapters.webclient.RequestHedger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Un WebClient construido una sola vez por servicio externo, cada uno con su propio pool de conexiones
+ * para que la saturación de un servicio no consuma las conexiones de los demás.
+ * Las métricas de cada pool se publican como reactor.netty.connection.provider.* con el tag name del servicio.
+ * Cada petición lleva el tiempo que le queda a la operación en curso (RequestDeadline.HEADER), si hay un plazo.
+ */
+@Configuration
+@EnableConfigurationProperties(ExternalServiceProperties.class)
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider bootcampConnectionProvider(ExternalServiceProperties properties) {
+        return connectionProvider("bootcamp", properties.getBootcamp().getPool());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider capacityConnectionProvider(ExternalServiceProperties properties) {
+        return connectionProvider("capacity", properties.getCapacity().getPool());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider userConnectionProvider(ExternalServiceProperties properties) {
+        return connectionProvider("user", properties.getUser().getPool());
+    }
+
+    @Bean
+    public WebClient bootcampServiceWebClient(WebClient.Builder webClientBuilder,
+                                              @Qualifier("bootcampConnectionProvider") ConnectionProvider connectionProvider,
+                                              ExternalServiceProperties properties) {
+        return webClient(webClientBuilder, connectionProvider, properties.getBootcamp());
+    }
+
+    @Bean
+    public WebClient capacityServiceWebClient(WebClient.Builder webClientBuilder,
+                                              @Qualifier("capacityConnectionProvider") ConnectionProvider connectionProvider,
+                                              ExternalServiceProperties properties) {
+        return webClient(webClientBuilder, connectionProvider, properties.getCapacity());
+    }
+
+    @Bean
+    public WebClient userServiceWebClient(WebClient.Builder webClientBuilder,
+                                          @Qualifier("userConnectionProvider") ConnectionProvider connectionProvider,
+                                          ExternalServiceProperties properties) {
+        return webClient(webClientBuilder, connectionProvider, properties.getUser());
+    }
+
+    @Bean
+    public RequestHedger bootcampRequestHedger(ExternalServiceProperties properties, MeterRegistry meterRegistry) {
+        return requestHedger("bootcamp", properties.getBootcamp().getHedge(), meterRegistry);
+    }
+
+    @Bean
+    public RequestHedger userRequestHedger(ExternalServiceProperties properties, MeterRegistry meterRegistry) {
+        return requestHedger("user", properties.getUser().getHedge(), meterRegistry);
+    }
+
+    private RequestHedger requestHedger(String service, ExternalServiceProperties.Hedge hedge, MeterRegistry meterRegistry) {
+        return new RequestHedger(service, meterRegistry, hedge.isEnabled(), hedge.getPercentile(), hedge.getBudgetPercent(),
+                hedge.getMinDelay(), hedge.getInitialDelay(), hedge.getWindow());
+    }
+
+    private ConnectionProvider connectionProvider(String name, ExternalServiceProperties.Pool pool) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    private WebClient webClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider,
+                                ExternalServiceProperties.Service service) {
+        ExternalServiceProperties.Pool pool = service.getPool();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, pool.isKeepAlive())
+                .keepAlive(pool.isKeepAlive())
+                .responseTimeout(pool.getResponseTimeout());
+
+        // El builder de Spring es prototype: se clona para no compartir la configuración entre servicios
+        return webClientBuilder.clone()
+                .baseUrl(service.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(deadlinePropagation())
+                .build();
+    }
+
+    /**
+     * Se evalúa en cada intento, así que un reintento informa el tiempo que queda en ese momento
+     */
+    private ExchangeFilterFunction deadlinePropagation() {
+        return (request, next) -> Mono.deferContextual(context -> next.exchange(RequestDeadline.current(context)
+                .map(deadline -> ClientRequest.from(request)
+                        .header(RequestDeadline.HEADER, Long.toString(deadline.remaining().toMillis()))
+                        .build())
+                .orElse(request)));
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.resilient_api.domain.api;
 
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampRegistrationResult;
 import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.ReportFreshness;
+import com.example.resilient_api.domain.model.ReportRead;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface BootcampReportServicePort {
     /**
      * Registra un reporte de bootcamp de forma asíncrona
@@ -12,10 +20,65 @@ public interface BootcampReportServicePort {
      */
     Mono<Void> registerBootcampReport(Long bootcampId, String messageId);
 
+    /**
+     * Registra los reportes de un lote de bootcamps, agrupando las consultas a servicios externos
+     * Los usuarios de todo el lote se piden juntos y los reportes se guardan al llegar, así que quien llama
+     * acota el tamaño del lote
+     * @param bootcampIds IDs de los bootcamps a reportar (se ignoran duplicados)
+     * @param concurrency Máximo de bootcamps procesándose en paralelo
+     * @param messageId ID del mensaje para trazabilidad
+     * @return Flux con el resultado del registro de cada bootcamp
+     */
+    Flux<BootcampRegistrationResult> registerBootcampReports(List<Long> bootcampIds, int concurrency, String messageId);
+
+    /**
+     * Agrega un usuario inscrito al reporte del bootcamp sin reconstruirlo
+     * @param bootcampId ID del bootcamp
+     * @param userId ID del usuario inscrito
+     * @param messageId ID del mensaje para trazabilidad
+     * @return Mono con el resultado del cambio; REPORT_NOT_FOUND si el reporte aún no existe
+     */
+    Mono<EnrollmentChange> enrollUser(Long bootcampId, Long userId, String messageId);
+
+    /**
+     * Quita un usuario inscrito del reporte del bootcamp sin reconstruirlo
+     * @param bootcampId ID del bootcamp
+     * @param userId ID del usuario que se retira
+     * @param messageId ID del mensaje para trazabilidad
+     * @return Mono con el resultado del cambio; REPORT_NOT_FOUND si el reporte aún no existe
+     */
+    Mono<EnrollmentChange> unenrollUser(Long bootcampId, Long userId, String messageId);
+
+    /**
+     * Descarta los perfiles de usuario cacheados para que la próxima consulta los pida al servicio de usuarios
+     * @param userIds IDs de los usuarios cuyo perfil cambió
+     * @param messageId ID del mensaje para trazabilidad
+     * @return Mono vacío que completa cuando los perfiles fueron descartados, o error 400 si no hay IDs
+     */
+    Mono<Void> invalidateUserProfiles(List<Long> userIds, String messageId);
+
     /**
      * Obtiene el bootcamp con mayor cantidad de personas inscritas
      * @param messageId ID del mensaje para trazabilidad
      * @return Mono con el reporte del bootcamp más popular
      */
     Mono<BootcampReport> getMostPopularBootcamp(String messageId);
+
+    /**
+     * Obtiene el bootcamp más popular con la frescura pedida: stored no consulta servicios externos,
+     * max-age solo enriquece si el reporte es más viejo que el máximo y fresh siempre enriquece
+     * @param freshness Frescura exigida al reporte
+     * @param messageId ID del mensaje para trazabilidad
+     * @return Mono con el reporte y la frescura con la que se sirvió
+     */
+    Mono<ReportRead> getMostPopularBootcamp(ReportFreshness freshness, String messageId);
+
+    /**
+     * Obtiene una página del ranking de bootcamps por cantidad de personas inscritas
+     * @param offset Posiciones a omitir desde el primer lugar
+     * @param limit Cantidad máxima de posiciones a devolver
+     * @param messageId ID del mensaje para trazabilidad
+     * @return Flux con las posiciones del ranking en orden, o error 400 si la página es inválida
+     */
+    Flux<BootcampRanking> getBootcampRanking(int offset, int limit, String messageId);
 }
@@ -0,0 +1,10 @@
+package com.example.resilient_api.domain.enums;
+
+/**
+ * Resultado de aplicar un cambio incremental de inscripción sobre un reporte
+ */
+public enum EnrollmentChange {
+    APPLIED,
+    UNCHANGED,
+    REPORT_NOT_FOUND
+}
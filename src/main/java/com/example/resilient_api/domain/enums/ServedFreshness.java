@@ -0,0 +1,11 @@
+package com.example.resilient_api.domain.enums;
+
+/**
+ * Frescura con la que se sirvió un reporte: tal como estaba guardado, enriquecido con los servicios externos
+ * o guardado porque el enriquecimiento pedido no pudo completarse (modo degradado)
+ */
+public enum ServedFreshness {
+    STORED,
+    FRESH,
+    STALE
+}
@@ -9,16 +9,32 @@ public enum TechnicalMessage {
     // Success messages
     REPORT_CREATED("201", "Bootcamp report created successfully", ""),
     REPORT_FOUND("200", "Bootcamp report found", ""),
+    ENROLLMENT_APPLIED("200", "Enrollment change applied to bootcamp report", ""),
+    ENROLLMENT_UNCHANGED("200", "Bootcamp report already reflects the enrollment change", ""),
+    USER_PROFILES_INVALIDATED("200", "Cached user profiles invalidated", ""),
 
     // Error messages
     BOOTCAMP_NOT_FOUND("404", "Bootcamp not found", "bootcampId"),
     NO_BOOTCAMPS_REPORTED("404", "No bootcamp reports found", ""),
     REPORT_NOT_FOUND("404", "Report not found for bootcamp", "bootcampId"),
+    REPORT_VERSION_CONFLICT("409", "Bootcamp report was modified concurrently", "bootcampId"),
+    USER_NOT_FOUND("404", "User not found", "userId"),
+    BATCH_JOB_NOT_FOUND("404", "Batch registration job not found", "jobId"),
+    REGISTRATION_QUEUE_FULL("429", "Report registration queue is full, retry later", "bootcampId"),
+    REGISTRATION_DROPPED("503", "Report registration dropped due to queue overflow", "bootcampId"),
+    BATCH_JOBS_BUSY("429", "Too many batch registration jobs running, retry later", ""),
 
     // External service errors
     BOOTCAMP_SERVICE_ERROR("500", "Error communicating with bootcamp service", ""),
     CAPACITY_SERVICE_ERROR("500", "Error communicating with capacity service", ""),
     USER_SERVICE_ERROR("500", "Error communicating with user service", ""),
+    USER_SERVICE_REJECTED("500", "User service rejected the request", ""),
+    USER_IDS_MALFORMED("500", "Bootcamp service returned a malformed user ID list", ""),
+    BOOTCAMP_SERVICE_UNAVAILABLE("503", "Bootcamp service temporarily unavailable", ""),
+    CAPACITY_SERVICE_UNAVAILABLE("503", "Capacity service temporarily unavailable", ""),
+    USER_SERVICE_UNAVAILABLE("503", "User service temporarily unavailable", ""),
+    DEADLINE_EXCEEDED("504", "Request deadline exceeded before the operation completed", ""),
+    REBUILD_LANE_BUSY("503", "Another rebuild of this bootcamp report is still running", "bootcampId"),
 
     // Database errors
     DATABASE_ERROR("500", "Database operation failed", ""),
@@ -30,7 +46,12 @@ public enum TechnicalMessage {
     UNAUTHORIZED_ACTION("403", "You are not authorized to perform this action", ""),
 
     // Validation errors
-    INVALID_BOOTCAMP_ID("400", "Invalid bootcamp ID", "bootcampId");
+    INVALID_BOOTCAMP_ID("400", "Invalid bootcamp ID", "bootcampId"),
+    INVALID_USER_ID("400", "Invalid user ID", "userId"),
+    INVALID_USER_IDS("400", "At least one user ID is required", "userIds"),
+    INVALID_BATCH_REQUEST("400", "Batch must contain between one and the maximum allowed bootcamp IDs", "bootcampIds"),
+    INVALID_RANKING_REQUEST("400", "Ranking limit must be between 1 and 100 and offset must not be negative", "limit"),
+    INVALID_FRESHNESS("400", "Freshness must be stored, fresh or max-age=<seconds>", "freshness");
 
     private final String code;
     private final String message;
@@ -0,0 +1,15 @@
+package com.example.resilient_api.domain.model;
+
+import lombok.Builder;
+
+/**
+ * Posición de un bootcamp en el ranking por cantidad de personas inscritas
+ */
+@Builder(toBuilder = true)
+public record BootcampRanking(
+        int rank,
+        Long bootcampId,
+        String bootcampName,
+        Integer enrolledUsersCount
+) {
+}
@@ -0,0 +1,25 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.exceptions.ProcessorException;
+import lombok.Builder;
+
+/**
+ * Resultado del registro del reporte de un bootcamp dentro de un lote
+ */
+@Builder(toBuilder = true)
+public record BootcampRegistrationResult(
+        Long bootcampId,
+        boolean registered,
+        String error
+) {
+    public static BootcampRegistrationResult success(Long bootcampId) {
+        return new BootcampRegistrationResult(bootcampId, true, null);
+    }
+
+    public static BootcampRegistrationResult failure(Long bootcampId, Throwable error) {
+        String message = error instanceof ProcessorException processorException
+                ? processorException.getTechnicalMessage().getMessage()
+                : error.getMessage();
+        return new BootcampRegistrationResult(bootcampId, false, message);
+    }
+}
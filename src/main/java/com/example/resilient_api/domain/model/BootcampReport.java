@@ -19,7 +19,8 @@ public record BootcampReport(
         List<UserEnrollment> enrolledUsers,
         List<CapacityDetail> capacities,
         java.time.LocalDateTime createdAt,
-        java.time.LocalDateTime updatedAt
+        java.time.LocalDateTime updatedAt,
+        Long version
 ) {
     public BootcampReport {
         if (bootcampId == null) {
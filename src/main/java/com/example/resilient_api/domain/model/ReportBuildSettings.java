@@ -0,0 +1,32 @@
+package com.example.resilient_api.domain.model;
+
+import lombok.Builder;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Tiempo máximo de cada rama al construir un reporte y política ante la falla de los servicios de usuarios
+ * @param fallbackToStoredUsers si la consulta de inscritos falla, guarda el reporte con los usuarios ya almacenados
+ * @param readEnrichmentBudget tiempo máximo para enriquecer un reporte al leerlo
+ * @param degradedReads si el enriquecimiento de una lectura falla o agota su presupuesto, sirve el reporte guardado
+ *                      marcado como desactualizado en lugar de fallar
+ * @param rebuildScheduler donde se arma y se mapea el reporte una vez llegan las respuestas externas, fuera de los
+ *                         hilos de I/O
+ */
+@Builder(toBuilder = true)
+public record ReportBuildSettings(
+        Duration bootcampTimeout,
+        Duration userIdsTimeout,
+        Duration usersTimeout,
+        boolean fallbackToStoredUsers,
+        Duration readEnrichmentBudget,
+        boolean degradedReads,
+        Scheduler rebuildScheduler
+) {
+    public static ReportBuildSettings defaults() {
+        return new ReportBuildSettings(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(10), true,
+                Duration.ofSeconds(1), true, Schedulers.immediate());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Frescura que un lector exige al reporte: el guardado tal cual (stored), uno enriquecido al momento (fresh)
+ * o el guardado mientras no supere una antigüedad máxima (max-age=N segundos)
+ */
+public record ReportFreshness(Mode mode, Duration maxAge) {
+
+    public static final ReportFreshness STORED = new ReportFreshness(Mode.STORED, null);
+    public static final ReportFreshness FRESH = new ReportFreshness(Mode.FRESH, null);
+
+    private static final String MAX_AGE_PREFIX = "max-age=";
+
+    public enum Mode {
+        STORED,
+        MAX_AGE,
+        FRESH
+    }
+
+    public static ReportFreshness maxAge(Duration maxAge) {
+        return new ReportFreshness(Mode.MAX_AGE, maxAge);
+    }
+
+    /**
+     * Interpreta stored, fresh o max-age=N; sin valor equivale a fresh, el comportamiento histórico
+     * @throws BusinessException INVALID_FRESHNESS si el valor no es ninguno de los anteriores
+     */
+    public static ReportFreshness parse(String value) {
+        if (value == null || value.isBlank()) {
+            return FRESH;
+        }
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if ("stored".equals(normalized)) {
+            return STORED;
+        }
+        if ("fresh".equals(normalized)) {
+            return FRESH;
+        }
+        if (normalized.startsWith(MAX_AGE_PREFIX)) {
+            try {
+                long seconds = Long.parseLong(normalized.substring(MAX_AGE_PREFIX.length()));
+                if (seconds >= 0) {
+                    return maxAge(Duration.ofSeconds(seconds));
+                }
+            } catch (NumberFormatException e) {
+                // Se reporta abajo como valor inválido
+            }
+        }
+        throw new BusinessException(TechnicalMessage.INVALID_FRESHNESS);
+    }
+
+    /**
+     * Indica si un reporte actualizado en updatedAt debe enriquecerse para cumplir esta frescura
+     */
+    public boolean requiresRefresh(LocalDateTime updatedAt, LocalDateTime now) {
+        return switch (mode) {
+            case STORED -> false;
+            case FRESH -> true;
+            case MAX_AGE -> updatedAt == null || updatedAt.plus(maxAge).isBefore(now);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.ServedFreshness;
+
+/**
+ * Reporte leído junto con la frescura con la que realmente se sirvió
+ */
+public record ReportRead(
+        BootcampReport report,
+        ServedFreshness served
+) {
+    public static ReportRead stored(BootcampReport report) {
+        return new ReportRead(report, ServedFreshness.STORED);
+    }
+
+    public static ReportRead fresh(BootcampReport report) {
+        return new ReportRead(report, ServedFreshness.FRESH);
+    }
+
+    public static ReportRead stale(BootcampReport report) {
+        return new ReportRead(report, ServedFreshness.STALE);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.resilient_api.domain.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Conjunto inmutable de IDs de usuario guardado como un long[] ordenado y sin repetidos.
+ * Ocupa 8 bytes por ID y permite búsquedas y diferencias sin crear un objeto por ID.
+ */
+public final class UserIdSet {
+
+    private static final UserIdSet EMPTY = new UserIdSet(new long[0]);
+
+    private final long[] ids;
+
+    private UserIdSet(long[] sortedDistinctIds) {
+        this.ids = sortedDistinctIds;
+    }
+
+    /**
+     * Ordena el arreglo recibido en el lugar y descarta los repetidos; el arreglo no debe reutilizarse
+     */
+    public static UserIdSet of(long[] ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        Arrays.sort(ids);
+        int distinct = 1;
+        for (int index = 1; index < ids.length; index++) {
+            if (ids[index] != ids[distinct - 1]) {
+                ids[distinct++] = ids[index];
+            }
+        }
+        return new UserIdSet(distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+    }
+
+    public static UserIdSet ofUsers(List<UserEnrollment> users) {
+        return of(users.stream()
+                .map(UserEnrollment::userId)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray());
+    }
+
+    public boolean contains(Long userId) {
+        return userId != null && Arrays.binarySearch(ids, userId) >= 0;
+    }
+
+    /**
+     * IDs de este conjunto que no están en el otro, recorriendo ambos arreglos ordenados una sola vez
+     */
+    public UserIdSet minus(UserIdSet other) {
+        long[] result = new long[ids.length];
+        int size = 0;
+        int otherIndex = 0;
+        for (long id : ids) {
+            while (otherIndex < other.ids.length && other.ids[otherIndex] < id) {
+                otherIndex++;
+            }
+            if (otherIndex == other.ids.length || other.ids[otherIndex] != id) {
+                result[size++] = id;
+            }
+        }
+        return size == 0 ? EMPTY : new UserIdSet(Arrays.copyOf(result, size));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    /**
+     * Copia en una lista, para pasar a los puertos que reciben List; usar solo con conjuntos pequeños como una diferencia
+     */
+    public List<Long> toList() {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+}
@@ -9,5 +9,10 @@ import java.util.Map;
 public interface BootcampExternalServicePort {
     Mono<BootcampInfo> getBootcampById(Long bootcampId, String messageId);
     Flux<Long> getUserIdsByBootcampId(Long bootcampId, String messageId);
+
+    /**
+     * IDs de usuarios inscritos en un arreglo de long, para quien necesita el conjunto completo sin un objeto por ID
+     */
+    Mono<long[]> collectUserIdsByBootcampId(Long bootcampId, String messageId);
 }
 
@@ -1,11 +1,19 @@
 package com.example.resilient_api.domain.spi;
 
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.model.BootcampRanking;
 import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface BootcampReportPersistencePort {
     Mono<BootcampReport> save(BootcampReport bootcampReport);
     Mono<BootcampReport> findByBootcampId(Long bootcampId);
     Mono<BootcampReport> findMostPopularBootcamp();
+    Flux<BootcampRanking> findRanking(int offset, int limit);
     Mono<Void> updateEnrollmentCount(Long bootcampId, Integer newCount);
+    Flux<UserEnrollment> findEnrolledUsers(Long bootcampId);
+    Mono<EnrollmentChange> addEnrolledUser(Long bootcampId, UserEnrollment user);
+    Mono<EnrollmentChange> removeEnrolledUser(Long bootcampId, Long userId);
 }
@@ -0,0 +1,16 @@
+package com.example.resilient_api.domain.spi;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Serializa las escrituras de un mismo bootcamp: lo que se ejecuta aquí no se intercala con otra
+ * reconstrucción ni con otra inscripción o baja del mismo bootcampId
+ */
+public interface RebuildLanePort {
+
+    /**
+     * Suscribe work cuando el carril del bootcamp queda libre y lo conserva hasta que work termina
+     * @return Mono con el resultado de work, que falla si el carril no se libera dentro de la espera máxima
+     */
+    <T> Mono<T> runExclusive(Long bootcampId, Mono<T> work);
+}
@@ -0,0 +1,17 @@
+package com.example.resilient_api.domain.spi;
+
+import java.time.Duration;
+
+/**
+ * Registra la duración y el resultado de cada etapa de la construcción de un reporte
+ * y las lecturas servidas en modo degradado
+ */
+public interface StageMetricsPort {
+    void recordStage(String stage, String outcome, Duration elapsed);
+
+    /**
+     * @param read lectura que se degradó, por ejemplo most-popular
+     * @param reason unavailable (circuito abierto o servicio saturado), timeout (presupuesto agotado) o error
+     */
+    void recordDegradedRead(String read, String reason);
+}
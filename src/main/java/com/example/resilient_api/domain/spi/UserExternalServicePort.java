@@ -2,9 +2,18 @@ package com.example.resilient_api.domain.spi;
 
 import com.example.resilient_api.domain.model.UserEnrollment;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 
 public interface UserExternalServicePort {
     Flux<UserEnrollment> getUsersByIds(List<Long> userIds, String messageId);
+
+    /**
+     * Descarta los perfiles de usuario guardados localmente para que la próxima consulta los pida de nuevo
+     * Las implementaciones sin cache no tienen nada que descartar
+     */
+    default Mono<Void> invalidateUsers(List<Long> userIds) {
+        return Mono.empty();
+    }
 }
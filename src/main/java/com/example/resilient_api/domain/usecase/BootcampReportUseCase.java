@@ -1,19 +1,36 @@
 package com.example.resilient_api.domain.usecase;
 
 import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.EnrollmentChange;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampRegistrationResult;
 import com.example.resilient_api.domain.model.BootcampReport;
 import com.example.resilient_api.domain.model.CapacityDetail;
+import com.example.resilient_api.domain.model.ReportBuildSettings;
+import com.example.resilient_api.domain.model.ReportFreshness;
+import com.example.resilient_api.domain.model.ReportRead;
 import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.model.UserIdSet;
 import com.example.resilient_api.domain.spi.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Caso de uso para el manejo de reportes de bootcamps
@@ -23,113 +40,406 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BootcampReportUseCase implements BootcampReportServicePort {
 
+    private static final int MAX_RANKING_LIMIT = 100;
+    private static final int MAX_VERSION_CONFLICT_RETRIES = 3;
+
     private final BootcampReportPersistencePort bootcampReportPersistencePort;
     private final BootcampExternalServicePort bootcampExternalServicePort;
     private final UserExternalServicePort userExternalServicePort;
+    private final StageMetricsPort stageMetricsPort;
+    private final RebuildLanePort rebuildLanePort;
+    private final ReportBuildSettings reportBuildSettings;
 
     @Override
     public Mono<Void> registerBootcampReport(Long bootcampId, String messageId) {
         log.info("Starting async bootcamp report registration for bootcampId: {} with messageId: {}", bootcampId, messageId);
 
-        // Ejecutar de forma asíncrona sin bloquear el flujo principal (Fire and Forget)
-        return buildBootcampReport(bootcampId, messageId)
-                .flatMap(bootcampReportPersistencePort::save)
+        // Construir fuera del carril y tomarlo solo para guardar, condicionado a la versión leída antes de construir:
+        // si una inscripción, baja u otra reconstrucción cambió el reporte mientras tanto, se vuelve a construir
+        return Mono.defer(() -> currentVersion(bootcampId)
+                        .flatMap(version -> buildBootcampReport(bootcampId, messageId)
+                                .map(report -> report.toBuilder().version(version.orElse(null)).build()))
+                        .flatMap(report -> rebuildLanePort.runExclusive(bootcampId,
+                                Mono.defer(() -> bootcampReportPersistencePort.save(report)))))
+                .retryWhen(Retry.max(MAX_VERSION_CONFLICT_RETRIES)
+                        .filter(BootcampReportUseCase::isVersionConflict)
+                        .doBeforeRetry(retry -> log.info("Bootcamp report {} changed while rebuilding, rebuilding again with messageId: {}",
+                                bootcampId, messageId))
+                        .onRetryExhaustedThrow((spec, retry) -> retry.failure()))
+                .then()
                 .doOnSuccess(saved -> log.info("Bootcamp report saved successfully for bootcampId: {} with messageId: {}", bootcampId, messageId))
-                .doOnError(error -> log.error("Error saving bootcamp report for bootcampId: {} with messageId: {}", bootcampId, messageId, error))
-                .then(); // Convertir a Mono<Void>
+                .doOnError(error -> log.error("Error saving bootcamp report for bootcampId: {} with messageId: {}", bootcampId, messageId, error));
+    }
+
+    @Override
+    public Flux<BootcampRegistrationResult> registerBootcampReports(List<Long> bootcampIds, int concurrency, String messageId) {
+        List<Long> distinctIds = bootcampIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        log.info("Starting batch bootcamp report registration for {} bootcamps with messageId: {}", distinctIds.size(), messageId);
+
+        // 1. Consultar información y usuarios inscritos de cada bootcamp con paralelismo acotado
+        return Flux.fromIterable(distinctIds)
+                .flatMap(bootcampId -> loadBootcampSnapshot(bootcampId, messageId), concurrency)
+                .collectList()
+                .flatMapMany(snapshots -> {
+                    // 2. Una sola consulta de usuarios para todo el lote
+                    List<Long> userIds = snapshots.stream()
+                            .filter(BootcampSnapshot::loaded)
+                            .flatMap(snapshot -> snapshot.userIds().stream())
+                            .distinct()
+                            .toList();
+                    Mono<Map<Long, UserEnrollment>> usersMono = userIds.isEmpty()
+                            ? Mono.just(Map.of())
+                            : userExternalServicePort.getUsersByIds(userIds, messageId)
+                                    .collectMap(UserEnrollment::userId)
+                                    .timeout(reportBuildSettings.usersTimeout(), Mono.error(() -> new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR)));
+
+                    // 3. Construir y guardar cada reporte; los fallos se reportan por bootcamp
+                    return usersMono
+                            .publishOn(reportBuildSettings.rebuildScheduler())
+                            .flatMapMany(usersById -> Flux.fromIterable(snapshots)
+                                    .flatMap(snapshot -> saveSnapshot(snapshot, usersById, messageId), concurrency))
+                            .onErrorResume(error -> Flux.fromIterable(snapshots)
+                                    .map(snapshot -> BootcampRegistrationResult.failure(snapshot.bootcampId(),
+                                            snapshot.loaded() ? error : snapshot.error())));
+                })
+                .doOnComplete(() -> log.info("Batch bootcamp report registration finished with messageId: {}", messageId));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> enrollUser(Long bootcampId, Long userId, String messageId) {
+        log.info("Enrolling user {} in bootcamp report {} with messageId: {}", userId, bootcampId, messageId);
+
+        // Solo se consulta el perfil del usuario que cambia; el delta se aplica con el carril del bootcamp tomado
+        // para no intercalarse con una reconstrucción que reescribe la lista completa
+        return userExternalServicePort.getUsersByIds(List.of(userId), messageId)
+                .next()
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.USER_NOT_FOUND)))
+                .flatMap(user -> rebuildLanePort.runExclusive(bootcampId,
+                        Mono.defer(() -> bootcampReportPersistencePort.addEnrolledUser(bootcampId, user))))
+                .doOnSuccess(change -> log.info("Enrollment of user {} in bootcamp {} resulted in {} with messageId: {}",
+                        userId, bootcampId, change, messageId))
+                .doOnError(error -> log.error("Error enrolling user {} in bootcamp {} with messageId: {}", userId, bootcampId, messageId, error));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> unenrollUser(Long bootcampId, Long userId, String messageId) {
+        log.info("Unenrolling user {} from bootcamp report {} with messageId: {}", userId, bootcampId, messageId);
+
+        return rebuildLanePort.runExclusive(bootcampId, Mono.defer(() -> bootcampReportPersistencePort.removeEnrolledUser(bootcampId, userId)))
+                .doOnSuccess(change -> log.info("Unenrollment of user {} from bootcamp {} resulted in {} with messageId: {}",
+                        userId, bootcampId, change, messageId))
+                .doOnError(error -> log.error("Error unenrolling user {} from bootcamp {} with messageId: {}", userId, bootcampId, messageId, error));
+    }
+
+    @Override
+    public Mono<Void> invalidateUserProfiles(List<Long> userIds, String messageId) {
+        List<Long> distinctIds = userIds == null ? List.of() : userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.isEmpty()) {
+            return Mono.error(new BusinessException(TechnicalMessage.INVALID_USER_IDS));
+        }
+        log.info("Invalidating {} cached user profiles with messageId: {}", distinctIds.size(), messageId);
+        return userExternalServicePort.invalidateUsers(distinctIds);
     }
 
     @Override
     public Mono<BootcampReport> getMostPopularBootcamp(String messageId) {
-        log.info("Getting most popular bootcamp with messageId: {}", messageId);
+        return getMostPopularBootcamp(ReportFreshness.FRESH, messageId)
+                .map(ReportRead::report);
+    }
+
+    @Override
+    public Mono<ReportRead> getMostPopularBootcamp(ReportFreshness freshness, String messageId) {
+        log.info("Getting most popular bootcamp with freshness: {} and messageId: {}", freshness.mode(), messageId);
 
         return bootcampReportPersistencePort.findMostPopularBootcamp()
                 .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.NO_BOOTCAMPS_REPORTED)))
-                .flatMap(report -> enrichReportWithCurrentData(report, messageId))
-                .doOnSuccess(report -> log.info("Found most popular bootcamp: {} with {} users enrolled with messageId: {}",
-                        report.bootcampName(), report.enrolledUsersCount(), messageId))
+                .flatMap(report -> freshness.requiresRefresh(report.updatedAt(), LocalDateTime.now())
+                        ? enrichForRead(report, freshness, messageId)
+                        : withStoredUsers(report).map(ReportRead::stored))
+                .doOnSuccess(read -> log.info("Found most popular bootcamp: {} with {} users enrolled served {} with messageId: {}",
+                        read.report().bootcampName(), read.report().enrolledUsersCount(), read.served(), messageId))
                 .doOnError(error -> log.error("Error getting most popular bootcamp with messageId: {}", messageId, error));
     }
 
+    @Override
+    public Flux<BootcampRanking> getBootcampRanking(int offset, int limit, String messageId) {
+        log.info("Getting bootcamp ranking with offset: {} and limit: {} with messageId: {}", offset, limit, messageId);
+
+        if (offset < 0 || limit < 1 || limit > MAX_RANKING_LIMIT) {
+            return Flux.error(new BusinessException(TechnicalMessage.INVALID_RANKING_REQUEST));
+        }
+        return bootcampReportPersistencePort.findRanking(offset, limit)
+                .doOnError(error -> log.error("Error getting bootcamp ranking with messageId: {}", messageId, error));
+    }
+
     /**
      * Construye un reporte completo del bootcamp consultando todos los servicios externos
-     * Aplica el principio de composición reactiva
+     * La información del bootcamp y la rama de usuarios (IDs inscritos y luego sus perfiles) corren en paralelo,
+     * cada una con su tiempo máximo. Si la rama de usuarios falla, el reporte se guarda con los usuarios ya almacenados
+     * y conserva el updatedAt del reporte anterior, porque esos usuarios no se refrescaron.
      */
     private Mono<BootcampReport> buildBootcampReport(Long bootcampId, String messageId) {
         log.debug("Building bootcamp report for bootcampId: {} with messageId: {}", bootcampId, messageId);
 
-        // 1. Obtener información básica del bootcamp (YA INCLUYE capacidades con tecnologías)
-        return bootcampExternalServicePort.getBootcampById(bootcampId, messageId)
-                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND)))
-                .flatMap(bootcampInfo -> {
-                    // 2. Obtener usuarios inscritos
-                    Mono<List<Long>> userIdsMono = bootcampExternalServicePort
-                            .getUserIdsByBootcampId(bootcampId, messageId)
-                            .collectList();
-
-                    return userIdsMono.flatMap(userIds -> {
-                        // 3. Obtener información de usuarios si hay inscritos
-                        Mono<List<UserEnrollment>> usersMono = userIds.isEmpty()
-                                ? Mono.just(List.of())
-                                : userExternalServicePort.getUsersByIds(userIds, messageId).collectList();
-
-                        return usersMono.map(users -> {
-                            // 4. Calcular métricas
-                            List<CapacityDetail> capacities = bootcampInfo.capacities();
-                            int technologyCount = capacities.stream()
-                                    .mapToInt(cap -> cap.technologies().size())
-                                    .sum();
-
-                            log.info("Bootcamp {} has {} capacities and {} technologies",
-                                    bootcampId, capacities.size(), technologyCount);
-
-                            // 5. Construir el reporte completo
-                            return BootcampReport.builder()
-                                    .bootcampId(bootcampInfo.id())
-                                    .bootcampName(bootcampInfo.name())
-                                    .bootcampDescription(bootcampInfo.description())
-                                    .launchDate(bootcampInfo.launchDate())
-                                    .duration(bootcampInfo.duration())
-                                    .capacityCount(capacities.size())
-                                    .technologyCount(technologyCount)
-                                    .enrolledUsersCount(users.size())
-                                    .enrolledUsers(users)
-                                    .capacities(capacities)
-                                    .createdAt(LocalDateTime.now())
-                                    .updatedAt(LocalDateTime.now())
-                                    .build();
-                        });
-                    });
+        // 1. Información básica del bootcamp (YA INCLUYE capacidades con tecnologías)
+        Mono<BootcampInfo> bootcampInfoMono = stage("bootcamp-info", bootcampExternalServicePort.getBootcampById(bootcampId, messageId)
+                .timeout(reportBuildSettings.bootcampTimeout(), Mono.error(() -> new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_ERROR)))
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND))));
+
+        // 2. En paralelo: IDs de usuarios inscritos y, si hay, su información
+        Mono<EnrolledUsers> usersMono = stage("user-ids", bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)
+                        .collectList()
+                        .timeout(reportBuildSettings.userIdsTimeout(), Mono.error(() -> new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_ERROR))))
+                .flatMap(userIds -> userIds.isEmpty()
+                        ? Mono.just(List.<UserEnrollment>of())
+                        : stage("users", userExternalServicePort.getUsersByIds(userIds, messageId)
+                                .collectList()
+                                .timeout(reportBuildSettings.usersTimeout(), Mono.error(() -> new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR)))))
+                .map(EnrolledUsers::current)
+                .onErrorResume(error -> storedUsers(bootcampId, error, messageId));
+
+        // 3. Unir ambas ramas; un error en la información del bootcamp cancela la rama de usuarios
+        //    El reporte se arma (y luego se mapea al guardarlo) en el scheduler de reconstrucción
+        return stage("build", Mono.zip(bootcampInfoMono, usersMono)
+                .publishOn(reportBuildSettings.rebuildScheduler())
+                .map(tuple -> toReport(tuple.getT1(), tuple.getT2().users(), tuple.getT2().updatedAt())));
+    }
+
+    /**
+     * Usuarios del último reporte guardado, con su updatedAt, para no perder el reporte cuando los servicios de usuarios fallan
+     * Si la política está deshabilitada o el bootcamp aún no tiene reporte, propaga el error original
+     */
+    private Mono<EnrolledUsers> storedUsers(Long bootcampId, Throwable error, String messageId) {
+        if (!reportBuildSettings.fallbackToStoredUsers()) {
+            return Mono.error(error);
+        }
+        return stage("stored-users", bootcampReportPersistencePort.findByBootcampId(bootcampId)
+                .switchIfEmpty(Mono.error(error))
+                .flatMap(previous -> bootcampReportPersistencePort.findEnrolledUsers(bootcampId).collectList()
+                        .map(users -> new EnrolledUsers(users, previous.updatedAt()))))
+                .doOnNext(stored -> log.warn("Enrolled users unavailable for bootcampId: {}, keeping {} stored users with messageId: {} - {}",
+                        bootcampId, stored.users().size(), messageId, error.getMessage()));
+    }
+
+    /**
+     * Mide la duración y el resultado de una etapa desde su suscripción
+     */
+    private <T> Mono<T> stage(String stage, Mono<T> mono) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return mono.doFinally(signal -> stageMetricsPort.recordStage(stage, outcome(signal),
+                    Duration.ofNanos(System.nanoTime() - startedAt)));
+        });
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_ERROR -> "error";
+            case CANCEL -> "cancelled";
+            default -> "success";
+        };
+    }
+
+    /**
+     * Versión del reporte guardado del bootcamp, vacía si aún no tiene reporte
+     */
+    private Mono<Optional<Long>> currentVersion(Long bootcampId) {
+        return bootcampReportPersistencePort.findByBootcampId(bootcampId)
+                .map(report -> Optional.ofNullable(report.version()))
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private static boolean isVersionConflict(Throwable error) {
+        return error instanceof BusinessException businessException
+                && businessException.getTechnicalMessage() == TechnicalMessage.REPORT_VERSION_CONFLICT;
+    }
+
+    private Mono<BootcampSnapshot> loadBootcampSnapshot(Long bootcampId, String messageId) {
+        Mono<BootcampInfo> bootcampInfoMono = bootcampExternalServicePort.getBootcampById(bootcampId, messageId)
+                .timeout(reportBuildSettings.bootcampTimeout(), Mono.error(() -> new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_ERROR)))
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.BOOTCAMP_NOT_FOUND)));
+        Mono<List<Long>> userIdsMono = bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)
+                .collectList()
+                .timeout(reportBuildSettings.userIdsTimeout(), Mono.error(() -> new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_ERROR)));
+
+        return Mono.zip(bootcampInfoMono, userIdsMono, currentVersion(bootcampId))
+                .map(tuple -> new BootcampSnapshot(bootcampId, tuple.getT1(), tuple.getT2(), tuple.getT3().orElse(null), null))
+                .onErrorResume(error -> {
+                    log.warn("Could not load bootcamp {} for batch registration with messageId: {}", bootcampId, messageId, error);
+                    return Mono.just(new BootcampSnapshot(bootcampId, null, List.of(), null, error));
                 });
     }
 
+    private Mono<BootcampRegistrationResult> saveSnapshot(BootcampSnapshot snapshot, Map<Long, UserEnrollment> usersById, String messageId) {
+        if (!snapshot.loaded()) {
+            return Mono.just(BootcampRegistrationResult.failure(snapshot.bootcampId(), snapshot.error()));
+        }
+        List<UserEnrollment> users = snapshot.userIds().stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // El carril del bootcamp se toma solo para guardar su reporte, condicionado a la versión leída con el snapshot.
+        // Si el reporte cambió desde entonces, ese bootcamp se reconstruye solo por la vía individual
+        return rebuildLanePort.runExclusive(snapshot.bootcampId(), Mono.defer(() -> bootcampReportPersistencePort.save(
+                        toReport(snapshot.bootcampInfo(), users, LocalDateTime.now()).toBuilder().version(snapshot.version()).build())))
+                .then()
+                .onErrorResume(BootcampReportUseCase::isVersionConflict, conflict -> registerBootcampReport(snapshot.bootcampId(), messageId))
+                .thenReturn(BootcampRegistrationResult.success(snapshot.bootcampId()))
+                .onErrorResume(error -> {
+                    log.error("Error saving bootcamp report for bootcampId: {} in batch", snapshot.bootcampId(), error);
+                    return Mono.just(BootcampRegistrationResult.failure(snapshot.bootcampId(), error));
+                });
+    }
+
+    /**
+     * Calcula las métricas y construye el reporte completo a partir de la información del bootcamp
+     * usersUpdatedAt es el momento en que se obtuvieron los usuarios y queda como updatedAt del reporte
+     */
+    private BootcampReport toReport(BootcampInfo bootcampInfo, List<UserEnrollment> users, LocalDateTime usersUpdatedAt) {
+        List<CapacityDetail> capacities = bootcampInfo.capacities();
+        int technologyCount = capacities.stream()
+                .mapToInt(cap -> cap.technologies().size())
+                .sum();
+
+        log.info("Bootcamp {} has {} capacities and {} technologies",
+                bootcampInfo.id(), capacities.size(), technologyCount);
+
+        return BootcampReport.builder()
+                .bootcampId(bootcampInfo.id())
+                .bootcampName(bootcampInfo.name())
+                .bootcampDescription(bootcampInfo.description())
+                .launchDate(bootcampInfo.launchDate())
+                .duration(bootcampInfo.duration())
+                .capacityCount(capacities.size())
+                .technologyCount(technologyCount)
+                .enrolledUsersCount(users.size())
+                .enrolledUsers(users)
+                .capacities(capacities)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(usersUpdatedAt)
+                .build();
+    }
+
     /**
      * Enriquece un reporte existente con datos actuales
-     * Útil para refrescar información antes de devolverla
+     * Compara los IDs inscritos hoy con los usuarios guardados: conserva los que siguen, descarta los que salieron
+     * y solo pide a users-api los perfiles de los nuevos
      */
     private Mono<BootcampReport> enrichReportWithCurrentData(BootcampReport report, String messageId) {
         log.debug("Enriching report with current data for bootcampId: {} with messageId: {}", report.bootcampId(), messageId);
 
-        // Obtener usuarios actuales inscritos
-        return bootcampExternalServicePort.getUserIdsByBootcampId(report.bootcampId(), messageId)
-                .collectList()
-                .flatMap(currentUserIds -> {
-                    if (currentUserIds.isEmpty()) {
-                        return Mono.just(report.toBuilder()
-                                .enrolledUsersCount(0)
-                                .enrolledUsers(List.of())
-                                .updatedAt(LocalDateTime.now())
-                                .build());
-                    }
+        Mono<UserIdSet> currentUserIds = bootcampExternalServicePort.collectUserIdsByBootcampId(report.bootcampId(), messageId)
+                .map(UserIdSet::of);
+
+        return Mono.zip(currentUserIds, storedEnrolledUsers(report))
+                .flatMap(tuple -> {
+                    UserIdSet current = tuple.getT1();
+                    List<UserEnrollment> kept = tuple.getT2().stream()
+                            .filter(user -> current.contains(user.userId()))
+                            .toList();
+                    UserIdSet added = current.minus(UserIdSet.ofUsers(kept));
+                    log.debug("Bootcamp {} keeps {} stored users, drops {} and fetches {} new with messageId: {}",
+                            report.bootcampId(), kept.size(), tuple.getT2().size() - kept.size(), added.size(), messageId);
 
-                    // Obtener información actualizada de usuarios
-                    return userExternalServicePort.getUsersByIds(currentUserIds, messageId)
+                    if (added.isEmpty()) {
+                        return Mono.just(withEnrolledUsers(report, kept));
+                    }
+                    return userExternalServicePort.getUsersByIds(added.toList(), messageId)
                             .collectList()
-                            .map(users -> report.toBuilder()
-                                    .enrolledUsersCount(users.size())
-                                    .enrolledUsers(users)
-                                    .updatedAt(LocalDateTime.now())
-                                    .build());
+                            .map(fetched -> {
+                                List<UserEnrollment> users = new ArrayList<>(kept.size() + fetched.size());
+                                users.addAll(kept);
+                                users.addAll(fetched);
+                                return withEnrolledUsers(report, users);
+                            });
                 });
     }
+
+    /**
+     * Usuarios que el reporte ya conoce: los que trae cargados o, si no, los de sus buckets de inscripción
+     */
+    private Mono<List<UserEnrollment>> storedEnrolledUsers(BootcampReport report) {
+        if (report.enrolledUsers() != null && !report.enrolledUsers().isEmpty()) {
+            return Mono.just(report.enrolledUsers());
+        }
+        if (report.enrolledUsersCount() == null || report.enrolledUsersCount() == 0) {
+            return Mono.just(List.of());
+        }
+        return bootcampReportPersistencePort.findEnrolledUsers(report.bootcampId()).collectList();
+    }
+
+    /**
+     * Enriquece el reporte leído. Una lectura fresh es estricta: espera hasta el plazo de la petición y propaga los errores.
+     * Una lectura max-age con el modo degradado activo se enriquece dentro del presupuesto de lectura; si un servicio
+     * externo no está disponible (circuito abierto, bulkhead lleno), falla o el presupuesto se agota, se cancela el
+     * enriquecimiento y se sirve el reporte guardado marcado como desactualizado
+     */
+    private Mono<ReportRead> enrichForRead(BootcampReport report, ReportFreshness freshness, String messageId) {
+        Mono<ReportRead> enriched = enrichReportWithCurrentData(report, messageId)
+                .map(ReportRead::fresh);
+        if (!reportBuildSettings.degradedReads() || freshness.mode() == ReportFreshness.Mode.FRESH) {
+            return enriched;
+        }
+        return enriched
+                .timeout(reportBuildSettings.readEnrichmentBudget())
+                .onErrorResume(error -> error instanceof TechnicalException || error instanceof TimeoutException, error -> {
+                    String reason = degradedReason(error);
+                    stageMetricsPort.recordDegradedRead("most-popular", reason);
+                    log.warn("Serving stored report for bootcampId: {} as stale ({}) with messageId: {} - {}",
+                            report.bootcampId(), reason, messageId, error.getMessage());
+                    return withStoredUsers(report).map(ReportRead::stale);
+                });
+    }
+
+    private static String degradedReason(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return switch (((TechnicalException) error).getTechnicalMessage().getCode()) {
+            case "503" -> "unavailable";
+            case "504" -> "timeout";
+            default -> "error";
+        };
+    }
+
+    /**
+     * El reporte guardado con sus usuarios, sin consultar servicios externos ni tocar updatedAt
+     */
+    private Mono<BootcampReport> withStoredUsers(BootcampReport report) {
+        return storedEnrolledUsers(report)
+                .map(users -> report.toBuilder().enrolledUsers(users).build());
+    }
+
+    private BootcampReport withEnrolledUsers(BootcampReport report, List<UserEnrollment> users) {
+        return report.toBuilder()
+                .enrolledUsersCount(users.size())
+                .enrolledUsers(users)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Usuarios inscritos para armar un reporte y el momento en que se obtuvieron
+     */
+    private record EnrolledUsers(List<UserEnrollment> users, LocalDateTime updatedAt) {
+        static EnrolledUsers current(List<UserEnrollment> users) {
+            return new EnrolledUsers(users, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Datos de un bootcamp consultados para un registro por lote
+     */
+    private record BootcampSnapshot(Long bootcampId, BootcampInfo bootcampInfo, List<Long> userIds, Long version, Throwable error) {
+        boolean loaded() {
+            return error == null;
+        }
+    }
 }
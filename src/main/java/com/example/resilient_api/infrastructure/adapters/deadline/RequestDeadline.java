@@ -0,0 +1,136 @@
+package com.example.resilient_api.infrastructure.adapters.deadline;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Instante límite de una operación completa (una petición HTTP o una reconstrucción de reporte), viajando en el
+ * contexto de Reactor. Cada llamada remota o a Mongo se acota con el tiempo que queda y, vencido el plazo,
+ * falla de inmediato con DEADLINE_EXCEEDED en lugar de empezar trabajo que ya nadie espera.
+ * El tiempo restante se reenvía a los servicios externos en el header X-Request-Budget-Ms.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    private static final Object CONTEXT_KEY = RequestDeadline.class;
+
+    private final long expiresAt;
+
+    private RequestDeadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAt - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    public static Optional<RequestDeadline> current(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    /**
+     * El más cercano de dos plazos; cualquiera de los dos puede ser null
+     */
+    public static RequestDeadline earliest(RequestDeadline first, RequestDeadline second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return first.expiresAt - second.expiresAt <= 0 ? first : second;
+    }
+
+    /**
+     * El más lejano de dos plazos; null significa sin plazo, así que si cualquiera de los dos es null el resultado también
+     */
+    public static RequestDeadline latest(RequestDeadline first, RequestDeadline second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        return first.expiresAt - second.expiresAt >= 0 ? first : second;
+    }
+
+    /**
+     * Si el plazo outer (null: sin plazo) no vence antes que inner (null: sin plazo)
+     */
+    public static boolean outlasts(RequestDeadline outer, RequestDeadline inner) {
+        if (outer == null) {
+            return true;
+        }
+        return inner != null && outer.expiresAt - inner.expiresAt >= 0;
+    }
+
+    /**
+     * Para contextWrite: fija un plazo de budget desde la suscripción, salvo que ya haya uno más cercano
+     */
+    public static Function<Context, Context> within(Duration budget) {
+        return context -> until(after(budget)).apply(context);
+    }
+
+    /**
+     * Para contextWrite: fija un plazo ya calculado (sin plazo si es null), salvo que ya haya uno más cercano
+     * Sirve para llevar el plazo de quien pidió el trabajo a una suscripción que se lanza aparte
+     */
+    public static Function<Context, Context> until(RequestDeadline deadline) {
+        return context -> {
+            if (deadline == null) {
+                return context;
+            }
+            boolean earlierExists = current(context)
+                    .filter(existing -> existing.expiresAt - deadline.expiresAt <= 0)
+                    .isPresent();
+            return earlierExists ? context : context.put(CONTEXT_KEY, deadline);
+        };
+    }
+
+    /**
+     * Acota la llamada al tiempo restante y la cancela al vencer; sin plazo en el contexto, la deja igual
+     */
+    public static <T> Mono<T> bound(Mono<T> call) {
+        return Mono.deferContextual(context -> current(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Mono.<T>error(RequestDeadline::exceeded)
+                        : call.timeout(deadline.remaining(), Mono.error(RequestDeadline::exceeded)))
+                .orElse(call));
+    }
+
+    /**
+     * El plazo cubre el flujo completo, no cada elemento
+     */
+    public static <T> Flux<T> bound(Flux<T> call) {
+        return Flux.deferContextual(context -> current(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Flux.<T>error(RequestDeadline::exceeded)
+                        : call.takeUntilOther(Mono.delay(deadline.remaining()).then(Mono.error(RequestDeadline::exceeded))))
+                .orElse(call));
+    }
+
+    /**
+     * Para escrituras de varios pasos: no empieza si el plazo venció, pero una escritura ya iniciada termina,
+     * porque cancelarla a mitad dejaría el reporte y sus buckets desalineados
+     */
+    public static <T> Mono<T> requireRemaining(Mono<T> call) {
+        return Mono.deferContextual(context -> current(context).filter(RequestDeadline::isExpired).isPresent()
+                ? Mono.error(RequestDeadline::exceeded)
+                : call);
+    }
+
+    private static TechnicalException exceeded() {
+        return new TechnicalException(TechnicalMessage.DEADLINE_EXCEEDED);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.resilient_api.infrastructure.adapters.deadline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Fija el plazo de cada petición HTTP: el que envía quien llama en X-Request-Budget-Ms (milisegundos),
+ * sin superar report.deadline.request-budget, o ese presupuesto si el header no viene o no es válido
+ */
+@Component
+@Slf4j
+public class RequestDeadlineWebFilter implements WebFilter {
+
+    private final Duration requestBudget;
+
+    public RequestDeadlineWebFilter(@Value("${report.deadline.request-budget:10s}") Duration requestBudget) {
+        this.requestBudget = requestBudget;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getURI().getPath().startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+        Duration budget = budget(exchange.getRequest().getHeaders().getFirst(RequestDeadline.HEADER));
+        return chain.filter(exchange)
+                .contextWrite(RequestDeadline.within(budget));
+    }
+
+    Duration budget(String header) {
+        if (header == null || header.isBlank()) {
+            return requestBudget;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis >= 0) {
+                Duration requested = Duration.ofMillis(millis);
+                return requested.compareTo(requestBudget) < 0 ? requested : requestBudget;
+            }
+        } catch (NumberFormatException e) {
+            // Se usa el presupuesto configurado
+        }
+        log.debug("Ignoring invalid {} header: {}", RequestDeadline.HEADER, header);
+        return requestBudget;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.infrastructure.adapters.webclient.DownstreamFailurePredicate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Limita las llamadas concurrentes hacia un servicio externo con un límite que se ajusta solo (AIMD).
+ * Cada respuesta rápida con el límite en uso lo sube en uno; una falla o una respuesta más lenta que latencyThreshold
+ * lo multiplica por backoffRatio. Las llamadas que superan el límite esperan en una cola acotada y, con la cola llena,
+ * se descartan con el error de servicio no disponible.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final int maxQueued;
+    private final TechnicalMessage rejectedMessage;
+    private final Predicate<Throwable> failurePredicate = new DownstreamFailurePredicate();
+
+    private double limit;
+    private int inFlight;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+    private final Counter rejectedCounter;
+
+    public AdaptiveConcurrencyLimiter(String service,
+                                      MeterRegistry meterRegistry,
+                                      TechnicalMessage rejectedMessage,
+                                      boolean enabled,
+                                      int initialLimit,
+                                      int minLimit,
+                                      int maxLimit,
+                                      double backoffRatio,
+                                      Duration latencyThreshold,
+                                      int maxQueued) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.maxQueued = maxQueued;
+        this.rejectedMessage = rejectedMessage;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        this.rejectedCounter = Counter.builder("report.limiter.rejected")
+                .description("Downstream calls shed because the limiter queue was full")
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("report.limiter.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("report.limiter.inflight", this, AdaptiveConcurrencyLimiter::currentInFlight)
+                .description("Downstream calls currently holding a permit")
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("report.limiter.queued", this, AdaptiveConcurrencyLimiter::currentQueued)
+                .description("Downstream calls waiting for a permit")
+                .tag("service", service)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> limit(Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return acquire().flatMap(permit -> call
+                .doOnSuccess(result -> permit.release(Outcome.SUCCESS))
+                .doOnError(error -> permit.release(outcomeOf(error)))
+                .doOnCancel(() -> permit.release(Outcome.IGNORED)));
+    }
+
+    /**
+     * El permiso se conserva hasta que el flujo termina, así que la latencia medida es la de la respuesta completa
+     */
+    public <T> Flux<T> limit(Flux<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return acquire().flatMapMany(permit -> call
+                .doOnComplete(() -> permit.release(Outcome.SUCCESS))
+                .doOnError(error -> permit.release(outcomeOf(error)))
+                .doOnCancel(() -> permit.release(Outcome.IGNORED)));
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit granted = null;
+            boolean rejected = false;
+            synchronized (this) {
+                if (waiters.isEmpty() && inFlight < (int) limit) {
+                    inFlight++;
+                    granted = new Permit();
+                } else if (waiters.size() >= maxQueued) {
+                    rejected = true;
+                } else {
+                    Waiter waiter = new Waiter(sink);
+                    waiters.add(waiter);
+                    sink.onCancel(() -> cancel(waiter));
+                }
+            }
+            if (granted != null) {
+                sink.success(granted);
+            } else if (rejected) {
+                rejectedCounter.increment();
+                sink.error(new TechnicalException(rejectedMessage));
+            }
+        });
+    }
+
+    private void cancel(Waiter waiter) {
+        Permit permit;
+        synchronized (this) {
+            if (waiters.remove(waiter)) {
+                return;
+            }
+            permit = waiter.permit;
+        }
+        // El permiso se otorgó justo antes de la cancelación: se devuelve sin ajustar el límite
+        if (permit != null) {
+            permit.release(Outcome.IGNORED);
+        }
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            int inFlightBefore = inFlight;
+            inFlight--;
+            if (outcome == Outcome.FAILURE || (outcome == Outcome.SUCCESS && latencyNanos > latencyThresholdNanos)) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (outcome == Outcome.SUCCESS && inFlightBefore * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+            while (!waiters.isEmpty() && inFlight < (int) limit) {
+                Waiter waiter = waiters.poll();
+                inFlight++;
+                waiter.permit = new Permit();
+                granted.add(waiter);
+            }
+        }
+        granted.forEach(waiter -> waiter.sink.success(waiter.permit));
+    }
+
+    private Outcome outcomeOf(Throwable error) {
+        return failurePredicate.test(error) ? Outcome.FAILURE : Outcome.IGNORED;
+    }
+
+    private synchronized double currentLimit() {
+        return limit;
+    }
+
+    private synchronized double currentInFlight() {
+        return inFlight;
+    }
+
+    private synchronized double currentQueued() {
+        return waiters.size();
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        /** Cancelaciones y rechazos 4xx no dicen nada sobre la salud del servicio */
+        IGNORED
+    }
+
+    private final class Permit {
+
+        private final long acquiredAt = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release(Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - acquiredAt, outcome);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private Permit permit;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
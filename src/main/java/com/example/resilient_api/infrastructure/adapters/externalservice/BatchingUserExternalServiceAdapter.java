@@ -0,0 +1,188 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Agrupa las consultas de usuarios de llamadores concurrentes (estilo DataLoader).
+ * Los IDs pedidos durante la ventana se envían en una única consulta sin duplicados, que se despacha al vencer la
+ * ventana o al alcanzar el tamaño máximo del lote; un ID ya pendiente o en vuelo se comparte en lugar de pedirse otra vez.
+ * Cada llamador recibe solo sus usuarios, en el orden en que los pidió.
+ * La consulta se lanza fuera de la suscripción de los llamadores, así que lleva el plazo más lejano de los que
+ * esperan por ella (RequestDeadline), o ninguno si alguno no tiene plazo; cada llamador acota con su propio plazo
+ * la espera por sus usuarios, así que un plazo corto no cancela la consulta de los demás.
+ * Un llamador solo se une a una consulta en vuelo que no vence antes que su plazo.
+ */
+@Slf4j
+public class BatchingUserExternalServiceAdapter implements UserExternalServicePort {
+
+    private final UserExternalServicePort delegate;
+    private final int maxBatchSize;
+    private final Duration window;
+
+    private final Object lock = new Object();
+    private LinkedHashMap<Long, Sinks.One<UserEnrollment>> pending = new LinkedHashMap<>();
+    private final Map<Long, Batch> inFlight = new HashMap<>();
+    private String pendingMessageId;
+    private RequestDeadline pendingDeadline;
+    private boolean pendingWaited;
+    private Disposable scheduledDispatch;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Counter deduplicatedCounter;
+    private final Counter sizeTriggerCounter;
+    private final Counter timeTriggerCounter;
+
+    public BatchingUserExternalServiceAdapter(UserExternalServicePort delegate,
+                                              MeterRegistry meterRegistry,
+                                              int maxBatchSize,
+                                              Duration window) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+
+        this.batchSizeSummary = DistributionSummary.builder("report.users.batch.size")
+                .description("Distinct user IDs sent per batched lookup")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deduplicatedCounter = Counter.builder("report.users.batch.deduplicated")
+                .description("Requested user IDs served by a lookup already pending or in flight")
+                .register(meterRegistry);
+        this.sizeTriggerCounter = Counter.builder("report.users.batch.dispatches")
+                .description("Batched user lookups by trigger")
+                .tag("trigger", "size")
+                .register(meterRegistry);
+        this.timeTriggerCounter = Counter.builder("report.users.batch.dispatches")
+                .description("Batched user lookups by trigger")
+                .tag("trigger", "time")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<UserEnrollment> getUsersByIds(List<Long> userIds, String messageId) {
+        return Flux.deferContextual(context -> {
+            RequestDeadline deadline = RequestDeadline.current(context).orElse(null);
+            List<Long> distinctIds = userIds.stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            List<Mono<UserEnrollment>> results = new ArrayList<>(distinctIds.size());
+            Batch batch = null;
+            synchronized (lock) {
+                boolean waitsOnPending = false;
+                for (Long userId : distinctIds) {
+                    Sinks.One<UserEnrollment> result = pending.get(userId);
+                    boolean isPending = result != null;
+                    if (result == null) {
+                        Batch running = inFlight.get(userId);
+                        if (running != null && RequestDeadline.outlasts(running.deadline(), deadline)) {
+                            result = running.users().get(userId);
+                        }
+                    }
+                    if (result == null) {
+                        result = Sinks.one();
+                        pending.put(userId, result);
+                        isPending = true;
+                    } else {
+                        deduplicatedCounter.increment();
+                    }
+                    waitsOnPending |= isPending;
+                    results.add(result.asMono());
+                }
+                if (pendingMessageId == null && !pending.isEmpty()) {
+                    pendingMessageId = messageId;
+                }
+                if (waitsOnPending) {
+                    pendingDeadline = pendingWaited ? RequestDeadline.latest(pendingDeadline, deadline) : deadline;
+                    pendingWaited = true;
+                }
+
+                if (pending.size() >= maxBatchSize) {
+                    batch = drain();
+                    sizeTriggerCounter.increment();
+                } else if (!pending.isEmpty() && scheduledDispatch == null) {
+                    scheduledDispatch = Mono.delay(window).subscribe(tick -> dispatchOnTimeout());
+                }
+            }
+            if (batch != null) {
+                dispatch(batch);
+            }
+            return RequestDeadline.bound(Flux.concat(results));
+        });
+    }
+
+    private void dispatchOnTimeout() {
+        Batch batch;
+        synchronized (lock) {
+            scheduledDispatch = null;
+            batch = drain();
+        }
+        if (!batch.users().isEmpty()) {
+            timeTriggerCounter.increment();
+            dispatch(batch);
+        }
+    }
+
+    /**
+     * Toma los IDs pendientes y los marca en vuelo para que los llamadores siguientes se unan a esta consulta
+     */
+    private Batch drain() {
+        if (scheduledDispatch != null) {
+            scheduledDispatch.dispose();
+            scheduledDispatch = null;
+        }
+        Batch batch = new Batch(pending, pendingMessageId, pendingDeadline);
+        pending.keySet().forEach(userId -> inFlight.put(userId, batch));
+        pending = new LinkedHashMap<>();
+        pendingMessageId = null;
+        pendingDeadline = null;
+        pendingWaited = false;
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        Map<Long, Sinks.One<UserEnrollment>> users = batch.users();
+        batchSizeSummary.record(users.size());
+        log.debug("Dispatching batched lookup of {} users with messageId: {}", users.size(), batch.messageId());
+
+        delegate.getUsersByIds(new ArrayList<>(users.keySet()), batch.messageId())
+                .doOnNext(user -> {
+                    Sinks.One<UserEnrollment> result = users.get(user.userId());
+                    if (result != null) {
+                        result.tryEmitValue(user);
+                    }
+                })
+                // Los IDs que el servicio no devolvió completan vacíos: el llamador simplemente no los recibe
+                .doOnComplete(() -> users.values().forEach(Sinks.One::tryEmitEmpty))
+                .doOnError(error -> users.values().forEach(result -> result.tryEmitError(error)))
+                .doFinally(signal -> {
+                    synchronized (lock) {
+                        users.keySet().forEach(userId -> inFlight.remove(userId, batch));
+                    }
+                })
+                .contextWrite(RequestDeadline.until(batch.deadline()))
+                .subscribe(
+                        null,
+                        error -> log.warn("Batched lookup of {} users failed with messageId: {}", users.size(), batch.messageId(), error));
+    }
+
+    private record Batch(Map<Long, Sinks.One<UserEnrollment>> users, String messageId, RequestDeadline deadline) {
+    }
+}
@@ -11,14 +11,20 @@ import reactor.core.publisher.Mono;
 public class BootcampExternalServiceAdapter implements BootcampExternalServicePort {
 
     private final BootcampWebClient bootcampWebClient;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     @Override
     public Mono<BootcampInfo> getBootcampById(Long bootcampId, String messageId) {
-        return bootcampWebClient.getBootcampById(bootcampId, messageId);
+        return concurrencyLimiter.limit(bootcampWebClient.getBootcampById(bootcampId, messageId));
     }
 
     @Override
     public Flux<Long> getUserIdsByBootcampId(Long bootcampId, String messageId) {
-        return bootcampWebClient.getUserIdsByBootcampId(bootcampId, messageId);
+        return concurrencyLimiter.limit(bootcampWebClient.getUserIdsByBootcampId(bootcampId, messageId));
+    }
+
+    @Override
+    public Mono<long[]> collectUserIdsByBootcampId(Long bootcampId, String messageId) {
+        return concurrencyLimiter.limit(bootcampWebClient.collectUserIdsByBootcampId(bootcampId, messageId));
     }
 }
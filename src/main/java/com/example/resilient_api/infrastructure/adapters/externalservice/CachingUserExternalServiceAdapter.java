@@ -0,0 +1,183 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Cache acotada de perfiles de usuario delante del servicio de usuarios.
+ * Solo se consultan los IDs ausentes o vencidos (ttl) y el resultado se devuelve en el orden de los IDs pedidos.
+ * Al superar el máximo de entradas se descarta la usada hace más tiempo (LRU).
+ * Un perfil consultado antes de invalidar ese mismo usuario no se guarda, para no volver a cachear un dato viejo;
+ * las invalidaciones de otros usuarios no afectan a las consultas en curso.
+ */
+@Slf4j
+public class CachingUserExternalServiceAdapter implements UserExternalServicePort {
+
+    private final UserExternalServicePort delegate;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final LinkedHashMap<Long, Entry> entries;
+    private long generation;
+    // Generación en que se invalidó cada usuario, mientras alguna consulta anterior a ella siga en curso
+    private final Map<Long, Long> invalidatedAt = new HashMap<>();
+    // Consultas en curso por la generación en que empezaron
+    private final TreeMap<Long, Integer> loadsInFlight = new TreeMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+    private final Counter invalidationCounter;
+
+    public CachingUserExternalServiceAdapter(UserExternalServicePort delegate,
+                                             MeterRegistry meterRegistry,
+                                             Duration ttl,
+                                             int maxEntries) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                boolean evict = size() > CachingUserExternalServiceAdapter.this.maxEntries;
+                if (evict) {
+                    evictionCounter.increment();
+                }
+                return evict;
+            }
+        };
+
+        this.hitCounter = requests(meterRegistry, "hit");
+        this.missCounter = requests(meterRegistry, "miss");
+        this.evictionCounter = Counter.builder("report.users.cache.evictions")
+                .description("User profiles evicted from the cache to respect its size bound")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("report.users.cache.invalidations")
+                .description("User profiles invalidated by callers")
+                .register(meterRegistry);
+        Gauge.builder("report.users.cache.size", this, CachingUserExternalServiceAdapter::size)
+                .description("User profiles currently cached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Flux<UserEnrollment> getUsersByIds(List<Long> userIds, String messageId) {
+        return Flux.defer(() -> {
+            Set<Long> requested = new LinkedHashSet<>(userIds);
+            Map<Long, UserEnrollment> found = new HashMap<>();
+            List<Long> missing = new ArrayList<>();
+            long loadGeneration;
+            synchronized (entries) {
+                long now = System.nanoTime();
+                for (Long userId : requested) {
+                    Entry entry = entries.get(userId);
+                    if (entry != null && now - entry.loadedAt() < ttlNanos) {
+                        found.put(userId, entry.user());
+                    } else {
+                        missing.add(userId);
+                    }
+                }
+                loadGeneration = generation;
+                if (!missing.isEmpty()) {
+                    loadsInFlight.merge(loadGeneration, 1, Integer::sum);
+                }
+            }
+            hitCounter.increment(found.size());
+            missCounter.increment(missing.size());
+
+            if (missing.isEmpty()) {
+                return Flux.fromIterable(inOrder(requested, found));
+            }
+            log.debug("User profile cache resolved {} of {} users, fetching {} with messageId: {}",
+                    found.size(), requested.size(), missing.size(), messageId);
+            return delegate.getUsersByIds(missing, messageId)
+                    .collectList()
+                    .flatMapMany(fetched -> {
+                        store(fetched, loadGeneration);
+                        fetched.forEach(user -> found.put(user.userId(), user));
+                        return Flux.fromIterable(inOrder(requested, found));
+                    })
+                    .doFinally(signal -> finishLoad(loadGeneration));
+        });
+    }
+
+    @Override
+    public Mono<Void> invalidateUsers(List<Long> userIds) {
+        return Mono.fromRunnable(() -> {
+            synchronized (entries) {
+                generation++;
+                userIds.forEach(userId -> {
+                    entries.remove(userId);
+                    if (!loadsInFlight.isEmpty()) {
+                        invalidatedAt.put(userId, generation);
+                    }
+                });
+            }
+            invalidationCounter.increment(userIds.size());
+            log.debug("Invalidated {} cached user profiles", userIds.size());
+        });
+    }
+
+    private void store(List<UserEnrollment> users, long loadGeneration) {
+        synchronized (entries) {
+            long now = System.nanoTime();
+            users.forEach(user -> {
+                Long invalidated = invalidatedAt.get(user.userId());
+                if (invalidated == null || invalidated <= loadGeneration) {
+                    entries.put(user.userId(), new Entry(user, now));
+                }
+            });
+        }
+    }
+
+    /**
+     * Olvida las invalidaciones que ya no pueden afectar a ninguna consulta en curso
+     */
+    private void finishLoad(long loadGeneration) {
+        synchronized (entries) {
+            loadsInFlight.computeIfPresent(loadGeneration, (started, count) -> count > 1 ? count - 1 : null);
+            long oldestLoad = loadsInFlight.isEmpty() ? generation : loadsInFlight.firstKey();
+            invalidatedAt.values().removeIf(invalidated -> invalidated <= oldestLoad);
+        }
+    }
+
+    private List<UserEnrollment> inOrder(Set<Long> requested, Map<Long, UserEnrollment> found) {
+        return requested.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private double size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("report.users.cache.requests")
+                .description("User profile lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(UserEnrollment user, long loadedAt) {
+    }
+}
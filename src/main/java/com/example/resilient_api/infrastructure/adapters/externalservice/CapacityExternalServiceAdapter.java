@@ -12,9 +12,10 @@ import java.util.List;
 public class CapacityExternalServiceAdapter implements CapacityExternalServicePort {
 
     private final CapacityWebClient capacityWebClient;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
     @Override
     public Flux<CapacityDetail> getCapacitiesWithTechnologies(List<Long> capacityIds, String messageId) {
-        return capacityWebClient.getCapacitiesWithTechnologies(capacityIds, messageId);
+        return concurrencyLimiter.limit(capacityWebClient.getCapacitiesWithTechnologies(capacityIds, messageId));
     }
 }
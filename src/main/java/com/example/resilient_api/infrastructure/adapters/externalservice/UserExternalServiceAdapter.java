@@ -1,20 +1,126 @@
 package com.example.resilient_api.infrastructure.adapters.externalservice;
 
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
 import com.example.resilient_api.domain.model.UserEnrollment;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
 import com.example.resilient_api.infrastructure.adapters.webclient.UserWebClient;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
+/**
+ * Consulta los usuarios en lotes de tamaño fijo con concurrencia acotada, conservando el orden de los IDs.
+ * Cada lote se reintenta de forma independiente; un lote que agota sus reintentos hace fallar la consulta.
+ * Cada intento pide su permiso al limitador de concurrencia de users-api.
+ */
+@Slf4j
 public class UserExternalServiceAdapter implements UserExternalServicePort {
 
     private final UserWebClient userWebClient;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final int chunkSize;
+    private final int concurrency;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final DistributionSummary chunksSummary;
+    private final Counter retryCounter;
+
+    public UserExternalServiceAdapter(UserWebClient userWebClient,
+                                      AdaptiveConcurrencyLimiter concurrencyLimiter,
+                                      MeterRegistry meterRegistry,
+                                      int chunkSize,
+                                      int concurrency,
+                                      int maxRetries,
+                                      Duration retryBackoff) {
+        this.userWebClient = userWebClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+
+        this.successTimer = chunkTimer(meterRegistry, "success");
+        this.failureTimer = chunkTimer(meterRegistry, "error");
+        this.chunksSummary = DistributionSummary.builder("report.users.chunks")
+                .description("Chunks needed to fetch the users of a single lookup")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("report.users.chunk.retries")
+                .description("User chunk lookups retried after a failure")
+                .register(meterRegistry);
+    }
 
     @Override
     public Flux<UserEnrollment> getUsersByIds(List<Long> userIds, String messageId) {
-        return userWebClient.getUsersByIds(userIds, messageId);
+        List<List<Long>> chunks = partition(userIds);
+        chunksSummary.record(chunks.size());
+        if (chunks.size() > 1) {
+            log.info("Fetching {} users in {} chunks of up to {} with messageId: {}", userIds.size(), chunks.size(), chunkSize, messageId);
+        }
+
+        return Flux.fromIterable(chunks)
+                .flatMapSequential(chunk -> fetchChunk(chunk, messageId), concurrency)
+                .flatMapIterable(users -> users);
+    }
+
+    /**
+     * Cada intento acumula el lote completo antes de emitirlo, para que un reintento no duplique usuarios ya emitidos
+     */
+    private Mono<List<UserEnrollment>> fetchChunk(List<Long> chunk, String messageId) {
+        return Mono.defer(() -> {
+                    long startedAt = System.nanoTime();
+                    return concurrencyLimiter.limit(userWebClient.getUsersByIds(chunk, messageId))
+                            .collectList()
+                            .doOnSuccess(users -> successTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS))
+                            .doOnError(error -> failureTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS));
+                })
+                .retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                        .filter(UserExternalServiceAdapter::isRetryable)
+                        .doBeforeRetry(signal -> {
+                            retryCounter.increment();
+                            log.warn("Retrying chunk of {} users (attempt {}) with messageId: {}",
+                                    chunk.size(), signal.totalRetries() + 1, messageId);
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private List<List<Long>> partition(List<Long> userIds) {
+        List<List<Long>> chunks = new ArrayList<>((userIds.size() + chunkSize - 1) / chunkSize);
+        for (int from = 0; from < userIds.size(); from += chunkSize) {
+            chunks.add(userIds.subList(from, Math.min(userIds.size(), from + chunkSize)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Un rechazo 4xx se repetiría igual en cada intento, un circuito abierto debe fallar rápido y con el plazo
+     * vencido ya no queda tiempo; el resto (5xx, timeouts, conexión) se reintenta
+     */
+    private static boolean isRetryable(Throwable error) {
+        return !(error instanceof TechnicalException technicalException
+                && (technicalException.getTechnicalMessage() == TechnicalMessage.USER_SERVICE_REJECTED
+                || technicalException.getTechnicalMessage() == TechnicalMessage.USER_SERVICE_UNAVAILABLE
+                || technicalException.getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED));
+    }
+
+    private static Timer chunkTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("report.users.chunk")
+                .description("Latency of each user chunk lookup attempt")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 }
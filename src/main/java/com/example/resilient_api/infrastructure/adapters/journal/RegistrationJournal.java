@@ -0,0 +1,352 @@
+package com.example.resilient_api.infrastructure.adapters.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.zip.CRC32;
+
+/**
+ * Journal local de solo-anexado (memory-mapped) de registros aceptados y aún no procesados.
+ * Cada registro se escribe antes de admitirlo y se marca como completado solo si la reconstrucción termina bien,
+ * de modo que los registros pendientes, fallidos o descartados sobreviven a un reinicio y se reprocesan al arrancar.
+ * Un registro rechazado (429) se retira. Completar una secuencia cubre también las anteriores del mismo bootcamp.
+ * La escritura (y el force, si está habilitado) corre en un hilo propio, nunca en el event loop de quien llama.
+ * Formato de cada entrada: [longitud][tipo][secuencia][bootcampId][timestamp][longitud messageId][messageId][crc32]
+ * El segmento mapeado crece al compactar hasta max-segment-size (a lo sumo 2 GB, el límite de un mapeo);
+ * si los pendientes no caben, el registro falla en lugar de desbordar el mapeo.
+ */
+@Component
+@Slf4j
+public class RegistrationJournal {
+
+    private static final String FILE_NAME = "registrations.journal";
+    private static final byte ACCEPTED = 1;
+    private static final byte COMPLETED = 2;
+    private static final byte WITHDRAWN = 3;
+    private static final int BODY_HEADER_SIZE = 1 + Long.BYTES * 3 + Short.BYTES;
+    private static final int MAX_MESSAGE_ID_BYTES = 512;
+    private static final int MAX_ENTRY_SIZE = Integer.BYTES + BODY_HEADER_SIZE + MAX_MESSAGE_ID_BYTES + Integer.BYTES;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final boolean forceOnWrite;
+    private final long maxSegmentSize;
+    private long segmentSize;
+
+    private final Scheduler io = Schedulers.newSingle("registration-journal", true);
+    private final Map<Long, NavigableMap<Long, PendingRegistration>> pending = new HashMap<>();
+    private List<PendingRegistration> recovered = List.of();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long nextSequence = 1;
+
+    public RegistrationJournal(@Value("${report.registration.journal.enabled:true}") boolean enabled,
+                               @Value("${report.registration.journal.directory:${java.io.tmpdir}/metrics-api/journal}") Path directory,
+                               @Value("${report.registration.journal.segment-size:16MB}") DataSize segmentSize,
+                               @Value("${report.registration.journal.max-segment-size:1GB}") DataSize maxSegmentSize,
+                               @Value("${report.registration.journal.force-on-write:false}") boolean forceOnWrite) {
+        if (maxSegmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Registration journal max-segment-size cannot exceed "
+                    + Integer.MAX_VALUE + " bytes, got " + maxSegmentSize);
+        }
+        if (segmentSize.toBytes() > maxSegmentSize.toBytes()) {
+            throw new IllegalArgumentException("Registration journal segment-size " + segmentSize
+                    + " exceeds max-segment-size " + maxSegmentSize);
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize.toBytes();
+        this.maxSegmentSize = maxSegmentSize.toBytes();
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            log.info("Registration journal disabled");
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(FILE_NAME);
+            if (Files.exists(file)) {
+                try (FileChannel existing = FileChannel.open(file, StandardOpenOption.READ)) {
+                    scan(existing.map(FileChannel.MapMode.READ_ONLY, 0, existing.size()));
+                }
+            }
+            recovered = pending.values().stream()
+                    .map(registrations -> registrations.lastEntry().getValue())
+                    .sorted(Comparator.comparingLong(PendingRegistration::sequence))
+                    .toList();
+            compact();
+            log.info("Registration journal opened at {} with {} pending registrations", file, recovered.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open registration journal at " + directory, e);
+        }
+    }
+
+    /**
+     * Registros aceptados antes del último arranque que no llegaron a completarse, uno por bootcampId
+     */
+    public List<PendingRegistration> recoveredRegistrations() {
+        return recovered;
+    }
+
+    /**
+     * Anexa un registro aceptado
+     * @return Mono con la secuencia con la que debe completarse o retirarse, una vez escrito
+     */
+    public Mono<Long> accept(Long bootcampId, String messageId) {
+        return onJournalThread(() -> recordAccepted(bootcampId, messageId));
+    }
+
+    /**
+     * Anexa los registros aceptados de un lote
+     * @return Mono con la secuencia de cada bootcampId, una vez escritos
+     */
+    public Mono<Map<Long, Long>> acceptAll(List<Long> bootcampIds, String messageId) {
+        return onJournalThread(() -> {
+            Map<Long, Long> sequences = new LinkedHashMap<>();
+            bootcampIds.forEach(bootcampId -> sequences.put(bootcampId, recordAccepted(bootcampId, messageId)));
+            return sequences;
+        });
+    }
+
+    /**
+     * Marca como completado el registro con la secuencia indicada y los anteriores del mismo bootcamp
+     */
+    public Mono<Void> complete(long sequence, Long bootcampId) {
+        return onJournalThread(() -> {
+            recordCompleted(sequence, bootcampId);
+            return sequence;
+        }).then();
+    }
+
+    /**
+     * Retira un registro que no llegó a admitirse
+     */
+    public Mono<Void> withdraw(long sequence, Long bootcampId) {
+        return onJournalThread(() -> {
+            recordWithdrawn(sequence, bootcampId);
+            return sequence;
+        }).then();
+    }
+
+    synchronized long recordAccepted(Long bootcampId, String messageId) {
+        long sequence = nextSequence++;
+        if (!enabled) {
+            return sequence;
+        }
+        PendingRegistration registration = new PendingRegistration(sequence, bootcampId, messageId, System.currentTimeMillis());
+        append(ACCEPTED, registration);
+        apply(ACCEPTED, sequence, bootcampId, messageId, registration.acceptedAt());
+        return sequence;
+    }
+
+    synchronized void recordCompleted(long sequence, Long bootcampId) {
+        record(COMPLETED, sequence, bootcampId);
+    }
+
+    synchronized void recordWithdrawn(long sequence, Long bootcampId) {
+        record(WITHDRAWN, sequence, bootcampId);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        io.dispose();
+        if (channel == null) {
+            return;
+        }
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("Error closing registration journal", e);
+        }
+    }
+
+    private <T> Mono<T> onJournalThread(Callable<T> write) {
+        return enabled
+                ? Mono.fromCallable(write).subscribeOn(io)
+                : Mono.fromCallable(write);
+    }
+
+    private void record(byte type, long sequence, Long bootcampId) {
+        if (!enabled) {
+            return;
+        }
+        append(type, new PendingRegistration(sequence, bootcampId, null, System.currentTimeMillis()));
+        apply(type, sequence, bootcampId, null, 0L);
+    }
+
+    private void append(byte type, PendingRegistration registration) {
+        byte[] entry = encode(type, registration);
+        if (buffer.remaining() < entry.length) {
+            compact();
+        }
+        buffer.put(entry);
+        if (forceOnWrite) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Reescribe el journal dejando solo los registros pendientes y lo vuelve a mapear.
+     * Falla con IllegalStateException si los pendientes y una entrada más no caben en max-segment-size.
+     */
+    private void compact() {
+        try {
+            List<byte[]> entries = pending.values().stream()
+                    .flatMap(registrations -> registrations.values().stream())
+                    .sorted(Comparator.comparingLong(PendingRegistration::sequence))
+                    .map(registration -> encode(ACCEPTED, registration))
+                    .toList();
+            long required = entries.stream().mapToLong(entry -> entry.length).sum();
+            while (segmentSize < required * 2 && segmentSize < maxSegmentSize) {
+                segmentSize = Math.min(segmentSize * 2, maxSegmentSize);
+            }
+            if (required + MAX_ENTRY_SIZE > segmentSize) {
+                throw new IllegalStateException("Registration journal is full: " + entries.size()
+                        + " pending registrations need " + required + " bytes, max-segment-size is " + maxSegmentSize);
+            }
+
+            Path file = directory.resolve(FILE_NAME);
+            Path compacted = directory.resolve(FILE_NAME + ".compact");
+            try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (byte[] entry : entries) {
+                    target.write(ByteBuffer.wrap(entry));
+                }
+                target.force(true);
+            }
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (channel != null) {
+                channel.close();
+            }
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            buffer.position((int) required);
+            log.debug("Registration journal compacted to {} pending registrations", entries.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact registration journal", e);
+        }
+    }
+
+    private void scan(ByteBuffer source) {
+        while (source.remaining() > Integer.BYTES) {
+            int length = source.getInt();
+            if (length < BODY_HEADER_SIZE || length + Integer.BYTES > source.remaining()) {
+                break;
+            }
+            byte[] body = new byte[length];
+            source.get(body);
+            int checksum = source.getInt();
+            if (checksum != checksum(body)) {
+                log.warn("Registration journal entry with invalid checksum, ignoring the rest of the journal");
+                break;
+            }
+
+            ByteBuffer entry = ByteBuffer.wrap(body);
+            byte type = entry.get();
+            long sequence = entry.getLong();
+            long bootcampId = entry.getLong();
+            long timestamp = entry.getLong();
+            byte[] messageId = new byte[entry.getShort()];
+            entry.get(messageId);
+            apply(type, sequence, bootcampId, new String(messageId, StandardCharsets.UTF_8), timestamp);
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        }
+    }
+
+    private void apply(byte type, long sequence, Long bootcampId, String messageId, long timestamp) {
+        if (type == ACCEPTED) {
+            pending.computeIfAbsent(bootcampId, id -> new TreeMap<>())
+                    .put(sequence, new PendingRegistration(sequence, bootcampId, messageId, timestamp));
+            return;
+        }
+        NavigableMap<Long, PendingRegistration> registrations = pending.get(bootcampId);
+        if (registrations == null) {
+            return;
+        }
+        if (type == COMPLETED) {
+            registrations.headMap(sequence, true).clear();
+        } else if (type == WITHDRAWN) {
+            registrations.remove(sequence);
+        }
+        if (registrations.isEmpty()) {
+            pending.remove(bootcampId);
+        }
+    }
+
+    private byte[] encode(byte type, PendingRegistration registration) {
+        byte[] messageId = registration.messageId() == null
+                ? new byte[0]
+                : registration.messageId().getBytes(StandardCharsets.UTF_8);
+        if (messageId.length > MAX_MESSAGE_ID_BYTES) {
+            messageId = Arrays.copyOf(messageId, codePointBoundary(messageId, MAX_MESSAGE_ID_BYTES));
+        }
+        ByteBuffer body = ByteBuffer.allocate(BODY_HEADER_SIZE + messageId.length)
+                .put(type)
+                .putLong(registration.sequence())
+                .putLong(registration.bootcampId())
+                .putLong(registration.acceptedAt())
+                .putShort((short) messageId.length)
+                .put(messageId);
+
+        return ByteBuffer.allocate(Integer.BYTES + body.capacity() + Integer.BYTES)
+                .putInt(body.capacity())
+                .put(body.array())
+                .putInt(checksum(body.array()))
+                .array();
+    }
+
+    /**
+     * Mayor longitud menor o igual a limit que no corta un carácter UTF-8 (no empieza en un byte de continuación)
+     */
+    private int codePointBoundary(byte[] utf8, int limit) {
+        int length = limit;
+        while (length > 0 && (utf8[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return length;
+    }
+
+    private int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Registro aceptado pendiente de completarse
+     */
+    public record PendingRegistration(long sequence, Long bootcampId, String messageId, long acceptedAt) {
+    }
+}
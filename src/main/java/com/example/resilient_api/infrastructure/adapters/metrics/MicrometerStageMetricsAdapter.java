@@ -0,0 +1,40 @@
+package com.example.resilient_api.infrastructure.adapters.metrics;
+
+import com.example.resilient_api.domain.spi.StageMetricsPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * Publica la duración de cada etapa de la construcción de reportes como report.build.stage{stage, outcome}
+ * y las lecturas degradadas como report.read.degraded{read, reason}
+ */
+@RequiredArgsConstructor
+public class MicrometerStageMetricsAdapter implements StageMetricsPort {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void recordStage(String stage, String outcome, Duration elapsed) {
+        Timer.builder("report.build.stage")
+                .description("Duration of each report build stage")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsed);
+    }
+
+    @Override
+    public void recordDegradedRead(String read, String reason) {
+        Counter.builder("report.read.degraded")
+                .description("Report reads served from storage because enrichment failed or exceeded its budget")
+                .tag("read", read)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
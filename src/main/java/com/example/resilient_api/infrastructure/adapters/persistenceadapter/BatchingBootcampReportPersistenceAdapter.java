@@ -0,0 +1,370 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampReportEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentBucketEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentMemberEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampReportMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Etapa write-behind delante de BootcampReportPersistenceAdapter.
+ * Acumula los guardados pendientes conservando solo la última versión de cada bootcampId y los
+ * escribe (resúmenes y buckets de inscripción) como bulk writes sin orden cuando se alcanza el tamaño máximo del lote o vence el tiempo máximo de espera.
+ * Cada llamador recibe la señal de finalización de su propia escritura (o de la que la reemplazó).
+ * Las lecturas y deltas de un bootcamp con escritura pendiente esperan a que esta se complete.
+ * Cada llamador espera su escritura solo hasta su propio plazo (RequestDeadline). Un plazo más cercano que el tiempo
+ * máximo de espera adelanta el lote a la mitad del tiempo que le queda, y una escritura cuyos llamadores ya vencieron
+ * su plazo no se incluye en el lote; una vez iniciado, el lote termina aunque algún plazo venza a mitad.
+ */
+@Slf4j
+public class BatchingBootcampReportPersistenceAdapter implements BootcampReportPersistencePort, AutoCloseable {
+
+    private static final String BOOTCAMP_ID = "bootcampId";
+
+    private final BootcampReportPersistenceAdapter delegate;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final BootcampReportMapper bootcampReportMapper;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+
+    private final Object lock = new Object();
+    private LinkedHashMap<Long, PendingWrite> pending = new LinkedHashMap<>();
+    private final Map<Long, PendingWrite> flushing = new HashMap<>();
+    private Disposable scheduledFlush;
+    private long scheduledFlushAt;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushTimer;
+    private final Counter supersededCounter;
+    private final Counter sizeTriggerCounter;
+    private final Counter timeTriggerCounter;
+
+    public BatchingBootcampReportPersistenceAdapter(BootcampReportPersistenceAdapter delegate,
+                                                    ReactiveMongoTemplate reactiveMongoTemplate,
+                                                    BootcampReportMapper bootcampReportMapper,
+                                                    MeterRegistry meterRegistry,
+                                                    int maxBatchSize,
+                                                    Duration maxDelay) {
+        this.delegate = delegate;
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.bootcampReportMapper = bootcampReportMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+
+        this.batchSizeSummary = DistributionSummary.builder("report.persistence.batch.size")
+                .description("Report upserts written per bulk write")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("report.persistence.batch.flush")
+                .description("Time spent writing a batch of report upserts")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.supersededCounter = Counter.builder("report.persistence.batch.superseded")
+                .description("Pending report upserts replaced by a newer version before being written")
+                .register(meterRegistry);
+        this.sizeTriggerCounter = Counter.builder("report.persistence.batch.flushes")
+                .description("Batch flushes by trigger")
+                .tag("trigger", "size")
+                .register(meterRegistry);
+        this.timeTriggerCounter = Counter.builder("report.persistence.batch.flushes")
+                .description("Batch flushes by trigger")
+                .tag("trigger", "time")
+                .register(meterRegistry);
+        Gauge.builder("report.persistence.batch.pending", this, BatchingBootcampReportPersistenceAdapter::pendingWrites)
+                .description("Report upserts waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola el guardado en el lote en curso
+     * Los reportes con versión se escriben directamente para poder detectar conflictos de forma individual
+     */
+    @Override
+    public Mono<BootcampReport> save(BootcampReport bootcampReport) {
+        if (bootcampReport.version() != null) {
+            return delegate.save(bootcampReport);
+        }
+        return Mono.deferContextual(context -> {
+            RequestDeadline deadline = RequestDeadline.current(context).orElse(null);
+            PendingWrite write;
+            List<PendingWrite> batch = null;
+            synchronized (lock) {
+                write = pending.get(bootcampReport.bootcampId());
+                if (write == null) {
+                    write = new PendingWrite(bootcampReport, deadline);
+                    pending.put(bootcampReport.bootcampId(), write);
+                } else {
+                    // Quien esperaba la versión reemplazada sigue esperando esta: vale el plazo más lejano
+                    write.report = bootcampReport;
+                    write.deadline = RequestDeadline.latest(write.deadline, deadline);
+                    supersededCounter.increment();
+                }
+
+                if (pending.size() >= maxBatchSize) {
+                    batch = drain();
+                    sizeTriggerCounter.increment();
+                } else {
+                    scheduleFlush(deadline);
+                }
+            }
+            if (batch != null) {
+                flush(batch).subscribe();
+            }
+            return RequestDeadline.bound(write.result.asMono());
+        });
+    }
+
+    @Override
+    public Mono<BootcampReport> findByBootcampId(Long bootcampId) {
+        return awaitPendingWrite(bootcampId).then(delegate.findByBootcampId(bootcampId));
+    }
+
+    @Override
+    public Mono<BootcampReport> findMostPopularBootcamp() {
+        return delegate.findMostPopularBootcamp();
+    }
+
+    @Override
+    public Flux<BootcampRanking> findRanking(int offset, int limit) {
+        return delegate.findRanking(offset, limit);
+    }
+
+    @Override
+    public Mono<Void> updateEnrollmentCount(Long bootcampId, Integer newCount) {
+        return awaitPendingWrite(bootcampId).then(delegate.updateEnrollmentCount(bootcampId, newCount));
+    }
+
+    @Override
+    public Flux<UserEnrollment> findEnrolledUsers(Long bootcampId) {
+        return awaitPendingWrite(bootcampId).thenMany(delegate.findEnrolledUsers(bootcampId));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> addEnrolledUser(Long bootcampId, UserEnrollment user) {
+        return awaitPendingWrite(bootcampId).then(delegate.addEnrolledUser(bootcampId, user));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> removeEnrolledUser(Long bootcampId, Long userId) {
+        return awaitPendingWrite(bootcampId).then(delegate.removeEnrolledUser(bootcampId, userId));
+    }
+
+    /**
+     * Escribe los guardados pendientes al detener la aplicación
+     */
+    @Override
+    public void close() {
+        List<PendingWrite> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            log.info("Flushing {} pending report upserts before shutdown", batch.size());
+            flush(batch).block(Duration.ofSeconds(10));
+        }
+    }
+
+    /**
+     * Programa el siguiente lote dentro del tiempo máximo de espera, o antes si el plazo del llamador lo exige
+     */
+    private void scheduleFlush(RequestDeadline deadline) {
+        Duration delay = maxDelay;
+        if (deadline != null && deadline.remaining().dividedBy(2).compareTo(delay) < 0) {
+            delay = deadline.remaining().dividedBy(2);
+        }
+        long flushAt = System.nanoTime() + delay.toNanos();
+        if (scheduledFlush != null) {
+            if (scheduledFlushAt - flushAt <= 0) {
+                return;
+            }
+            scheduledFlush.dispose();
+        }
+        scheduledFlushAt = flushAt;
+        scheduledFlush = Mono.delay(delay).subscribe(tick -> flushOnTimeout());
+    }
+
+    private void flushOnTimeout() {
+        List<PendingWrite> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            timeTriggerCounter.increment();
+            flush(batch).subscribe();
+        }
+    }
+
+    /**
+     * Toma los guardados pendientes para escribirlos; los de un bootcamp cuyo lote anterior aún se
+     * está escribiendo quedan para el siguiente, de modo que una versión vieja nunca pise a una nueva
+     */
+    private List<PendingWrite> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        List<PendingWrite> batch = new ArrayList<>();
+        LinkedHashMap<Long, PendingWrite> held = new LinkedHashMap<>();
+        pending.forEach((bootcampId, write) -> {
+            if (flushing.containsKey(bootcampId)) {
+                held.put(bootcampId, write);
+            } else {
+                flushing.put(bootcampId, write);
+                batch.add(write);
+            }
+        });
+        pending = held;
+        return batch;
+    }
+
+    private Mono<Void> flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return Mono.empty();
+        }
+        long startedAt = System.nanoTime();
+        // Como en el adaptador directo, una escritura no empieza si ya venció el plazo de todos sus llamadores
+        List<PendingWrite> live = new ArrayList<>(batch.size());
+        batch.forEach(write -> {
+            if (write.isExpired()) {
+                write.fail(new TechnicalException(TechnicalMessage.DEADLINE_EXCEEDED));
+            } else {
+                live.add(write);
+            }
+        });
+
+        return (live.isEmpty() ? Mono.<Void>empty() : writeBatch(live))
+                .doFinally(signal -> {
+                    flushTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    synchronized (lock) {
+                        batch.forEach(write -> flushing.remove(write.report.bootcampId(), write));
+                        if (!pending.isEmpty()) {
+                            scheduleFlush(pending.values().stream()
+                                    .map(write -> write.deadline)
+                                    .reduce(null, RequestDeadline::earliest));
+                        }
+                    }
+                });
+    }
+
+    private Mono<Void> writeBatch(List<PendingWrite> batch) {
+        batchSizeSummary.record(batch.size());
+
+        ReactiveBulkOperations reportOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BootcampReportEntity.class);
+        ReactiveBulkOperations bucketOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentBucketEntity.class);
+        ReactiveBulkOperations memberOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentMemberEntity.class);
+        batch.forEach(write -> {
+            reportOperations.upsert(byBootcampId(write.report.bootcampId()), delegate.toReplaceUpdate(write.report));
+            delegate.appendEnrollmentReplacement(bucketOperations, write.report.bootcampId(), write.report.enrolledUsers());
+            delegate.appendMembershipReplacement(memberOperations, write.report.bootcampId(), write.report.enrolledUsers());
+        });
+        List<Long> bootcampIds = batch.stream().map(write -> write.report.bootcampId()).toList();
+
+        return reportOperations.execute()
+                .doOnNext(result -> log.debug("Bulk wrote {} report upserts: {} inserted, {} modified",
+                        batch.size(), result.getUpserts().size(), result.getModifiedCount()))
+                .then(bucketOperations.execute())
+                .then(memberOperations.execute())
+                .thenMany(reactiveMongoTemplate.find(Query.query(Criteria.where(BOOTCAMP_ID).in(bootcampIds)), BootcampReportEntity.class))
+                .collectMap(BootcampReportEntity::getBootcampId, bootcampReportMapper::toDomain)
+                .doOnNext(saved -> batch.forEach(write -> write.complete(saved.get(write.report.bootcampId()))))
+                .then()
+                .onErrorResume(error -> {
+                    // Un fallo en el bulk no debe arrastrar a todo el lote: cada escritura se reintenta de forma individual
+                    log.warn("Bulk write of {} report upserts failed, retrying them individually", batch.size(), error);
+                    return Flux.fromIterable(batch)
+                            .flatMap(write -> delegate.save(write.report)
+                                    .contextWrite(RequestDeadline.until(write.deadline))
+                                    .doOnNext(write::complete)
+                                    .doOnError(write::fail)
+                                    .onErrorResume(saveError -> Mono.empty()))
+                            .then();
+                });
+    }
+
+    private Mono<Void> awaitPendingWrite(Long bootcampId) {
+        return Mono.defer(() -> {
+            PendingWrite write;
+            synchronized (lock) {
+                write = pending.get(bootcampId);
+                if (write == null) {
+                    write = flushing.get(bootcampId);
+                }
+            }
+            return write == null ? Mono.<Void>empty() : RequestDeadline.bound(write.result.asMono().onErrorComplete().then());
+        });
+    }
+
+    private Query byBootcampId(Long bootcampId) {
+        return Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId));
+    }
+
+    private double pendingWrites() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Último reporte pendiente de un bootcamp, el plazo más lejano de quienes lo esperan (null: sin plazo)
+     * y el resultado compartido por todos ellos
+     */
+    private static final class PendingWrite {
+        private BootcampReport report;
+        private RequestDeadline deadline;
+        private final Sinks.One<BootcampReport> result = Sinks.one();
+
+        private PendingWrite(BootcampReport report, RequestDeadline deadline) {
+            this.report = report;
+            this.deadline = deadline;
+        }
+
+        private boolean isExpired() {
+            return deadline != null && deadline.isExpired();
+        }
+
+        private void complete(BootcampReport saved) {
+            if (saved == null) {
+                fail(new TechnicalException(TechnicalMessage.DATABASE_ERROR));
+                return;
+            }
+            result.tryEmitValue(saved.toBuilder()
+                    .enrolledUsers(report.enrolledUsers() == null ? List.of() : report.enrolledUsers())
+                    .build());
+        }
+
+        private void fail(Throwable error) {
+            result.tryEmitError(error);
+        }
+    }
+}
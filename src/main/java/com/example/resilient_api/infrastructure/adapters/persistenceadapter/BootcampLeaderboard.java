@@ -0,0 +1,97 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.BootcampRanking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Índice en memoria de los bootcamps ordenados por cantidad de inscritos (desc) y bootcampId (asc).
+ * Las lecturas recorren el conjunto ordenado sin bloqueo; las escrituras de un mismo bootcamp se serializan
+ * sobre el mapa para que el conjunto tenga siempre una única entrada por bootcamp.
+ * Mientras un bootcamp cambia de posición, un lector concurrente puede no verlo durante ese instante.
+ */
+public class BootcampLeaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::enrolledUsersCount).reversed()
+            .thenComparing(Entry::bootcampId);
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Inserta o reemplaza la posición del bootcamp
+     */
+    public void put(Long bootcampId, String bootcampName, Integer enrolledUsersCount) {
+        entries.compute(bootcampId, (id, previous) -> move(previous, new Entry(id, bootcampName, countOf(enrolledUsersCount))));
+    }
+
+    /**
+     * Inserta el bootcamp solo si el índice aún no lo conoce; una escritura más reciente ya aplicada prevalece
+     */
+    public void putIfAbsent(Long bootcampId, String bootcampName, Integer enrolledUsersCount) {
+        entries.computeIfAbsent(bootcampId, id -> move(null, new Entry(id, bootcampName, countOf(enrolledUsersCount))));
+    }
+
+    /**
+     * Reemplaza la cantidad de inscritos de un bootcamp ya indexado; si aún no lo está, no hace nada
+     */
+    public void updateCount(Long bootcampId, int enrolledUsersCount) {
+        entries.computeIfPresent(bootcampId, (id, previous) ->
+                move(previous, new Entry(id, previous.bootcampName(), enrolledUsersCount)));
+    }
+
+    /**
+     * Suma el delta a la cantidad de inscritos de un bootcamp ya indexado; si aún no lo está, no hace nada
+     */
+    public void adjustCount(Long bootcampId, int delta) {
+        entries.computeIfPresent(bootcampId, (id, previous) ->
+                move(previous, new Entry(id, previous.bootcampName(), Math.max(0, previous.enrolledUsersCount() + delta))));
+    }
+
+    /**
+     * Devuelve las posiciones [offset, offset + limit) del ranking
+     */
+    public List<BootcampRanking> page(int offset, int limit) {
+        List<BootcampRanking> page = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<Entry> iterator = ranking.iterator();
+        int position = 0;
+        while (iterator.hasNext() && page.size() < limit) {
+            Entry entry = iterator.next();
+            if (position >= offset) {
+                page.add(BootcampRanking.builder()
+                        .rank(position + 1)
+                        .bootcampId(entry.bootcampId())
+                        .bootcampName(entry.bootcampName())
+                        .enrolledUsersCount(entry.enrolledUsersCount())
+                        .build());
+            }
+            position++;
+        }
+        return page;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private Entry move(Entry previous, Entry next) {
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        ranking.add(next);
+        return next;
+    }
+
+    private static int countOf(Integer enrolledUsersCount) {
+        return enrolledUsersCount == null ? 0 : enrolledUsersCount;
+    }
+
+    private record Entry(Long bootcampId, String bootcampName, int enrolledUsersCount) {
+    }
+}
@@ -1,38 +1,114 @@
 package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
 
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.BootcampRanking;
 import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
 import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampReportEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentBucketEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentMemberEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.UserEnrollmentEntity;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampReportMapper;
 import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampReportRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.EnrollmentBucketRepository;
+import com.mongodb.client.result.UpdateResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Las lecturas se acotan al plazo de la operación en curso (RequestDeadline) y se cancelan al vencer;
+ * las escrituras no empiezan con el plazo vencido, pero una vez iniciadas terminan
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class BootcampReportPersistenceAdapter implements BootcampReportPersistencePort {
 
+    private static final String BOOTCAMP_ID = "bootcampId";
+    private static final String BOOTCAMP_NAME = "bootcampName";
+    private static final String LEGACY_ENROLLED_USERS = "enrolledUsers";
+    private static final String REPORTS_COLLECTION = "bootcamp_reports";
+    private static final String USER_NAME = "userName";
+    private static final String USER_EMAIL = "userEmail";
+    private static final String BUCKET = "bucket";
+    private static final String BUCKET_COUNT = "count";
+    private static final String BUCKET_USERS = "users";
+    private static final String BUCKET_USER_ID = "users.userId";
+    private static final String USER_ID = "userId";
+    private static final String ENROLLED_AT = "enrolledAt";
+    private static final String ENROLLED_USERS_COUNT = "enrolledUsersCount";
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String CREATED_AT = "createdAt";
+    private static final String VERSION = "version";
+    private static final String ID = "_id";
+
     private final BootcampReportRepository bootcampReportRepository;
+    private final EnrollmentBucketRepository enrollmentBucketRepository;
     private final BootcampReportMapper bootcampReportMapper;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final int enrollmentBucketSize;
 
+    // Bootcamps cuyo reporte ya no tiene la lista de usuarios embebida; se revisa una sola vez por instancia
+    private final Set<Long> migratedBootcamps = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Inserta o reemplaza el resumen del reporte en un único findAndModify con upsert y luego
+     * reescribe sus buckets de inscripción y sus pertenencias, cada uno en un único bulk write.
+     * Si el reporte trae versión, solo se aplica cuando la versión almacenada coincide (bloqueo optimista).
+     */
     @Override
     public Mono<BootcampReport> save(BootcampReport bootcampReport) {
         log.debug("Saving bootcamp report for bootcampId: {}", bootcampReport.bootcampId());
 
-        return bootcampReportRepository.findByBootcampId(bootcampReport.bootcampId())
-                .flatMap(existing -> {
-                    // Actualizar reporte existente manteniendo el ID de MongoDB
-                    var updated = bootcampReportMapper.toEntity(bootcampReport).toBuilder()
-                            .id(existing.getId())
-                            .build();
-                    return bootcampReportRepository.save(updated);
+        boolean versioned = bootcampReport.version() != null;
+        Query query = Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampReport.bootcampId()));
+        if (versioned) {
+            query.addCriteria(Criteria.where(VERSION).is(bootcampReport.version()));
+        }
+        FindAndModifyOptions options = FindAndModifyOptions.options()
+                .upsert(!versioned)
+                .returnNew(true);
+
+        return RequestDeadline.requireRemaining(Mono.defer(() -> reactiveMongoTemplate.findAndModify(query, toReplaceUpdate(bootcampReport), options, BootcampReportEntity.class)))
+                // Dos upserts simultáneos sobre un bootcamp nuevo: el perdedor reintenta y actualiza el documento ya insertado
+                .retryWhen(Retry.max(1).filter(DuplicateKeyException.class::isInstance))
+                .switchIfEmpty(Mono.error(() -> new BusinessException(TechnicalMessage.REPORT_VERSION_CONFLICT)))
+                .flatMap(saved -> {
+                    ReactiveBulkOperations bucketOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentBucketEntity.class);
+                    appendEnrollmentReplacement(bucketOperations, bootcampReport.bootcampId(), bootcampReport.enrolledUsers());
+                    ReactiveBulkOperations memberOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentMemberEntity.class);
+                    appendMembershipReplacement(memberOperations, bootcampReport.bootcampId(), bootcampReport.enrolledUsers());
+                    return bucketOperations.execute()
+                            .then(memberOperations.execute())
+                            .thenReturn(saved);
                 })
-                .switchIfEmpty(
-                    // Crear nuevo reporte
-                    Mono.defer(() -> bootcampReportRepository.save(bootcampReportMapper.toEntity(bootcampReport)))
-                )
-                .map(bootcampReportMapper::toDomain)
-                .doOnSuccess(saved -> log.debug("Bootcamp report saved successfully with id: {}", saved.id()))
+                .doOnNext(saved -> migratedBootcamps.add(bootcampReport.bootcampId()))
+                .map(saved -> bootcampReportMapper.toDomain(saved).toBuilder()
+                        .enrolledUsers(bootcampReport.enrolledUsers() == null ? List.of() : bootcampReport.enrolledUsers())
+                        .build())
+                .doOnSuccess(saved -> log.debug("Bootcamp report saved successfully with id: {} and version: {}", saved.id(), saved.version()))
                 .doOnError(error -> log.error("Error saving bootcamp report", error));
     }
 
@@ -40,7 +116,7 @@ public class BootcampReportPersistenceAdapter implements BootcampReportPersisten
     public Mono<BootcampReport> findByBootcampId(Long bootcampId) {
         log.debug("Finding bootcamp report by bootcampId: {}", bootcampId);
 
-        return bootcampReportRepository.findByBootcampId(bootcampId)
+        return RequestDeadline.bound(bootcampReportRepository.findByBootcampId(bootcampId))
                 .map(bootcampReportMapper::toDomain)
                 .doOnSuccess(found -> {
                     if (found != null) {
@@ -55,7 +131,7 @@ public class BootcampReportPersistenceAdapter implements BootcampReportPersisten
     public Mono<BootcampReport> findMostPopularBootcamp() {
         log.debug("Finding most popular bootcamp");
 
-        return bootcampReportRepository.findFirstByOrderByEnrolledUsersCountDesc()
+        return RequestDeadline.bound(bootcampReportRepository.findFirstByOrderByEnrolledUsersCountDesc())
                 .map(bootcampReportMapper::toDomain)
                 .doOnSuccess(found -> {
                     if (found != null) {
@@ -67,18 +143,285 @@ public class BootcampReportPersistenceAdapter implements BootcampReportPersisten
                 });
     }
 
+    /**
+     * Ordena los reportes por cantidad de inscritos (desc) y bootcampId (asc) en Mongo, leyendo solo los campos del ranking
+     */
+    @Override
+    public Flux<BootcampRanking> findRanking(int offset, int limit) {
+        log.debug("Finding bootcamp ranking with offset: {} and limit: {}", offset, limit);
+
+        Query query = new Query()
+                .with(Sort.by(Sort.Order.desc(ENROLLED_USERS_COUNT), Sort.Order.asc(BOOTCAMP_ID)))
+                .skip(offset)
+                .limit(limit);
+        query.fields().include(BOOTCAMP_ID, BOOTCAMP_NAME, ENROLLED_USERS_COUNT);
+
+        return RequestDeadline.bound(reactiveMongoTemplate.find(query, BootcampReportEntity.class))
+                .index()
+                .map(indexed -> BootcampRanking.builder()
+                        .rank(offset + indexed.getT1().intValue() + 1)
+                        .bootcampId(indexed.getT2().getBootcampId())
+                        .bootcampName(indexed.getT2().getBootcampName())
+                        .enrolledUsersCount(indexed.getT2().getEnrolledUsersCount())
+                        .build());
+    }
+
     @Override
     public Mono<Void> updateEnrollmentCount(Long bootcampId, Integer newCount) {
         log.debug("Updating enrollment count for bootcampId: {} to {}", bootcampId, newCount);
 
-        return bootcampReportRepository.findByBootcampId(bootcampId)
-                .flatMap(entity -> {
-                    entity.setEnrolledUsersCount(newCount);
-                    entity.setUpdatedAt(java.time.LocalDateTime.now());
-                    return bootcampReportRepository.save(entity);
-                })
+        Query query = Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId)
+                .and(ENROLLED_USERS_COUNT).ne(newCount));
+        Update update = new Update()
+                .set(ENROLLED_USERS_COUNT, newCount)
+                .set(UPDATED_AT, LocalDateTime.now())
+                .inc(VERSION, 1);
+
+        return RequestDeadline.requireRemaining(reactiveMongoTemplate.updateFirst(query, update, BootcampReportEntity.class))
                 .then()
                 .doOnSuccess(v -> log.debug("Updated enrollment count successfully"))
                 .doOnError(error -> log.error("Error updating enrollment count", error));
     }
+
+    @Override
+    public Flux<UserEnrollment> findEnrolledUsers(Long bootcampId) {
+        log.debug("Streaming enrolled users for bootcampId: {}", bootcampId);
+
+        return migrateLegacyEnrollments(bootcampId)
+                .thenMany(RequestDeadline.bound(enrollmentBucketRepository.findByBootcampIdOrderByBucketAsc(bootcampId)))
+                .concatMapIterable(bucket -> bucket.getUsers() == null ? List.of() : bucket.getUsers())
+                .map(bootcampReportMapper::toUserEnrollment);
+    }
+
+    /**
+     * Solo el llamador que inserta la pertenencia {bootcampId, userId} agrega el usuario a un bucket e incrementa el
+     * contador; una inscripción simultánea del mismo usuario choca con el índice único y no cambia nada
+     */
+    @Override
+    public Mono<EnrollmentChange> addEnrolledUser(Long bootcampId, UserEnrollment user) {
+        log.debug("Adding user {} to bootcamp report {}", user.userId(), bootcampId);
+
+        Mono<Boolean> reportExists = reactiveMongoTemplate.exists(byBootcampId(bootcampId), BootcampReportEntity.class);
+        Mono<Boolean> alreadyEnrolled = reactiveMongoTemplate.exists(
+                Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(BUCKET_USER_ID).is(user.userId())),
+                EnrollmentBucketEntity.class);
+
+        return migrateLegacyEnrollments(bootcampId)
+                .then(RequestDeadline.bound(Mono.zip(reportExists, alreadyEnrolled)))
+                .flatMap(state -> {
+                    if (!state.getT1()) {
+                        return Mono.just(EnrollmentChange.REPORT_NOT_FOUND);
+                    }
+                    if (state.getT2()) {
+                        return Mono.just(EnrollmentChange.UNCHANGED);
+                    }
+                    return claimMembership(bootcampId, user.userId())
+                            .flatMap(claimed -> claimed
+                                    ? pushIntoBucket(bootcampId, bootcampReportMapper.toUserEnrollmentEntity(user))
+                                            .then(incrementEnrolledUsersCount(bootcampId, 1))
+                                            .thenReturn(EnrollmentChange.APPLIED)
+                                            // Sin bucket la pertenencia no vale: se libera para que un reintento pueda inscribirlo
+                                            .onErrorResume(error -> releaseMembership(bootcampId, user.userId()).then(Mono.error(error)))
+                                    : Mono.just(EnrollmentChange.UNCHANGED));
+                })
+                .doOnSuccess(change -> log.debug("Add user {} to bootcamp report {} resulted in {}", user.userId(), bootcampId, change))
+                .doOnError(error -> log.error("Error adding user to bootcamp report", error));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> removeEnrolledUser(Long bootcampId, Long userId) {
+        log.debug("Removing user {} from bootcamp report {}", userId, bootcampId);
+
+        // Solo quita y decrementa si el usuario estaba en algún bucket; el hueco se reutiliza en la siguiente inscripción.
+        // La pertenencia garantiza que está en un único bucket, así que de dos bajas simultáneas solo una lo quita
+        Query query = Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(BUCKET_USER_ID).is(userId));
+        Update update = new Update()
+                .pull(BUCKET_USERS, Query.query(Criteria.where(USER_ID).is(userId)).getQueryObject())
+                .inc(BUCKET_COUNT, -1)
+                .set(UPDATED_AT, LocalDateTime.now());
+
+        return migrateLegacyEnrollments(bootcampId)
+                .then(RequestDeadline.requireRemaining(Mono.defer(() -> releaseMembership(bootcampId, userId)
+                        .then(reactiveMongoTemplate.updateFirst(query, update, EnrollmentBucketEntity.class)))))
+                .flatMap(result -> result.getModifiedCount() > 0
+                        ? incrementEnrolledUsersCount(bootcampId, -1).thenReturn(EnrollmentChange.APPLIED)
+                        : reactiveMongoTemplate.exists(byBootcampId(bootcampId), BootcampReportEntity.class)
+                                .map(exists -> exists ? EnrollmentChange.UNCHANGED : EnrollmentChange.REPORT_NOT_FOUND))
+                .doOnSuccess(change -> log.debug("Remove user {} from bootcamp report {} resulted in {}", userId, bootcampId, change))
+                .doOnError(error -> log.error("Error removing user from bootcamp report", error));
+    }
+
+    /**
+     * Agrega al bulk las operaciones que reescriben los buckets del bootcamp con la lista de usuarios indicada
+     * y eliminan los buckets sobrantes
+     */
+    void appendEnrollmentReplacement(ReactiveBulkOperations bucketOperations, Long bootcampId, List<UserEnrollment> users) {
+        List<UserEnrollmentEntity> entities = bootcampReportMapper.toUserEnrollmentEntities(users);
+        LocalDateTime now = LocalDateTime.now();
+        int buckets = (entities.size() + enrollmentBucketSize - 1) / enrollmentBucketSize;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            List<UserEnrollmentEntity> chunk = entities.subList(bucket * enrollmentBucketSize,
+                    Math.min(entities.size(), (bucket + 1) * enrollmentBucketSize));
+            bucketOperations.upsert(byBucket(bootcampId, bucket), new Update()
+                    .set(BUCKET_USERS, chunk)
+                    .set(BUCKET_COUNT, chunk.size())
+                    .set(UPDATED_AT, now));
+        }
+        bucketOperations.remove(Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(BUCKET).gte(buckets)));
+    }
+
+    /**
+     * Agrega al bulk las operaciones que dejan como pertenencias del bootcamp exactamente los usuarios indicados
+     */
+    void appendMembershipReplacement(ReactiveBulkOperations memberOperations, Long bootcampId, List<UserEnrollment> users) {
+        List<Long> userIds = users == null ? List.of() : users.stream().map(UserEnrollment::userId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        userIds.forEach(userId -> memberOperations.upsert(byMember(bootcampId, userId), new Update().setOnInsert(ENROLLED_AT, now)));
+        memberOperations.remove(Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(USER_ID).nin(userIds)));
+    }
+
+    /**
+     * Mueve la lista de usuarios embebida de un reporte anterior a los buckets de inscripción a buckets y pertenencias,
+     * y luego la elimina del reporte dejando el contador igual al tamaño de la lista. Es idempotente: si dos llamadores
+     * migran a la vez ambos escriben los mismos buckets y solo uno encuentra todavía la lista para eliminarla.
+     */
+    private Mono<Void> migrateLegacyEnrollments(Long bootcampId) {
+        Query legacyReport = Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(LEGACY_ENROLLED_USERS).exists(true));
+
+        return Mono.defer(() -> migratedBootcamps.contains(bootcampId)
+                ? Mono.empty()
+                : RequestDeadline.bound(reactiveMongoTemplate.findOne(legacyReport, Document.class, REPORTS_COLLECTION))
+                        .flatMap(legacy -> {
+                            List<UserEnrollment> users = toLegacyUsers(legacy);
+                            ReactiveBulkOperations bucketOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentBucketEntity.class);
+                            appendEnrollmentReplacement(bucketOperations, bootcampId, users);
+                            ReactiveBulkOperations memberOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentMemberEntity.class);
+                            appendMembershipReplacement(memberOperations, bootcampId, users);
+                            Update dropLegacy = new Update()
+                                    .unset(LEGACY_ENROLLED_USERS)
+                                    .set(ENROLLED_USERS_COUNT, users.size())
+                                    .inc(VERSION, 1);
+
+                            return RequestDeadline.requireRemaining(Mono.defer(() -> bucketOperations.execute()
+                                            .then(memberOperations.execute())
+                                            .then(reactiveMongoTemplate.updateFirst(legacyReport, dropLegacy, BootcampReportEntity.class))))
+                                    .doOnSuccess(result -> log.info("Migrated {} legacy enrolled users of bootcampId: {} into enrollment buckets",
+                                            users.size(), bootcampId));
+                        })
+                        .doOnSuccess(result -> migratedBootcamps.add(bootcampId))
+                        .then());
+    }
+
+    private List<UserEnrollment> toLegacyUsers(Document legacyReport) {
+        List<Document> users = legacyReport.getList(LEGACY_ENROLLED_USERS, Document.class, List.of());
+        Set<Long> seen = new HashSet<>();
+        return users.stream()
+                .filter(user -> user.get(USER_ID) instanceof Number)
+                .map(user -> UserEnrollment.builder()
+                        .userId(user.get(USER_ID, Number.class).longValue())
+                        .userName(user.getString(USER_NAME))
+                        .userEmail(user.getString(USER_EMAIL))
+                        .build())
+                .filter(user -> seen.add(user.userId()))
+                .toList();
+    }
+
+    /**
+     * Inserta la pertenencia del usuario; emite false si ya existía
+     */
+    private Mono<Boolean> claimMembership(Long bootcampId, Long userId) {
+        return reactiveMongoTemplate.insert(EnrollmentMemberEntity.builder()
+                        .bootcampId(bootcampId)
+                        .userId(userId)
+                        .enrolledAt(LocalDateTime.now())
+                        .build())
+                .thenReturn(true)
+                .onErrorResume(DuplicateKeyException.class, error -> Mono.just(false));
+    }
+
+    private Mono<Void> releaseMembership(Long bootcampId, Long userId) {
+        return reactiveMongoTemplate.remove(byMember(bootcampId, userId), EnrollmentMemberEntity.class).then();
+    }
+
+    /**
+     * Inserta el usuario en el primer bucket del bootcamp con espacio libre, o abre uno nuevo si todos están llenos
+     */
+    private Mono<Void> pushIntoBucket(Long bootcampId, UserEnrollmentEntity user) {
+        Query openBucket = Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId)
+                        .and(BUCKET_COUNT).lt(enrollmentBucketSize)
+                        .and(BUCKET_USER_ID).ne(user.getUserId()))
+                .with(Sort.by(Sort.Direction.ASC, BUCKET));
+        Update push = new Update()
+                .push(BUCKET_USERS, user)
+                .inc(BUCKET_COUNT, 1)
+                .set(UPDATED_AT, LocalDateTime.now());
+
+        return Mono.defer(() -> reactiveMongoTemplate.findAndModify(openBucket, push, EnrollmentBucketEntity.class)
+                        .switchIfEmpty(Mono.defer(() -> openNewBucket(bootcampId, user))))
+                // Otro llamador abrió el mismo bucket a la vez: se reintenta sobre el bucket recién abierto
+                .retryWhen(Retry.max(3).filter(DuplicateKeyException.class::isInstance))
+                .then();
+    }
+
+    private Mono<EnrollmentBucketEntity> openNewBucket(Long bootcampId, UserEnrollmentEntity user) {
+        Query lastBucket = Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId))
+                .with(Sort.by(Sort.Direction.DESC, BUCKET))
+                .limit(1);
+
+        return reactiveMongoTemplate.findOne(lastBucket, EnrollmentBucketEntity.class)
+                .map(bucket -> bucket.getBucket() + 1)
+                .defaultIfEmpty(0)
+                .flatMap(next -> reactiveMongoTemplate.insert(EnrollmentBucketEntity.builder()
+                        .bootcampId(bootcampId)
+                        .bucket(next)
+                        .count(1)
+                        .users(List.of(user))
+                        .updatedAt(LocalDateTime.now())
+                        .build()));
+    }
+
+    private Mono<UpdateResult> incrementEnrolledUsersCount(Long bootcampId, int delta) {
+        return reactiveMongoTemplate.updateFirst(byBootcampId(bootcampId), new Update()
+                .inc(ENROLLED_USERS_COUNT, delta)
+                .set(UPDATED_AT, LocalDateTime.now())
+                .inc(VERSION, 1), BootcampReportEntity.class);
+    }
+
+    private Query byBootcampId(Long bootcampId) {
+        return Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId));
+    }
+
+    private Query byMember(Long bootcampId, Long userId) {
+        return Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(USER_ID).is(userId));
+    }
+
+    private Query byBucket(Long bootcampId, int bucket) {
+        return Query.query(Criteria.where(BOOTCAMP_ID).is(bootcampId).and(BUCKET).is(bucket));
+    }
+
+    /**
+     * Construye el update que reemplaza todos los campos del resumen del reporte salvo el _id, la fecha de creación y la versión.
+     * Conserva el updatedAt que trae el reporte (el de sus usuarios); sin él usa el momento de la escritura.
+     * Elimina la lista de usuarios embebida que tenían los reportes anteriores a los buckets de inscripción.
+     */
+    Update toReplaceUpdate(BootcampReport bootcampReport) {
+        LocalDateTime now = LocalDateTime.now();
+        BootcampReportEntity entity = bootcampReportMapper.toEntity(bootcampReport).toBuilder()
+                .id(null)
+                .createdAt(null)
+                .version(null)
+                .updatedAt(bootcampReport.updatedAt() != null ? bootcampReport.updatedAt() : now)
+                .build();
+
+        Document document = new Document();
+        reactiveMongoTemplate.getConverter().write(entity, document);
+        document.remove(ID);
+
+        Update update = new Update();
+        document.forEach(update::set);
+        return update
+                .unset(LEGACY_ENROLLED_USERS)
+                .setOnInsert(CREATED_AT, bootcampReport.createdAt() != null ? bootcampReport.createdAt() : now)
+                .inc(VERSION, 1);
+    }
 }
@@ -0,0 +1,174 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantiene el ranking de bootcamps en memoria delante de la persistencia.
+ * Cada guardado, actualización de contador o delta de inscripción aplicado actualiza el índice; al iniciar
+ * la aplicación se reconstruye desde Mongo y, hasta que termina, el ranking se sigue ordenando en Mongo.
+ * Los contadores que cambian durante la reconstrucción se releen de Mongo al terminarla: el índice puede no
+ * conocer aún ese bootcamp, o haberlo cargado con un valor que ya incluía el cambio.
+ */
+@Slf4j
+public class LeaderboardBootcampReportPersistenceAdapter implements BootcampReportPersistencePort, AutoCloseable {
+
+    private final BootcampReportPersistencePort delegate;
+    private final BootcampLeaderboard leaderboard;
+    private final Set<Long> changedDuringRebuild = new HashSet<>();
+    private volatile boolean ready;
+
+    private final Counter memoryReadCounter;
+    private final Counter databaseReadCounter;
+
+    public LeaderboardBootcampReportPersistenceAdapter(BootcampReportPersistencePort delegate,
+                                                       BootcampLeaderboard leaderboard,
+                                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.leaderboard = leaderboard;
+
+        this.memoryReadCounter = reads(meterRegistry, "memory");
+        this.databaseReadCounter = reads(meterRegistry, "database");
+        Gauge.builder("report.leaderboard.size", leaderboard, BootcampLeaderboard::size)
+                .description("Bootcamps indexed in the in-memory leaderboard")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Carga en el índice todos los reportes almacenados; los guardados aplicados mientras tanto no se pisan y los
+     * bootcamps cuyo contador cambió mientras tanto se releen, una vez antes de servir desde memoria y otra al hacerlo
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.nanoTime();
+        delegate.findRanking(0, Integer.MAX_VALUE)
+                .doOnNext(entry -> leaderboard.putIfAbsent(entry.bootcampId(), entry.bootcampName(), entry.enrolledUsersCount()))
+                .then(Mono.defer(() -> refreshChanged(false)))
+                .then(Mono.defer(() -> refreshChanged(true)))
+                .subscribe(
+                        null,
+                        error -> log.error("Error rebuilding bootcamp leaderboard, ranking will keep being served from the database", error),
+                        () -> log.info("Bootcamp leaderboard rebuilt with {} bootcamps in {} ms",
+                                leaderboard.size(), (System.nanoTime() - startedAt) / 1_000_000));
+    }
+
+    @Override
+    public Flux<BootcampRanking> findRanking(int offset, int limit) {
+        if (!ready) {
+            databaseReadCounter.increment();
+            return delegate.findRanking(offset, limit);
+        }
+        return Flux.defer(() -> {
+            memoryReadCounter.increment();
+            return Flux.fromIterable(leaderboard.page(offset, limit));
+        });
+    }
+
+    @Override
+    public Mono<BootcampReport> save(BootcampReport bootcampReport) {
+        return delegate.save(bootcampReport)
+                .doOnNext(saved -> leaderboard.put(saved.bootcampId(), saved.bootcampName(), saved.enrolledUsersCount()));
+    }
+
+    @Override
+    public Mono<BootcampReport> findByBootcampId(Long bootcampId) {
+        return delegate.findByBootcampId(bootcampId);
+    }
+
+    @Override
+    public Mono<BootcampReport> findMostPopularBootcamp() {
+        return delegate.findMostPopularBootcamp();
+    }
+
+    @Override
+    public Mono<Void> updateEnrollmentCount(Long bootcampId, Integer newCount) {
+        return delegate.updateEnrollmentCount(bootcampId, newCount)
+                .doOnSuccess(done -> {
+                    leaderboard.updateCount(bootcampId, newCount);
+                    trackDuringRebuild(bootcampId);
+                });
+    }
+
+    @Override
+    public Flux<UserEnrollment> findEnrolledUsers(Long bootcampId) {
+        return delegate.findEnrolledUsers(bootcampId);
+    }
+
+    @Override
+    public Mono<EnrollmentChange> addEnrolledUser(Long bootcampId, UserEnrollment user) {
+        return delegate.addEnrolledUser(bootcampId, user)
+                .doOnNext(change -> adjustOnChange(change, bootcampId, 1));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> removeEnrolledUser(Long bootcampId, Long userId) {
+        return delegate.removeEnrolledUser(bootcampId, userId)
+                .doOnNext(change -> adjustOnChange(change, bootcampId, -1));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void adjustOnChange(EnrollmentChange change, Long bootcampId, int delta) {
+        if (change == EnrollmentChange.APPLIED) {
+            leaderboard.adjustCount(bootcampId, delta);
+            trackDuringRebuild(bootcampId);
+        }
+    }
+
+    private void trackDuringRebuild(Long bootcampId) {
+        if (ready) {
+            return;
+        }
+        synchronized (changedDuringRebuild) {
+            if (!ready) {
+                changedDuringRebuild.add(bootcampId);
+            }
+        }
+    }
+
+    /**
+     * Relee de Mongo los bootcamps cuyo contador cambió durante la reconstrucción; con markReady el ranking pasa a
+     * servirse desde memoria en el mismo paso en que se toman los últimos cambiados
+     */
+    private Mono<Void> refreshChanged(boolean markReady) {
+        List<Long> changed;
+        synchronized (changedDuringRebuild) {
+            changed = List.copyOf(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            if (markReady) {
+                ready = true;
+            }
+        }
+        return Flux.fromIterable(changed)
+                .flatMap(delegate::findByBootcampId)
+                .doOnNext(report -> leaderboard.put(report.bootcampId(), report.bootcampName(), report.enrolledUsersCount()))
+                .then();
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("report.leaderboard.reads")
+                .description("Ranking reads by source")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
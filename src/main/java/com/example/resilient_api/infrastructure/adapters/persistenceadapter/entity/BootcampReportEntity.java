@@ -35,11 +35,12 @@ public class BootcampReportEntity {
     @Indexed
     private Integer enrolledUsersCount;
 
-    private List<UserEnrollmentEntity> enrolledUsers;
     private List<CapacityDetailEntity> capacities;
 
     @Indexed
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
+
+    private Long version;
 }
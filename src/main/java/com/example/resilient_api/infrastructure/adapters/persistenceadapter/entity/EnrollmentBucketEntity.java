@@ -0,0 +1,38 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bucket de tamaño fijo con los usuarios inscritos de un bootcamp (bucket pattern).
+ * Los buckets de un bootcamp se numeran desde 0 y se llenan en orden.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "bootcamp_enrollment_buckets")
+@CompoundIndexes({
+        @CompoundIndex(name = "bootcamp_bucket", def = "{'bootcampId': 1, 'bucket': 1}", unique = true),
+        @CompoundIndex(name = "bootcamp_user", def = "{'bootcampId': 1, 'users.userId': 1}")
+})
+public class EnrollmentBucketEntity {
+
+    @Id
+    private String id;
+
+    private Long bootcampId;
+    private Integer bucket;
+    private Integer count;
+    private List<UserEnrollmentEntity> users;
+    private LocalDateTime updatedAt;
+}
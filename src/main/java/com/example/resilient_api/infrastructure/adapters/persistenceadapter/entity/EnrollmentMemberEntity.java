@@ -0,0 +1,31 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pertenencia de un usuario a un bootcamp. El índice único sobre {bootcampId, userId} garantiza que un usuario
+ * entre una sola vez a los buckets de inscripción aunque lleguen dos inscripciones a la vez.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "bootcamp_enrollment_members")
+@CompoundIndex(name = "bootcamp_user", def = "{'bootcampId': 1, 'userId': 1}", unique = true)
+public class EnrollmentMemberEntity {
+
+    @Id
+    private String id;
+
+    private Long bootcampId;
+    private Long userId;
+    private LocalDateTime enrolledAt;
+}
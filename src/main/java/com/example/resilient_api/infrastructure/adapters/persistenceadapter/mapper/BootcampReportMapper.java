@@ -31,10 +31,10 @@ public class BootcampReportMapper {
                 .capacityCount(bootcampReport.capacityCount())
                 .technologyCount(bootcampReport.technologyCount())
                 .enrolledUsersCount(bootcampReport.enrolledUsersCount())
-                .enrolledUsers(toUserEnrollmentEntities(bootcampReport.enrolledUsers()))
                 .capacities(toCapacityDetailEntities(bootcampReport.capacities()))
                 .createdAt(bootcampReport.createdAt())
                 .updatedAt(bootcampReport.updatedAt())
+                .version(bootcampReport.version())
                 .build();
     }
 
@@ -53,37 +53,37 @@ public class BootcampReportMapper {
                 .capacityCount(entity.getCapacityCount())
                 .technologyCount(entity.getTechnologyCount())
                 .enrolledUsersCount(entity.getEnrolledUsersCount())
-                .enrolledUsers(toUserEnrollments(entity.getEnrolledUsers()))
+                .enrolledUsers(List.of()) // Los usuarios viven en los buckets de inscripción y se cargan bajo demanda
                 .capacities(toCapacityDetails(entity.getCapacities()))
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
 
-    private List<UserEnrollmentEntity> toUserEnrollmentEntities(List<UserEnrollment> users) {
+    public UserEnrollmentEntity toUserEnrollmentEntity(UserEnrollment user) {
+        return UserEnrollmentEntity.builder()
+                .userId(user.userId())
+                .userName(user.userName())
+                .userEmail(user.userEmail())
+                .build();
+    }
+
+    public List<UserEnrollmentEntity> toUserEnrollmentEntities(List<UserEnrollment> users) {
         if (users == null) {
             return List.of();
         }
         return users.stream()
-                .map(user -> UserEnrollmentEntity.builder()
-                        .userId(user.userId())
-                        .userName(user.userName())
-                        .userEmail(user.userEmail())
-                        .build())
+                .map(this::toUserEnrollmentEntity)
                 .collect(Collectors.toList());
     }
 
-    private List<UserEnrollment> toUserEnrollments(List<UserEnrollmentEntity> entities) {
-        if (entities == null) {
-            return List.of();
-        }
-        return entities.stream()
-                .map(entity -> UserEnrollment.builder()
-                        .userId(entity.getUserId())
-                        .userName(entity.getUserName())
-                        .userEmail(entity.getUserEmail())
-                        .build())
-                .collect(Collectors.toList());
+    public UserEnrollment toUserEnrollment(UserEnrollmentEntity entity) {
+        return UserEnrollment.builder()
+                .userId(entity.getUserId())
+                .userName(entity.getUserName())
+                .userEmail(entity.getUserEmail())
+                .build();
     }
 
     private List<CapacityDetailEntity> toCapacityDetailEntities(List<CapacityDetail> capacities) {
@@ -0,0 +1,12 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository;
+
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentBucketEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface EnrollmentBucketRepository extends ReactiveMongoRepository<EnrollmentBucketEntity, String> {
+
+    Flux<EnrollmentBucketEntity> findByBootcampIdOrderByBucketAsc(Long bootcampId);
+}
@@ -0,0 +1,181 @@
+package com.example.resilient_api.infrastructure.adapters.rebuild;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.spi.RebuildLanePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serializa las escrituras de un mismo bootcamp y las ejecuta en el scheduler de reconstrucción.
+ * Cada bootcampId cae por hash en uno de report.rebuild.lanes.stripes carriles y cada carril admite una
+ * escritura a la vez; bootcamps distintos pueden compartir carril y esperarse, más carriles reducen esa espera.
+ * Las reconstrucciones toman el carril solo para el guardado condicionado a la versión, no mientras consultan
+ * los servicios externos; las inscripciones y bajas, solo mientras aplican su delta.
+ * La espera por un carril está acotada (max-wait); vencida, la escritura falla con REBUILD_LANE_BUSY.
+ */
+@Component
+public class ReportRebuildLanes implements RebuildLanePort {
+
+    private final Scheduler rebuildScheduler;
+    private final Duration maxWait;
+    private final Lane[] lanes;
+    private final Timer waitTimer;
+    private final Counter timeoutCounter;
+
+    public ReportRebuildLanes(@Qualifier("reportRebuildScheduler") Scheduler rebuildScheduler,
+                              MeterRegistry meterRegistry,
+                              @Value("${report.rebuild.lanes.stripes:256}") int stripes,
+                              @Value("${report.rebuild.lanes.max-wait:5s}") Duration maxWait) {
+        this.rebuildScheduler = rebuildScheduler;
+        this.maxWait = maxWait;
+        this.lanes = new Lane[stripes];
+        Arrays.setAll(lanes, index -> new Lane());
+
+        this.waitTimer = Timer.builder("report.rebuild.lanes.wait")
+                .description("Time a rebuild waited for its bootcamp lane")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("report.rebuild.lanes.timeouts")
+                .description("Rebuilds that gave up waiting for their bootcamp lane")
+                .register(meterRegistry);
+        Gauge.builder("report.rebuild.lanes.busy", this, ReportRebuildLanes::busyLanes)
+                .description("Lanes currently running a rebuild")
+                .register(meterRegistry);
+        Gauge.builder("report.rebuild.lanes.queued", this, ReportRebuildLanes::queuedRebuilds)
+                .description("Rebuilds waiting for a lane")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> Mono<T> runExclusive(Long bootcampId, Mono<T> work) {
+        return Mono.usingWhen(acquire(lanes[stripeOf(bootcampId)]),
+                permit -> work.subscribeOn(rebuildScheduler),
+                permit -> Mono.fromRunnable(permit::release),
+                (permit, error) -> Mono.fromRunnable(permit::release),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    int stripeOf(Long bootcampId) {
+        return Math.floorMod(Long.hashCode(bootcampId), lanes.length);
+    }
+
+    private Mono<Permit> acquire(Lane lane) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return lane.acquire()
+                    // Al vencer la espera se cancela la adquisición y el lugar en la cola se libera
+                    .timeout(maxWait, Mono.error(() -> {
+                        timeoutCounter.increment();
+                        return new TechnicalException(TechnicalMessage.REBUILD_LANE_BUSY);
+                    }))
+                    .doOnSuccess(permit -> waitTimer.record(Duration.ofNanos(System.nanoTime() - startedAt)));
+        });
+    }
+
+    private double busyLanes() {
+        return Arrays.stream(lanes).filter(Lane::isBusy).count();
+    }
+
+    private double queuedRebuilds() {
+        return Arrays.stream(lanes).mapToInt(Lane::queued).sum();
+    }
+
+    private static final class Lane {
+
+        private boolean busy;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+
+        Mono<Permit> acquire() {
+            return Mono.create(sink -> {
+                Permit granted = null;
+                synchronized (this) {
+                    if (!busy) {
+                        busy = true;
+                        granted = new Permit(this);
+                    } else {
+                        Waiter waiter = new Waiter(sink);
+                        waiters.add(waiter);
+                        sink.onCancel(() -> cancel(waiter));
+                    }
+                }
+                if (granted != null) {
+                    sink.success(granted);
+                }
+            });
+        }
+
+        private void cancel(Waiter waiter) {
+            Permit permit;
+            synchronized (this) {
+                if (waiters.remove(waiter)) {
+                    return;
+                }
+                permit = waiter.permit;
+            }
+            // El carril se otorgó justo antes de la cancelación: se pasa al siguiente
+            if (permit != null) {
+                permit.release();
+            }
+        }
+
+        private void release() {
+            Waiter next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    busy = false;
+                    return;
+                }
+                next.permit = new Permit(this);
+            }
+            next.sink.success(next.permit);
+        }
+
+        synchronized boolean isBusy() {
+            return busy;
+        }
+
+        synchronized int queued() {
+            return waiters.size();
+        }
+    }
+
+    private static final class Permit {
+
+        private final Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Lane lane) {
+            this.lane = lane;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                lane.release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final MonoSink<Permit> sink;
+        private Permit permit;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+}
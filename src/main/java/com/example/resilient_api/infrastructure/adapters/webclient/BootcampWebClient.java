@@ -8,12 +8,14 @@ import com.example.resilient_api.domain.spi.BootcampExternalServicePort;
 import com.example.resilient_api.domain.spi.BootcampInfo;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -24,18 +26,21 @@ import java.util.stream.Collectors;
 public class BootcampWebClient implements BootcampExternalServicePort {
 
     private static final String X_MESSAGE_ID = "X-Message-Id";
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${external.bootcamp.base-url}")
-    private String bootcampBaseUrl;
+    @Qualifier("bootcampServiceWebClient")
+    private final WebClient webClient;
+    private final DownstreamResilience downstreamResilience;
+    @Qualifier("bootcampRequestHedger")
+    private final RequestHedger requestHedger;
+    @Qualifier("reportRebuildScheduler")
+    private final Scheduler rebuildScheduler;
 
     @Override
     public Mono<BootcampInfo> getBootcampById(Long bootcampId, String messageId) {
         log.info("Calling bootcamp service to get bootcamp by id: {} with messageId: {}", bootcampId, messageId);
 
-        return webClientBuilder.build()
+        return downstreamResilience.protect(DownstreamResilience.BOOTCAMP_SERVICE, TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE, webClient
                 .get()
-                .uri(bootcampBaseUrl + "/bootcamp/" + bootcampId)
+                .uri("/bootcamp/{bootcampId}", bootcampId)
                 .header(X_MESSAGE_ID, messageId)
                 .retrieve()
                 .onStatus(status -> status.is5xxServerError(),
@@ -48,7 +53,9 @@ public class BootcampWebClient implements BootcampExternalServicePort {
                             log.error("Bootcamp service returned 4xx error for messageId: {}", messageId);
                             return Mono.error(new TechnicalException(TechnicalMessage.BOOTCAMP_NOT_FOUND));
                         })
-                .bodyToMono(BootcampInfoResponse.class)
+                .bodyToMono(BootcampInfoResponse.class))
+                // La conversión anidada corre en el scheduler de reconstrucción, no en el event loop
+                .publishOn(rebuildScheduler)
                 .map(response -> {
                     // Mapear capacidades completas con tecnologías
                     List<CapacityDetail> capacities = response.getCapacities() != null
@@ -85,10 +92,33 @@ public class BootcampWebClient implements BootcampExternalServicePort {
     public Flux<Long> getUserIdsByBootcampId(Long bootcampId, String messageId) {
         log.info("Calling bootcamp service to get user IDs for bootcamp: {} with messageId: {}", bootcampId, messageId);
 
-        return webClientBuilder.build()
+        return userIdsBody(bootcampId, messageId)
+                .transform(UserIdStreamDecoder::decode)
+                .doOnComplete(() -> log.info("Successfully retrieved user IDs for bootcamp {} with messageId: {}", bootcampId, messageId))
+                .doOnError(error -> log.error("Error retrieving user IDs for bootcamp {} with messageId: {}", bootcampId, messageId, error));
+    }
+
+    @Override
+    public Mono<long[]> collectUserIdsByBootcampId(Long bootcampId, String messageId) {
+        log.info("Calling bootcamp service to collect user IDs for bootcamp: {} with messageId: {}", bootcampId, messageId);
+
+        return userIdsBody(bootcampId, messageId)
+                .as(UserIdStreamDecoder::collect)
+                .doOnSuccess(userIds -> log.info("Successfully collected {} user IDs for bootcamp {} with messageId: {}",
+                        userIds.length, bootcampId, messageId))
+                .doOnError(error -> log.error("Error collecting user IDs for bootcamp {} with messageId: {}", bootcampId, messageId, error));
+    }
+
+    /**
+     * Cuerpo crudo de los IDs inscritos: se prefiere NDJSON y se acepta un arreglo JSON; se decodifica por buffers
+     * Es una lectura idempotente, así que una réplica lenta puede cubrirse con una copia (hedging)
+     */
+    private Flux<DataBuffer> userIdsBody(Long bootcampId, String messageId) {
+        return requestHedger.hedge(() -> downstreamResilience.protect(DownstreamResilience.BOOTCAMP_SERVICE, TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE, webClient
                 .get()
-                .uri(bootcampBaseUrl + "/bootcamp/" + bootcampId + "/users")
+                .uri("/bootcamp/{bootcampId}/users", bootcampId)
                 .header(X_MESSAGE_ID, messageId)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
                 .retrieve()
                 .onStatus(status -> status.is5xxServerError(),
                         response -> {
@@ -100,9 +130,6 @@ public class BootcampWebClient implements BootcampExternalServicePort {
                             log.warn("No users found for bootcamp {} with messageId: {}", bootcampId, messageId);
                             return Mono.empty();
                         })
-                .bodyToMono(new ParameterizedTypeReference<List<Long>>() {})
-                .flatMapMany(Flux::fromIterable)
-                .doOnComplete(() -> log.info("Successfully retrieved user IDs for bootcamp {} with messageId: {}", bootcampId, messageId))
-                .doOnError(error -> log.error("Error retrieving user IDs for bootcamp {} with messageId: {}", bootcampId, messageId, error));
+                .bodyToFlux(DataBuffer.class)));
     }
 }
@@ -7,7 +7,7 @@ import com.example.resilient_api.domain.model.TechnologyDetail;
 import com.example.resilient_api.domain.spi.CapacityExternalServicePort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -22,18 +22,18 @@ import java.util.List;
 public class CapacityWebClient implements CapacityExternalServicePort {
 
     private static final String X_MESSAGE_ID = "X-Message-Id";
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${external.capacity.base-url}")
-    private String capacityBaseUrl;
+    @Qualifier("capacityServiceWebClient")
+    private final WebClient webClient;
+    private final DownstreamResilience downstreamResilience;
 
     @Override
     public Flux<CapacityDetail> getCapacitiesWithTechnologies(List<Long> capacityIds, String messageId) {
         log.info("Calling capacity service to get capacities with technologies with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        // La lista de capacidades es corta: se junta completa para poder reintentar sin repetir elementos
+        return downstreamResilience.protect(DownstreamResilience.CAPACITY_SERVICE, TechnicalMessage.CAPACITY_SERVICE_UNAVAILABLE, webClient
                 .post()
-                .uri(capacityBaseUrl + "/with-technologies")
+                .uri("/with-technologies")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(new CapacityIdsRequest(capacityIds))
                 .retrieve()
@@ -48,6 +48,8 @@ public class CapacityWebClient implements CapacityExternalServicePort {
                             return Mono.error(new TechnicalException(TechnicalMessage.CAPACITY_SERVICE_ERROR));
                         })
                 .bodyToFlux(new ParameterizedTypeReference<CapacitySummaryResponse>() {})
+                .collectList())
+                .flatMapIterable(responses -> responses)
                 .map(response -> CapacityDetail.builder()
                         .capacityId(response.getId())
                         .capacityName(response.getName())
@@ -0,0 +1,33 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.ProcessorException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Decide qué errores de un servicio externo cuentan como falla para el circuit breaker y se reintentan.
+ * Un rechazo 4xx se repetiría igual en cada intento y no indica que el servicio esté caído; tampoco un rechazo
+ * local del circuito o del bulkhead, ni un plazo de la petición vencido (lo fija quien llama, no el servicio).
+ * El resto (5xx, timeouts, conexión) sí.
+ */
+public class DownstreamFailurePredicate implements Predicate<Throwable> {
+
+    private static final Set<TechnicalMessage> NOT_DOWNSTREAM_FAILURES = EnumSet.of(
+            TechnicalMessage.BOOTCAMP_NOT_FOUND,
+            TechnicalMessage.USER_SERVICE_REJECTED,
+            TechnicalMessage.DEADLINE_EXCEEDED);
+
+    @Override
+    public boolean test(Throwable error) {
+        if (error instanceof CallNotPermittedException || error instanceof BulkheadFullException) {
+            return false;
+        }
+        return !(error instanceof ProcessorException processorException
+                && NOT_DOWNSTREAM_FAILURES.contains(processorException.getTechnicalMessage()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aplica a las llamadas de un servicio externo su bulkhead de semáforo, su circuit breaker y sus reintentos.
+ * Las instancias se configuran por servicio en resilience4j.* (bootcampService, capacityService, userService).
+ * Un circuito abierto o un bulkhead lleno fallan de inmediato con el error de servicio no disponible.
+ * Por fuera de todo se aplica el plazo de la petición (RequestDeadline): al vencer cancela el intento en curso
+ * y los reintentos pendientes.
+ */
+@Component
+@RequiredArgsConstructor
+public class DownstreamResilience {
+
+    public static final String BOOTCAMP_SERVICE = "bootcampService";
+    public static final String CAPACITY_SERVICE = "capacityService";
+    public static final String USER_SERVICE = "userService";
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+
+    /**
+     * Respuesta única: cada reintento con backoff exponencial y jitter vuelve a pasar por el bulkhead y el circuito
+     */
+    public <T> Mono<T> protect(String downstream, TechnicalMessage unavailable, Mono<T> call) {
+        return RequestDeadline.bound(call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(downstream)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(downstream)))
+                .transformDeferred(RetryOperator.of(retryRegistry.retry(downstream)))
+                .onErrorMap(DownstreamResilience::isRejected, error -> new TechnicalException(error, unavailable)));
+    }
+
+    /**
+     * Respuesta en streaming: sin reintento, porque volver a suscribir repetiría los elementos ya emitidos
+     */
+    public <T> Flux<T> protect(String downstream, TechnicalMessage unavailable, Flux<T> call) {
+        return RequestDeadline.bound(call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(downstream)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(downstream)))
+                .onErrorMap(DownstreamResilience::isRejected, error -> new TechnicalException(error, unavailable)));
+    }
+
+    private static boolean isRejected(Throwable error) {
+        return error instanceof CallNotPermittedException || error instanceof BulkheadFullException;
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Envía una copia de una lectura idempotente cuando la original tarda más que el percentil configurado de las
+ * latencias recientes; gana la primera respuesta y la otra se cancela.
+ * Las copias consumen un presupuesto que crece con cada llamada (budgetPercent por ciento), así que la carga extra
+ * hacia el servicio nunca supera ese porcentaje.
+ */
+public class RequestHedger {
+
+    /** Muestras necesarias antes de confiar en el percentil; hasta entonces se usa la demora inicial */
+    private static final int MIN_SAMPLES = 20;
+    /** Copias que se pueden acumular para absorber una ráfaga de respuestas lentas */
+    private static final double MAX_TOKENS = 10;
+    /** El percentil se recalcula cada vez que se renueva esta fracción de la ventana (1/10) */
+    private static final int RECOMPUTE_FRACTION = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final double tokensPerCall;
+    private final long minDelayNanos;
+    private final long initialDelayNanos;
+
+    private final long[] latencies;
+    private final int recomputeInterval;
+    private long recorded;
+    private long lastSnapshotAt;
+    private long delayComputedAt;
+    private long delayNanos;
+    private double tokens;
+
+    private final Counter issuedCounter;
+    private final Counter wonCounter;
+    private final Counter skippedCounter;
+
+    public RequestHedger(String service,
+                         MeterRegistry meterRegistry,
+                         boolean enabled,
+                         double percentile,
+                         double budgetPercent,
+                         Duration minDelay,
+                         Duration initialDelay,
+                         int windowSize) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.tokensPerCall = budgetPercent / 100;
+        this.minDelayNanos = minDelay.toNanos();
+        this.initialDelayNanos = initialDelay.toNanos();
+        this.latencies = new long[windowSize];
+        this.recomputeInterval = Math.max(1, windowSize / RECOMPUTE_FRACTION);
+        this.delayNanos = Math.max(minDelayNanos, initialDelayNanos);
+
+        this.issuedCounter = Counter.builder("report.hedge.issued")
+                .description("Duplicate requests sent because the original was slower than the hedging delay")
+                .tag("service", service)
+                .register(meterRegistry);
+        this.wonCounter = Counter.builder("report.hedge.won")
+                .description("Duplicate requests that answered before the original")
+                .tag("service", service)
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("report.hedge.skipped")
+                .description("Duplicate requests not sent because the hedging budget was exhausted")
+                .tag("service", service)
+                .register(meterRegistry);
+        TimeGauge.builder("report.hedge.delay", this, TimeUnit.NANOSECONDS, RequestHedger::currentDelayNanos)
+                .description("Current wait before a duplicate request is sent")
+                .tag("service", service)
+                .register(meterRegistry);
+    }
+
+    public <T> Flux<T> hedge(Supplier<Flux<T>> call) {
+        if (!enabled) {
+            return Flux.defer(call);
+        }
+        return Flux.defer(() -> {
+            long delay = deposit();
+            long startedAt = System.nanoTime();
+            AtomicBoolean measured = new AtomicBoolean();
+            Runnable measure = () -> {
+                if (measured.compareAndSet(false, true)) {
+                    record(System.nanoTime() - startedAt);
+                }
+            };
+
+            // La latencia de la original alimenta el percentil; si pierde, cuenta lo que llevaba esperando
+            Flux<T> primary = onFirstSignal(call.get(), measure).doOnCancel(measure);
+            Flux<T> hedged = Mono.delay(Duration.ofNanos(delay))
+                    .flatMapMany(tick -> {
+                        if (!tryWithdraw()) {
+                            skippedCounter.increment();
+                            return Flux.<T>never();
+                        }
+                        issuedCounter.increment();
+                        // Solo la respuesta ganadora llega a emitir: su primera señal marca que la copia ganó
+                        return onFirstSignal(call.get(), wonCounter::increment);
+                    });
+            return Flux.firstWithSignal(primary, hedged);
+        });
+    }
+
+    private <T> Flux<T> onFirstSignal(Flux<T> flux, Runnable action) {
+        return Flux.defer(() -> {
+            AtomicBoolean signalled = new AtomicBoolean();
+            return flux.doOnEach(signal -> {
+                if (!signalled.getAndSet(true)) {
+                    action.run();
+                }
+            });
+        });
+    }
+
+    /**
+     * Suma la parte de presupuesto que aporta esta llamada y devuelve la demora vigente
+     */
+    private synchronized long deposit() {
+        tokens = Math.min(MAX_TOKENS, tokens + tokensPerCall);
+        return delayNanos;
+    }
+
+    private synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Guarda la latencia en la ventana circular. Al llegar al mínimo de muestras y luego cada décima parte de la
+     * ventana toma una copia y recalcula la demora ordenándola fuera del lock, así que registrar una latencia es O(1)
+     * salvo en esas llamadas periódicas
+     */
+    private void record(long latencyNanos) {
+        long[] snapshot = null;
+        long snapshotAt;
+        synchronized (this) {
+            latencies[(int) (recorded % latencies.length)] = latencyNanos;
+            recorded++;
+            snapshotAt = recorded;
+            int samples = (int) Math.min(recorded, latencies.length);
+            if (samples >= Math.min(MIN_SAMPLES, latencies.length)
+                    && (lastSnapshotAt == 0 || recorded - lastSnapshotAt >= recomputeInterval)) {
+                lastSnapshotAt = recorded;
+                snapshot = Arrays.copyOf(latencies, samples);
+            }
+        }
+        if (snapshot == null) {
+            return;
+        }
+        Arrays.sort(snapshot);
+        int index = Math.min(snapshot.length - 1, (int) Math.ceil(percentile * snapshot.length) - 1);
+        long delay = Math.max(minDelayNanos, snapshot[Math.max(0, index)]);
+        synchronized (this) {
+            // Dos recálculos simultáneos: gana el de la copia más reciente
+            if (snapshotAt > delayComputedAt) {
+                delayComputedAt = snapshotAt;
+                delayNanos = delay;
+            }
+        }
+    }
+
+    private synchronized double currentDelayNanos() {
+        return delayNanos;
+    }
+}
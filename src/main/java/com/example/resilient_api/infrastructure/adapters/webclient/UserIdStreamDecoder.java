@@ -0,0 +1,197 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Decodifica de forma incremental los IDs de usuario de una respuesta de bootcamp-api.
+ * Acepta un arreglo JSON ([1,2,3]) o NDJSON (un ID por línea) y procesa cada buffer a medida que llega,
+ * sin materializar el cuerpo completo; un número partido entre dos buffers se completa con el siguiente.
+ * Valida la estructura mientras lee: arreglos anidados, IDs sin separar, comas sobrantes o un arreglo sin cerrar
+ * fallan con USER_IDS_MALFORMED.
+ */
+final class UserIdStreamDecoder {
+
+    private long value;
+    private boolean inNumber;
+    private boolean negative;
+    private State state = State.START;
+
+    private UserIdStreamDecoder() {
+    }
+
+    /**
+     * Emite los IDs por buffer recibido; el siguiente buffer se pide solo cuando el consumidor demanda más IDs
+     */
+    static Flux<Long> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            UserIdStreamDecoder decoder = new UserIdStreamDecoder();
+            return body
+                    .concatMapIterable(buffer -> {
+                        List<Long> ids = new ArrayList<>();
+                        decoder.feed(buffer, ids::add);
+                        return ids;
+                    }, 1)
+                    .concatWith(Flux.defer(() -> {
+                        List<Long> last = new ArrayList<>(1);
+                        decoder.finish(last::add);
+                        return Flux.fromIterable(last);
+                    }))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /**
+     * Junta todos los IDs en un arreglo de long sin crear un objeto por ID
+     */
+    static Mono<long[]> collect(Flux<DataBuffer> body) {
+        return Mono.defer(() -> {
+            UserIdStreamDecoder decoder = new UserIdStreamDecoder();
+            LongArrayBuilder ids = new LongArrayBuilder();
+            return body
+                    .doOnNext(buffer -> decoder.feed(buffer, ids::add))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then(Mono.fromCallable(() -> {
+                        decoder.finish(ids::add);
+                        return ids.toArray();
+                    }));
+        });
+    }
+
+    private void feed(DataBuffer buffer, LongConsumer ids) {
+        try {
+            int end = buffer.writePosition();
+            for (int index = buffer.readPosition(); index < end; index++) {
+                accept(buffer.getByte(index), ids);
+            }
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private void accept(byte current, LongConsumer ids) {
+        if (current >= '0' && current <= '9') {
+            if (!inNumber && !negative) {
+                beginValue();
+            }
+            try {
+                value = Math.addExact(Math.multiplyExact(value, 10), current - '0');
+            } catch (ArithmeticException overflow) {
+                throw malformed("User ID out of range");
+            }
+            inNumber = true;
+            return;
+        }
+        if (current == '-') {
+            if (inNumber || negative) {
+                throw malformed("Unexpected '-'");
+            }
+            beginValue();
+            negative = true;
+            return;
+        }
+        endNumber(ids);
+        switch (current) {
+            case ' ', '\t', '\r' -> {
+                // Espacios entre tokens
+            }
+            case '\n' -> {
+                if (state == State.LINE_AFTER_VALUE) {
+                    state = State.LINE_START;
+                }
+            }
+            case '[' -> state = transition(State.START, State.ARRAY_OPEN, "Nested or misplaced '['");
+            case ',' -> state = transition(State.ARRAY_AFTER_VALUE, State.ARRAY_NEXT, "Misplaced ','");
+            case ']' -> {
+                if (state != State.ARRAY_OPEN && state != State.ARRAY_AFTER_VALUE) {
+                    throw malformed("Misplaced ']'");
+                }
+                state = State.ARRAY_CLOSED;
+            }
+            default -> throw malformed("Unexpected character '" + (char) current + "'");
+        }
+    }
+
+    /**
+     * Un ID solo puede empezar donde el formato espera un valor: al inicio de una línea NDJSON o tras '[' o ','
+     */
+    private void beginValue() {
+        state = switch (state) {
+            case START, LINE_START -> State.LINE_AFTER_VALUE;
+            case ARRAY_OPEN, ARRAY_NEXT -> State.ARRAY_AFTER_VALUE;
+            default -> throw malformed("Unexpected user ID");
+        };
+    }
+
+    private State transition(State expected, State next, String error) {
+        if (state != expected) {
+            throw malformed(error);
+        }
+        return next;
+    }
+
+    private void endNumber(LongConsumer ids) {
+        if (inNumber) {
+            ids.accept(negative ? -value : value);
+        } else if (negative) {
+            throw malformed("Dangling '-'");
+        }
+        value = 0;
+        inNumber = false;
+        negative = false;
+    }
+
+    /**
+     * Cierra el cuerpo: emite el último ID y falla si un arreglo quedó sin cerrar
+     */
+    private void finish(LongConsumer ids) {
+        endNumber(ids);
+        if (state == State.ARRAY_OPEN || state == State.ARRAY_NEXT || state == State.ARRAY_AFTER_VALUE) {
+            throw malformed("Unterminated array");
+        }
+    }
+
+    private static TechnicalException malformed(String detail) {
+        return new TechnicalException(new DecodingException(detail + " in bootcamp users response"), TechnicalMessage.USER_IDS_MALFORMED);
+    }
+
+    /**
+     * Posición en el cuerpo: antes del primer token, dentro de un arreglo JSON o en una línea NDJSON
+     */
+    private enum State {
+        START,
+        ARRAY_OPEN,
+        ARRAY_NEXT,
+        ARRAY_AFTER_VALUE,
+        ARRAY_CLOSED,
+        LINE_START,
+        LINE_AFTER_VALUE
+    }
+
+    private static final class LongArrayBuilder {
+
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -6,7 +6,7 @@ import com.example.resilient_api.domain.model.UserEnrollment;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -21,18 +21,20 @@ import java.util.List;
 public class UserWebClient implements UserExternalServicePort {
 
     private static final String X_MESSAGE_ID = "X-Message-Id";
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${external.user.base-url}")
-    private String userBaseUrl;
+    @Qualifier("userServiceWebClient")
+    private final WebClient webClient;
+    private final DownstreamResilience downstreamResilience;
+    @Qualifier("userRequestHedger")
+    private final RequestHedger requestHedger;
 
     @Override
     public Flux<UserEnrollment> getUsersByIds(List<Long> userIds, String messageId) {
         log.info("Calling user service to get users by IDs with messageId: {}", messageId);
 
-        return webClientBuilder.build()
+        // Sin reintento aquí: UserExternalServiceAdapter reintenta cada lote completo; una réplica lenta se cubre con hedging
+        return requestHedger.hedge(() -> downstreamResilience.protect(DownstreamResilience.USER_SERVICE, TechnicalMessage.USER_SERVICE_UNAVAILABLE, webClient
                 .post()
-                .uri(userBaseUrl + "/users/by-ids")
+                .uri("/users/by-ids")
                 .header(X_MESSAGE_ID, messageId)
                 .bodyValue(new UserIdsRequest(userIds))
                 .retrieve()
@@ -44,9 +46,9 @@ public class UserWebClient implements UserExternalServicePort {
                 .onStatus(status -> status.is4xxClientError(),
                         response -> {
                             log.error("User service returned 4xx error for messageId: {}", messageId);
-                            return Mono.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR));
+                            return Mono.error(new TechnicalException(TechnicalMessage.USER_SERVICE_REJECTED));
                         })
-                .bodyToFlux(new ParameterizedTypeReference<UserResponse>() {})
+                .bodyToFlux(new ParameterizedTypeReference<UserResponse>() {})))
                 .map(response -> UserEnrollment.builder()
                         .userId(response.getId())
                         .userName(response.getName())
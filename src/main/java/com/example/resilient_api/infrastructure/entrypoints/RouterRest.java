@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
 import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
 import static org.springframework.web.reactive.function.server.RouterFunctions.route;
@@ -19,11 +20,23 @@ public class RouterRest {
     @Bean
     @RouterOperations({
         @RouterOperation(path = "/metrics/bootcamp/report", method = RequestMethod.POST, beanClass = BootcampReportHandlerImpl.class, beanMethod = "registerBootcampReport"),
-        @RouterOperation(path = "/metrics/bootcamp/most-popular", method = RequestMethod.GET, beanClass = BootcampReportHandlerImpl.class, beanMethod = "getMostPopularBootcamp")
+        @RouterOperation(path = "/metrics/bootcamp/report/batch", method = RequestMethod.POST, beanClass = BootcampReportHandlerImpl.class, beanMethod = "registerBootcampReportBatch"),
+        @RouterOperation(path = "/metrics/bootcamp/report/batch/{jobId}", method = RequestMethod.GET, beanClass = BootcampReportHandlerImpl.class, beanMethod = "getBatchRegistrationJob"),
+        @RouterOperation(path = "/metrics/bootcamp/{bootcampId}/enrollments", method = RequestMethod.POST, beanClass = BootcampReportHandlerImpl.class, beanMethod = "enrollUser"),
+        @RouterOperation(path = "/metrics/bootcamp/{bootcampId}/enrollments/{userId}", method = RequestMethod.DELETE, beanClass = BootcampReportHandlerImpl.class, beanMethod = "unenrollUser"),
+        @RouterOperation(path = "/metrics/users/profile-cache/invalidate", method = RequestMethod.POST, beanClass = BootcampReportHandlerImpl.class, beanMethod = "invalidateUserProfiles"),
+        @RouterOperation(path = "/metrics/bootcamp/most-popular", method = RequestMethod.GET, beanClass = BootcampReportHandlerImpl.class, beanMethod = "getMostPopularBootcamp"),
+        @RouterOperation(path = "/metrics/bootcamp/ranking", method = RequestMethod.GET, beanClass = BootcampReportHandlerImpl.class, beanMethod = "getBootcampRanking")
     })
     public RouterFunction<ServerResponse> routerFunction(BootcampReportHandlerImpl bootcampReportHandler) {
         return route(POST("/metrics/bootcamp/report"), bootcampReportHandler::registerBootcampReport)
-            .andRoute(GET("/metrics/bootcamp/most-popular"), bootcampReportHandler::getMostPopularBootcamp);
+            .andRoute(POST("/metrics/bootcamp/report/batch"), bootcampReportHandler::registerBootcampReportBatch)
+            .andRoute(GET("/metrics/bootcamp/report/batch/{jobId}"), bootcampReportHandler::getBatchRegistrationJob)
+            .andRoute(POST("/metrics/bootcamp/{bootcampId}/enrollments"), bootcampReportHandler::enrollUser)
+            .andRoute(DELETE("/metrics/bootcamp/{bootcampId}/enrollments/{userId}"), bootcampReportHandler::unenrollUser)
+            .andRoute(POST("/metrics/users/profile-cache/invalidate"), bootcampReportHandler::invalidateUserProfiles)
+            .andRoute(GET("/metrics/bootcamp/most-popular"), bootcampReportHandler::getMostPopularBootcamp)
+            .andRoute(GET("/metrics/bootcamp/ranking"), bootcampReportHandler::getBootcampRanking);
     }
 
 }
@@ -0,0 +1,267 @@
+package com.example.resilient_api.infrastructure.entrypoints.cache;
+
+import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.ServedFreshness;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampRegistrationResult;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.ReportFreshness;
+import com.example.resilient_api.domain.model.ReportRead;
+import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cache en memoria del bootcamp más popular delante del caso de uso.
+ * Un resultado vigente (ttl) se sirve directamente con la frescura con la que se cacheó; uno vencido dentro de la
+ * ventana stale-while-revalidate se sirve como stale mientras se refresca en background; pasado ese plazo se consulta de nuevo.
+ * Las consultas concurrentes al servicio se colapsan en una única ejecución compartida.
+ * Las lecturas con frescura stored o max-age usan la entrada cacheada si su updatedAt la satisface y, si no,
+ * van al caso de uso; un resultado enriquecido obtenido así también se cachea. Los reportes servidos en modo
+ * degradado (stale) no se cachean.
+ * Todas las escrituras pasan por este servicio: al completarse una escritura que cambia el líder almacenado
+ * (o los datos del líder actual) la entrada se invalida. El líder almacenado se toma del primer puesto del
+ * ranking, que se sirve desde el índice en memoria, sin ordenar en Mongo en cada escritura.
+ */
+@Slf4j
+public class CachingBootcampReportService implements BootcampReportServicePort {
+
+    private static final String MOST_POPULAR_KEY = "most-popular";
+
+    private final BootcampReportServicePort delegate;
+    private final BootcampReportPersistencePort bootcampReportPersistencePort;
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final int maxCachedUsers;
+
+    private final SingleFlight<String, ReportRead> singleFlight;
+    private final AtomicReference<Entry> entry = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+    private final Counter invalidationCounter;
+    private final Counter oversizedCounter;
+
+    public CachingBootcampReportService(BootcampReportServicePort delegate,
+                                        BootcampReportPersistencePort bootcampReportPersistencePort,
+                                        MeterRegistry meterRegistry,
+                                        Duration ttl,
+                                        Duration staleWhileRevalidate,
+                                        int maxCachedUsers) {
+        this.delegate = delegate;
+        this.bootcampReportPersistencePort = bootcampReportPersistencePort;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.maxCachedUsers = maxCachedUsers;
+        this.singleFlight = new SingleFlight<>(MOST_POPULAR_KEY, meterRegistry);
+
+        this.hitCounter = requests(meterRegistry, "hit");
+        this.staleCounter = requests(meterRegistry, "stale");
+        this.missCounter = requests(meterRegistry, "miss");
+        this.refreshSuccessCounter = Counter.builder("report.most-popular.cache.refreshes")
+                .description("Background refreshes of the most popular bootcamp cache")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("report.most-popular.cache.refreshes")
+                .description("Background refreshes of the most popular bootcamp cache")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("report.most-popular.cache.invalidations")
+                .description("Most popular bootcamp cache entries invalidated by a write")
+                .register(meterRegistry);
+        this.oversizedCounter = Counter.builder("report.most-popular.cache.oversized")
+                .description("Most popular bootcamp results not cached because they exceed the size bound")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<BootcampReport> getMostPopularBootcamp(String messageId) {
+        return getMostPopularBootcamp(ReportFreshness.FRESH, messageId)
+                .map(ReportRead::report);
+    }
+
+    @Override
+    public Mono<ReportRead> getMostPopularBootcamp(ReportFreshness freshness, String messageId) {
+        if (freshness.mode() == ReportFreshness.Mode.FRESH) {
+            return readThrough(messageId);
+        }
+        return Mono.defer(() -> {
+            Entry current = entry.get();
+            if (current != null && !freshness.requiresRefresh(current.read.report().updatedAt(), LocalDateTime.now())) {
+                hitCounter.increment();
+                return Mono.just(current.read);
+            }
+            missCounter.increment();
+            long loadGeneration = generation.get();
+            return delegate.getMostPopularBootcamp(freshness, messageId)
+                    .doOnNext(read -> store(read, loadGeneration));
+        });
+    }
+
+    private Mono<ReportRead> readThrough(String messageId) {
+        return Mono.defer(() -> {
+            Entry current = entry.get();
+            long now = System.nanoTime();
+            if (current != null && now - current.loadedAt < ttl.toNanos()) {
+                hitCounter.increment();
+                return Mono.just(current.read);
+            }
+            if (current != null && now - current.loadedAt < ttl.plus(staleWhileRevalidate).toNanos()) {
+                staleCounter.increment();
+                refreshInBackground(messageId);
+                return Mono.just(ReportRead.stale(current.read.report()));
+            }
+            missCounter.increment();
+            return load(messageId);
+        });
+    }
+
+    @Override
+    public Flux<BootcampRanking> getBootcampRanking(int offset, int limit, String messageId) {
+        return delegate.getBootcampRanking(offset, limit, messageId);
+    }
+
+    @Override
+    public Mono<Void> invalidateUserProfiles(List<Long> userIds, String messageId) {
+        return delegate.invalidateUserProfiles(userIds, messageId);
+    }
+
+    @Override
+    public Mono<Void> registerBootcampReport(Long bootcampId, String messageId) {
+        return delegate.registerBootcampReport(bootcampId, messageId)
+                .then(Mono.defer(() -> invalidateIfLeaderChanged(List.of(bootcampId), true)));
+    }
+
+    @Override
+    public Flux<BootcampRegistrationResult> registerBootcampReports(List<Long> bootcampIds, int concurrency, String messageId) {
+        return delegate.registerBootcampReports(bootcampIds, concurrency, messageId)
+                .concatWith(Mono.defer(() -> invalidateIfLeaderChanged(bootcampIds, true)).then(Mono.empty()));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> enrollUser(Long bootcampId, Long userId, String messageId) {
+        return delegate.enrollUser(bootcampId, userId, messageId)
+                .flatMap(change -> invalidateOnChange(change, bootcampId, true));
+    }
+
+    @Override
+    public Mono<EnrollmentChange> unenrollUser(Long bootcampId, Long userId, String messageId) {
+        // Una baja en otro bootcamp no puede quitarle el primer puesto al líder cacheado
+        return delegate.unenrollUser(bootcampId, userId, messageId)
+                .flatMap(change -> invalidateOnChange(change, bootcampId, false));
+    }
+
+    /**
+     * Consulta el líder; las consultas concurrentes (lectores sin cache y el refresco en background)
+     * comparten una única ejecución
+     */
+    private Mono<ReportRead> load(String messageId) {
+        return singleFlight.execute(MOST_POPULAR_KEY, () -> {
+            long loadGeneration = generation.get();
+            return delegate.getMostPopularBootcamp(ReportFreshness.FRESH, messageId)
+                    .doOnNext(read -> store(read, loadGeneration));
+        });
+    }
+
+    private void refreshInBackground(String messageId) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        load(messageId)
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(
+                        read -> (read.served() == ServedFreshness.FRESH ? refreshSuccessCounter : refreshFailureCounter).increment(),
+                        error -> {
+                            refreshFailureCounter.increment();
+                            log.warn("Background refresh of most popular bootcamp failed with messageId: {}", messageId, error);
+                        });
+    }
+
+    /**
+     * Solo se cachean reportes enriquecidos: uno servido en modo degradado se volvería a pedir en la próxima lectura
+     */
+    private void store(ReportRead read, long loadGeneration) {
+        if (read.served() != ServedFreshness.FRESH) {
+            return;
+        }
+        BootcampReport report = read.report();
+        int users = report.enrolledUsers() == null ? 0 : report.enrolledUsers().size();
+        if (users > maxCachedUsers) {
+            oversizedCounter.increment();
+            return;
+        }
+        // Una invalidación ocurrida mientras se consultaba descarta el resultado para no cachear un líder viejo
+        if (generation.get() == loadGeneration) {
+            entry.set(new Entry(read, System.nanoTime()));
+        }
+    }
+
+    private Mono<EnrollmentChange> invalidateOnChange(EnrollmentChange change, Long bootcampId, boolean mayOvertake) {
+        return change == EnrollmentChange.APPLIED
+                ? invalidateIfLeaderChanged(List.of(bootcampId), mayOvertake).thenReturn(change)
+                : Mono.just(change);
+    }
+
+    /**
+     * Invalida la entrada si alguno de los bootcamps escritos es el líder cacheado o, cuando la escritura
+     * pudo hacerle superar al líder (mayOvertake), si el primer puesto del ranking ya es otro
+     */
+    private Mono<Void> invalidateIfLeaderChanged(List<Long> writtenBootcampIds, boolean mayOvertake) {
+        Entry current = entry.get();
+        if (current == null) {
+            return Mono.empty();
+        }
+        if (writtenBootcampIds.contains(current.read.report().bootcampId())) {
+            invalidate(current, "leader updated");
+            return Mono.empty();
+        }
+        if (!mayOvertake) {
+            return Mono.empty();
+        }
+        return bootcampReportPersistencePort.findRanking(0, 1)
+                .next()
+                .filter(leader -> !Objects.equals(leader.bootcampId(), current.read.report().bootcampId()))
+                .doOnNext(leader -> invalidate(current, "leader changed to bootcampId " + leader.bootcampId()))
+                .onErrorResume(error -> {
+                    // Ante la duda se invalida: el siguiente lector vuelve a consultar
+                    invalidate(current, "leader check failed");
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private void invalidate(Entry current, String reason) {
+        generation.incrementAndGet();
+        if (entry.compareAndSet(current, null)) {
+            invalidationCounter.increment();
+            log.debug("Most popular bootcamp cache invalidated: {}", reason);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("report.most-popular.cache.requests")
+                .description("Most popular bootcamp reads by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Entry(ReportRead read, long loadedAt) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.resilient_api.infrastructure.entrypoints.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Colapsa las ejecuciones concurrentes de una misma operación (misma clave) en una única ejecución compartida.
+ * Los suscriptores que llegan mientras hay una ejecución en curso reciben su mismo resultado o error.
+ * Si todos los suscriptores cancelan, la ejecución compartida se cancela; al terminar, la siguiente
+ * llamada inicia una ejecución nueva.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executionCounter;
+    private final Counter collapsedCounter;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executionCounter = Counter.builder("report.single-flight.executions")
+                .description("Upstream executions started by single-flight")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.collapsedCounter = Counter.builder("report.single-flight.collapsed")
+                .description("Calls collapsed into an execution already in flight")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> supplier) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<V>> created = new AtomicReference<>();
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                Mono<V> execution = Mono.defer(supplier)
+                        .doFinally(signal -> inFlight.remove(k, created.get()))
+                        .flux()
+                        .publish()
+                        .refCount(1)
+                        .next();
+                created.set(execution);
+                return execution;
+            });
+            if (shared == created.get()) {
+                executionCounter.increment();
+            } else {
+                collapsedCounter.increment();
+            }
+            return shared;
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReportJobDTO {
+    private String jobId;
+    private String status;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private Integer total;
+    private Integer registered;
+    private Integer failed;
+    private Integer pending;
+    private List<BatchReportItemDTO> items;
+}
@@ -0,0 +1,16 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReportRequestDTO {
+    private List<Long> bootcampIds;
+}
@@ -0,0 +1,17 @@
+package com.example.resilient_api.infrastructure.entrypoints.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BootcampRankingDTO {
+    private Integer rank;
+    private Long bootcampId;
+    private String bootcampName;
+    private Integer enrolledUsersCount;
+}
@@ -27,4 +27,5 @@ public class BootcampReportDTO {
     private List<CapacityDetailDTO> capacities;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private boolean stale;
 }
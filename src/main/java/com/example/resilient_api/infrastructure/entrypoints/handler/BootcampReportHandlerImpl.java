@@ -1,11 +1,20 @@
 package com.example.resilient_api.infrastructure.entrypoints.handler;
 
 import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
 import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.ReportFreshness;
+import com.example.resilient_api.domain.model.ReportRead;
 import com.example.resilient_api.infrastructure.entrypoints.dto.ApiResponse;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BatchReportRequestDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.EnrollmentRequestDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.RegisterReportRequestDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.UserCacheInvalidationRequestDTO;
 import com.example.resilient_api.infrastructure.entrypoints.mapper.BootcampReportDTOMapper;
+import com.example.resilient_api.infrastructure.entrypoints.registration.BatchRegistrationJobRegistry;
+import com.example.resilient_api.infrastructure.entrypoints.registration.ReportRegistrationQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -13,8 +22,10 @@ import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.UUID;
 
 @Component
@@ -23,12 +34,18 @@ import java.util.UUID;
 public class BootcampReportHandlerImpl {
 
     private static final String X_MESSAGE_ID = "X-Message-Id";
+    private static final String X_REPORT_FRESHNESS = "X-Report-Freshness";
+    private static final String BOOTCAMP_ID = "bootcampId";
+    private static final int DEFAULT_RANKING_LIMIT = 10;
     private final BootcampReportServicePort bootcampReportServicePort;
     private final BootcampReportDTOMapper bootcampReportDTOMapper;
+    private final ReportRegistrationQueue reportRegistrationQueue;
+    private final BatchRegistrationJobRegistry batchRegistrationJobRegistry;
 
     /**
      * Registra un reporte de bootcamp de forma asíncrona
-     * Este endpoint no bloquea esperando que se complete el registro
+     * Este endpoint no bloquea esperando que se complete el registro: responde 202 cuando
+     * el registro queda en cola o 429 cuando la cola está llena
      */
     public Mono<ServerResponse> registerBootcampReport(ServerRequest request) {
         String messageId = getMessageId(request);
@@ -42,20 +59,14 @@ public class BootcampReportHandlerImpl {
                 .flatMap(requestDTO -> {
                     log.info("=== METRICS HANDLER === Processing bootcampId: {}", requestDTO.getBootcampId());
 
-                    // Iniciar el registro de forma asíncrona (Fire and Forget)
-                    bootcampReportServicePort.registerBootcampReport(requestDTO.getBootcampId(), messageId)
-                            .subscribe(
-                                    null,
-                                    error -> log.error("Async error registering bootcamp report for bootcampId: {} with messageId: {}",
-                                            requestDTO.getBootcampId(), messageId, error),
-                                    () -> log.info("Async bootcamp report registration completed for bootcampId: {} with messageId: {}",
-                                            requestDTO.getBootcampId(), messageId)
-                            );
-
-                    // Responder inmediatamente con 202 Accepted
+                    // Encolar el registro (Fire and Forget); la cola acotada lo procesa en background
+                    return reportRegistrationQueue.enqueue(requestDTO.getBootcampId(), messageId);
+                })
+                .flatMap(ticket -> {
+                    // Responder inmediatamente con 202 Accepted: el registro quedó en cola
                     ApiResponse response = ApiResponse.builder()
                             .code("202")
-                            .message("Bootcamp report registration initiated")
+                            .message("Bootcamp report registration queued")
                             .identifier(messageId)
                             .date(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME))
                             .build();
@@ -69,23 +80,192 @@ public class BootcampReportHandlerImpl {
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    /**
+     * Registra los reportes de un lote de bootcamps de forma asíncrona
+     * Responde 202 con el jobId y el estado inicial de cada bootcamp
+     */
+    public Mono<ServerResponse> registerBootcampReportBatch(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received batch bootcamp report registration request with messageId: {}", messageId);
+
+        return request.bodyToMono(BatchReportRequestDTO.class)
+                .flatMap(requestDTO -> batchRegistrationJobRegistry.submit(requestDTO.getBootcampIds(), messageId))
+                .map(bootcampReportDTOMapper::toBatchJobDTO)
+                .flatMap(jobDTO -> ServerResponse.accepted().bodyValue(jobDTO))
+                .doOnSuccess(response -> log.info("Successfully queued batch bootcamp report registration with messageId: {}", messageId))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    /**
+     * Consulta el estado de un registro por lote
+     */
+    public Mono<ServerResponse> getBatchRegistrationJob(ServerRequest request) {
+        String messageId = getMessageId(request);
+        String jobId = request.pathVariable("jobId");
+        log.info("Received get batch registration job {} request with messageId: {}", jobId, messageId);
+
+        return batchRegistrationJobRegistry.findJob(jobId)
+                .map(bootcampReportDTOMapper::toBatchJobDTO)
+                .flatMap(jobDTO -> ServerResponse.ok().bodyValue(jobDTO))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    /**
+     * Aplica la inscripción de un usuario sobre el reporte existente sin reconstruirlo
+     * Si el reporte aún no existe, encola su registro completo y responde 202
+     */
+    public Mono<ServerResponse> enrollUser(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received enroll user request with messageId: {}", messageId);
+
+        return Mono.fromCallable(() -> parseId(request.pathVariable(BOOTCAMP_ID), TechnicalMessage.INVALID_BOOTCAMP_ID))
+                .flatMap(bootcampId -> request.bodyToMono(EnrollmentRequestDTO.class)
+                        .filter(dto -> dto.getUserId() != null)
+                        .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.INVALID_USER_ID)))
+                        .flatMap(dto -> bootcampReportServicePort.enrollUser(bootcampId, dto.getUserId(), messageId))
+                        .flatMap(change -> buildEnrollmentResponse(change, bootcampId, messageId)))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    /**
+     * Aplica la baja de un usuario sobre el reporte existente sin reconstruirlo
+     * Si el reporte aún no existe, encola su registro completo y responde 202
+     */
+    public Mono<ServerResponse> unenrollUser(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received unenroll user request with messageId: {}", messageId);
+
+        return Mono.fromCallable(() -> parseId(request.pathVariable(BOOTCAMP_ID), TechnicalMessage.INVALID_BOOTCAMP_ID))
+                .flatMap(bootcampId -> Mono.fromCallable(() -> parseId(request.pathVariable("userId"), TechnicalMessage.INVALID_USER_ID))
+                        .flatMap(userId -> bootcampReportServicePort.unenrollUser(bootcampId, userId, messageId))
+                        .flatMap(change -> buildEnrollmentResponse(change, bootcampId, messageId)))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    /**
+     * Descarta los perfiles cacheados de los usuarios indicados; lo invoca users-api cuando un perfil cambia
+     */
+    public Mono<ServerResponse> invalidateUserProfiles(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received invalidate user profiles request with messageId: {}", messageId);
+
+        return request.bodyToMono(UserCacheInvalidationRequestDTO.class)
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.INVALID_USER_IDS)))
+                .flatMap(dto -> bootcampReportServicePort.invalidateUserProfiles(dto.getUserIds(), messageId))
+                .then(Mono.defer(() -> ServerResponse.ok().bodyValue(ApiResponse.builder()
+                        .code(TechnicalMessage.USER_PROFILES_INVALIDATED.getCode())
+                        .message(TechnicalMessage.USER_PROFILES_INVALIDATED.getMessage())
+                        .identifier(messageId)
+                        .date(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME))
+                        .build())))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
     /**
      * Obtiene el bootcamp con mayor cantidad de personas inscritas
      * Incluye toda la información detallada del bootcamp y sus usuarios
+     * Parámetro opcional freshness: stored, max-age=N (segundos) o fresh (por defecto); la frescura servida
+     * se informa en el header X-Report-Freshness junto con la antigüedad del reporte
+     * Si los servicios externos no responden a tiempo se sirve el reporte guardado con stale=true
      */
     public Mono<ServerResponse> getMostPopularBootcamp(ServerRequest request) {
         String messageId = getMessageId(request);
         log.info("Received get most popular bootcamp request with messageId: {}", messageId);
 
-        return bootcampReportServicePort.getMostPopularBootcamp(messageId)
-                .map(bootcampReportDTOMapper::toDTO)
-                .flatMap(reportDTO -> ServerResponse.ok().bodyValue(reportDTO))
+        return Mono.fromCallable(() -> ReportFreshness.parse(request.queryParam("freshness").orElse(null)))
+                .flatMap(freshness -> bootcampReportServicePort.getMostPopularBootcamp(freshness, messageId))
+                .flatMap(read -> ServerResponse.ok()
+                        .header(X_REPORT_FRESHNESS, freshnessHeader(read))
+                        .bodyValue(bootcampReportDTOMapper.toDTO(read)))
                 .doOnSuccess(response -> log.info("Successfully retrieved most popular bootcamp with messageId: {}", messageId))
                 .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
                 .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
                 .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
     }
 
+    /**
+     * Obtiene una página del ranking de bootcamps por cantidad de personas inscritas
+     * Parámetros opcionales: limit (10 por defecto, máximo 100) y offset (0 por defecto)
+     */
+    public Mono<ServerResponse> getBootcampRanking(ServerRequest request) {
+        String messageId = getMessageId(request);
+        log.info("Received get bootcamp ranking request with messageId: {}", messageId);
+
+        return Mono.fromCallable(() -> parseIntParam(request, "offset", 0))
+                .zipWith(Mono.fromCallable(() -> parseIntParam(request, "limit", DEFAULT_RANKING_LIMIT)))
+                .flatMap(page -> bootcampReportServicePort.getBootcampRanking(page.getT1(), page.getT2(), messageId)
+                        .map(bootcampReportDTOMapper::toRankingDTO)
+                        .collectList())
+                .flatMap(ranking -> ServerResponse.ok().bodyValue(ranking))
+                .onErrorResume(BusinessException.class, ex -> handleBusinessException(ex, messageId))
+                .onErrorResume(TechnicalException.class, ex -> handleTechnicalException(ex, messageId))
+                .onErrorResume(ex -> handleUnexpectedException(ex, messageId));
+    }
+
+    private Mono<ServerResponse> buildEnrollmentResponse(EnrollmentChange change, Long bootcampId, String messageId) {
+        if (change == EnrollmentChange.REPORT_NOT_FOUND) {
+            // Sin reporte sobre el que aplicar el delta: se construye completo en background
+            log.info("No report found for bootcampId: {}, queueing full registration with messageId: {}", bootcampId, messageId);
+            return reportRegistrationQueue.enqueue(bootcampId, messageId)
+                    .flatMap(ticket -> ServerResponse.accepted().bodyValue(ApiResponse.builder()
+                            .code("202")
+                            .message("Bootcamp report registration queued")
+                            .identifier(messageId)
+                            .date(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME))
+                            .build()));
+        }
+
+        TechnicalMessage technicalMessage = change == EnrollmentChange.APPLIED
+                ? TechnicalMessage.ENROLLMENT_APPLIED
+                : TechnicalMessage.ENROLLMENT_UNCHANGED;
+        ApiResponse response = ApiResponse.builder()
+                .code(technicalMessage.getCode())
+                .message(technicalMessage.getMessage())
+                .identifier(messageId)
+                .date(LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME))
+                .build();
+        return ServerResponse.ok().bodyValue(response);
+    }
+
+    /**
+     * Frescura servida y antigüedad en segundos del reporte, por ejemplo "stored; age=120"
+     */
+    private String freshnessHeader(ReportRead read) {
+        String served = read.served().name().toLowerCase(Locale.ROOT);
+        LocalDateTime updatedAt = read.report().updatedAt();
+        if (updatedAt == null) {
+            return served;
+        }
+        long age = Math.max(0, Duration.between(updatedAt, LocalDateTime.now()).toSeconds());
+        return served + "; age=" + age;
+    }
+
+    private Long parseId(String value, TechnicalMessage invalidMessage) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(invalidMessage);
+        }
+    }
+
+    private int parseIntParam(ServerRequest request, String name, int defaultValue) {
+        try {
+            return request.queryParam(name).map(Integer::parseInt).orElse(defaultValue);
+        } catch (NumberFormatException e) {
+            throw new BusinessException(TechnicalMessage.INVALID_RANKING_REQUEST);
+        }
+    }
+
     private String getMessageId(ServerRequest request) {
         String messageId = request.headers().firstHeader(X_MESSAGE_ID);
         if (messageId == null || messageId.isEmpty()) {
@@ -1,13 +1,20 @@
 package com.example.resilient_api.infrastructure.entrypoints.mapper;
 
+import com.example.resilient_api.domain.enums.ServedFreshness;
+import com.example.resilient_api.domain.model.BootcampRanking;
 import com.example.resilient_api.domain.model.BootcampReport;
 import com.example.resilient_api.domain.model.CapacityDetail;
+import com.example.resilient_api.domain.model.ReportRead;
 import com.example.resilient_api.domain.model.TechnologyDetail;
 import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BatchReportItemDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BatchReportJobDTO;
+import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampRankingDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.BootcampReportDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.CapacityDetailDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.TechnologyDetailDTO;
 import com.example.resilient_api.infrastructure.entrypoints.dto.UserEnrollmentDTO;
+import com.example.resilient_api.infrastructure.entrypoints.registration.BatchRegistrationJob;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -38,6 +45,51 @@ public class BootcampReportDTOMapper {
                 .build();
     }
 
+    /**
+     * Marca stale el reporte servido en modo degradado, sin los datos actuales de los servicios externos
+     */
+    public BootcampReportDTO toDTO(ReportRead read) {
+        BootcampReportDTO dto = toDTO(read.report());
+        dto.setStale(read.served() == ServedFreshness.STALE);
+        return dto;
+    }
+
+    public BootcampRankingDTO toRankingDTO(BootcampRanking ranking) {
+        return BootcampRankingDTO.builder()
+                .rank(ranking.rank())
+                .bootcampId(ranking.bootcampId())
+                .bootcampName(ranking.bootcampName())
+                .enrolledUsersCount(ranking.enrolledUsersCount())
+                .build();
+    }
+
+    public BatchReportJobDTO toBatchJobDTO(BatchRegistrationJob job) {
+        List<BatchRegistrationJob.Item> items = job.items();
+        List<BatchReportItemDTO> itemDTOs = items.stream()
+                .map(item -> BatchReportItemDTO.builder()
+                        .bootcampId(item.bootcampId())
+                        .status(item.status().name())
+                        .error(item.error())
+                        .build())
+                .collect(Collectors.toList());
+
+        return BatchReportJobDTO.builder()
+                .jobId(job.getJobId())
+                .status(job.status().name())
+                .submittedAt(job.getSubmittedAt())
+                .completedAt(job.getCompletedAt())
+                .total(items.size())
+                .registered(countItems(items, BatchRegistrationJob.ItemStatus.REGISTERED))
+                .failed(countItems(items, BatchRegistrationJob.ItemStatus.FAILED))
+                .pending(countItems(items, BatchRegistrationJob.ItemStatus.PENDING))
+                .items(itemDTOs)
+                .build();
+    }
+
+    private int countItems(List<BatchRegistrationJob.Item> items, BatchRegistrationJob.ItemStatus status) {
+        return (int) items.stream().filter(item -> item.status() == status).count();
+    }
+
     private List<UserEnrollmentDTO> toUserEnrollmentDTOs(List<UserEnrollment> users) {
         if (users == null) {
             return List.of();
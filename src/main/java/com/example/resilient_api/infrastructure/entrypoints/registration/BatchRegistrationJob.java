@@ -0,0 +1,74 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.model.BootcampRegistrationResult;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Estado de un registro de reportes por lote, consultable por su jobId
+ */
+public class BatchRegistrationJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        COMPLETED_WITH_ERRORS
+    }
+
+    public enum ItemStatus {
+        PENDING,
+        REGISTERED,
+        FAILED
+    }
+
+    public record Item(Long bootcampId, ItemStatus status, String error) {
+    }
+
+    @Getter
+    private final String jobId = UUID.randomUUID().toString();
+    @Getter
+    private final String messageId;
+    @Getter
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    @Getter
+    private volatile LocalDateTime completedAt;
+    private final Map<Long, Item> items = new LinkedHashMap<>();
+
+    BatchRegistrationJob(List<Long> bootcampIds, String messageId) {
+        this.messageId = messageId;
+        bootcampIds.forEach(bootcampId -> items.put(bootcampId, new Item(bootcampId, ItemStatus.PENDING, null)));
+    }
+
+    synchronized void record(BootcampRegistrationResult result) {
+        ItemStatus status = result.registered() ? ItemStatus.REGISTERED : ItemStatus.FAILED;
+        items.put(result.bootcampId(), new Item(result.bootcampId(), status, result.error()));
+    }
+
+    synchronized void fail(Throwable error) {
+        items.replaceAll((bootcampId, item) -> item.status() == ItemStatus.PENDING
+                ? new Item(bootcampId, ItemStatus.FAILED, error.getMessage())
+                : item);
+    }
+
+    void complete() {
+        completedAt = LocalDateTime.now();
+    }
+
+    public synchronized List<Item> items() {
+        return List.copyOf(items.values());
+    }
+
+    public Status status() {
+        if (completedAt == null) {
+            return Status.RUNNING;
+        }
+        return items().stream().anyMatch(item -> item.status() != ItemStatus.REGISTERED)
+                ? Status.COMPLETED_WITH_ERRORS
+                : Status.COMPLETED;
+    }
+}
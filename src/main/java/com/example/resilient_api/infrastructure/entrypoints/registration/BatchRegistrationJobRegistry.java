@@ -0,0 +1,130 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.BootcampRegistrationResult;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import com.example.resilient_api.infrastructure.adapters.journal.RegistrationJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lanza registros de reportes por lote y conserva su estado durante un tiempo configurable
+ * Corren a la vez como máximo report.registration.batch.max-running-jobs lotes; con ese cupo en uso se responde 429.
+ * Cada lote se procesa en tramos de chunk-size bootcamps, uno tras otro: cada tramo se guarda apenas llegan sus
+ * usuarios y una falla de la consulta de usuarios afecta solo a su tramo.
+ * Cada tramo corre con el plazo de una reconstrucción (report.deadline.registration-budget) desde que empieza
+ */
+@Component
+@Slf4j
+public class BatchRegistrationJobRegistry {
+
+    private final BootcampReportServicePort bootcampReportServicePort;
+    private final RegistrationJournal registrationJournal;
+    private final int maxSize;
+    private final int concurrency;
+    private final int chunkSize;
+    private final int maxRunningJobs;
+    private final Duration retention;
+    private final Duration registrationBudget;
+    private final Map<String, BatchRegistrationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger runningJobs = new AtomicInteger();
+
+    public BatchRegistrationJobRegistry(BootcampReportServicePort bootcampReportServicePort,
+                                        RegistrationJournal registrationJournal,
+                                        @Value("${report.registration.batch.max-size:500}") int maxSize,
+                                        @Value("${report.registration.batch.concurrency:8}") int concurrency,
+                                        @Value("${report.registration.batch.chunk-size:50}") int chunkSize,
+                                        @Value("${report.registration.batch.max-running-jobs:2}") int maxRunningJobs,
+                                        @Value("${report.registration.batch.retention:1h}") Duration retention,
+                                        @Value("${report.deadline.registration-budget:30s}") Duration registrationBudget) {
+        this.bootcampReportServicePort = bootcampReportServicePort;
+        this.registrationJournal = registrationJournal;
+        this.maxSize = maxSize;
+        this.concurrency = concurrency;
+        this.chunkSize = chunkSize;
+        this.maxRunningJobs = maxRunningJobs;
+        this.retention = retention;
+        this.registrationBudget = registrationBudget;
+    }
+
+    /**
+     * Crea un job para el lote y lo procesa en background
+     * @return Mono con el job creado, error 400 si el lote está vacío o excede el tamaño máximo,
+     * o error 429 si ya corren max-running-jobs lotes
+     */
+    public Mono<BatchRegistrationJob> submit(List<Long> bootcampIds, String messageId) {
+        List<Long> distinctIds = bootcampIds == null ? List.of() : bootcampIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (distinctIds.isEmpty() || distinctIds.size() > maxSize) {
+            return Mono.error(new BusinessException(TechnicalMessage.INVALID_BATCH_REQUEST));
+        }
+
+        evictExpired();
+        if (runningJobs.incrementAndGet() > maxRunningJobs) {
+            runningJobs.decrementAndGet();
+            return Mono.error(new BusinessException(TechnicalMessage.BATCH_JOBS_BUSY));
+        }
+        // Anotar cada bootcamp en el journal antes de lanzar el job, para reprocesarlo si la instancia se reinicia
+        return registrationJournal.acceptAll(distinctIds, messageId)
+                .map(sequences -> start(distinctIds, messageId, sequences))
+                .doOnError(error -> runningJobs.decrementAndGet());
+    }
+
+    private BatchRegistrationJob start(List<Long> distinctIds, String messageId, Map<Long, Long> sequences) {
+        BatchRegistrationJob job = new BatchRegistrationJob(distinctIds, messageId);
+        jobs.put(job.getJobId(), job);
+        log.info("Batch registration job {} created for {} bootcamps with messageId: {}", job.getJobId(), distinctIds.size(), messageId);
+
+        // Solo los bootcamps registrados se marcan como completados; los fallidos se reprocesan al reiniciar
+        Flux.fromIterable(distinctIds)
+                .buffer(chunkSize)
+                .concatMap(chunk -> bootcampReportServicePort.registerBootcampReports(chunk, concurrency, messageId)
+                        .contextWrite(RequestDeadline.within(registrationBudget)))
+                .doOnNext(job::record)
+                .filter(BootcampRegistrationResult::registered)
+                .concatMap(result -> registrationJournal.complete(sequences.get(result.bootcampId()), result.bootcampId()))
+                .subscribe(
+                        null,
+                        error -> {
+                            job.fail(error);
+                            finish(job);
+                            log.error("Batch registration job {} failed with messageId: {}", job.getJobId(), messageId, error);
+                        },
+                        () -> {
+                            finish(job);
+                            log.info("Batch registration job {} finished with status {}", job.getJobId(), job.status());
+                        }
+                );
+        return job;
+    }
+
+    private void finish(BatchRegistrationJob job) {
+        job.complete();
+        runningJobs.decrementAndGet();
+    }
+
+    public Mono<BatchRegistrationJob> findJob(String jobId) {
+        return Mono.justOrEmpty(jobs.get(jobId))
+                .switchIfEmpty(Mono.error(new BusinessException(TechnicalMessage.BATCH_JOB_NOT_FOUND)));
+    }
+
+    private void evictExpired() {
+        LocalDateTime threshold = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(threshold));
+    }
+}
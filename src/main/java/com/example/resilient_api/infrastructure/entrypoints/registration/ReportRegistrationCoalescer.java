@@ -0,0 +1,156 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa las solicitudes de registro de un mismo bootcamp que llegan dentro de una ventana
+ * configurable y garantiza como máximo una reconstrucción en curso por bootcampId.
+ * Las solicitudes que llegan mientras hay una reconstrucción en curso se fusionan en una
+ * única reconstrucción posterior.
+ * Cada reconstrucción corre con su propio plazo (report.deadline.registration-budget) desde que empieza:
+ * vencido, las llamadas remotas en curso se cancelan y no se inician nuevas.
+ */
+@Component
+@Slf4j
+public class ReportRegistrationCoalescer {
+
+    private final BootcampReportServicePort bootcampReportServicePort;
+    private final Duration window;
+    private final Duration registrationBudget;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Counter acceptedCounter;
+    private final Counter mergedCounter;
+    private final Counter rebuildCounter;
+
+    public ReportRegistrationCoalescer(BootcampReportServicePort bootcampReportServicePort,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${report.registration.coalescing.window:100ms}") Duration window,
+                                       @Value("${report.deadline.registration-budget:30s}") Duration registrationBudget) {
+        this.bootcampReportServicePort = bootcampReportServicePort;
+        this.window = window;
+        this.registrationBudget = registrationBudget;
+        this.acceptedCounter = Counter.builder("report.registration.requests")
+                .description("Registration requests that opened a new rebuild")
+                .tag("outcome", "accepted")
+                .register(meterRegistry);
+        this.mergedCounter = Counter.builder("report.registration.requests")
+                .description("Registration requests merged into a pending rebuild")
+                .tag("outcome", "merged")
+                .register(meterRegistry);
+        this.rebuildCounter = Counter.builder("report.registration.rebuilds")
+                .description("Bootcamp report rebuilds executed")
+                .register(meterRegistry);
+        Gauge.builder("report.registration.coalescer.lanes", lanes, Map::size)
+                .description("Bootcamps with a pending or running rebuild")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encola una reconstrucción del reporte del bootcamp
+     * @return Mono que completa cuando termina la reconstrucción que cubre esta solicitud
+     */
+    public Mono<Void> submit(Long bootcampId, String messageId) {
+        return Mono.defer(() -> {
+            Admission admission = admit(bootcampId, messageId);
+            if (admission.merged()) {
+                mergedCounter.increment();
+                log.debug("Registration for bootcampId: {} with messageId: {} merged into pending rebuild", bootcampId, messageId);
+            } else {
+                acceptedCounter.increment();
+            }
+            if (admission.scheduleDrain()) {
+                scheduleDrain(bootcampId);
+            }
+            return admission.completion().asMono();
+        });
+    }
+
+    private Admission admit(Long bootcampId, String messageId) {
+        Admission[] admission = new Admission[1];
+        lanes.compute(bootcampId, (id, current) -> {
+            Lane lane = current != null ? current : new Lane();
+            if (lane.pending != null) {
+                admission[0] = new Admission(lane.pending, true, false);
+                return lane;
+            }
+            lane.pending = Sinks.one();
+            lane.pendingMessageId = messageId;
+            admission[0] = new Admission(lane.pending, false, !lane.running);
+            return lane;
+        });
+        return admission[0];
+    }
+
+    private void scheduleDrain(Long bootcampId) {
+        Mono.delay(window).subscribe(tick -> drain(bootcampId));
+    }
+
+    private void drain(Long bootcampId) {
+        Lane[] taken = new Lane[1];
+        lanes.computeIfPresent(bootcampId, (id, lane) -> {
+            if (lane.pending != null) {
+                Lane snapshot = new Lane();
+                snapshot.pending = lane.pending;
+                snapshot.pendingMessageId = lane.pendingMessageId;
+                taken[0] = snapshot;
+                lane.pending = null;
+                lane.pendingMessageId = null;
+                lane.running = true;
+            }
+            return lane;
+        });
+        if (taken[0] == null) {
+            return;
+        }
+
+        Sinks.One<Void> completion = taken[0].pending;
+        String messageId = taken[0].pendingMessageId;
+        rebuildCounter.increment();
+        log.debug("Starting coalesced rebuild for bootcampId: {} with messageId: {}", bootcampId, messageId);
+
+        bootcampReportServicePort.registerBootcampReport(bootcampId, messageId)
+                .contextWrite(RequestDeadline.within(registrationBudget))
+                .doFinally(signal -> release(bootcampId))
+                .subscribe(null, completion::tryEmitError, completion::tryEmitEmpty);
+    }
+
+    private void release(Long bootcampId) {
+        boolean[] reschedule = new boolean[1];
+        lanes.computeIfPresent(bootcampId, (id, lane) -> {
+            lane.running = false;
+            if (lane.pending != null) {
+                reschedule[0] = true;
+                return lane;
+            }
+            return null;
+        });
+        if (reschedule[0]) {
+            scheduleDrain(bootcampId);
+        }
+    }
+
+    /**
+     * Estado por bootcamp; solo se modifica dentro de las operaciones atómicas del mapa
+     */
+    private static final class Lane {
+        private Sinks.One<Void> pending;
+        private String pendingMessageId;
+        private boolean running;
+    }
+
+    private record Admission(Sinks.One<Void> completion, boolean merged, boolean scheduleDrain) {
+    }
+}
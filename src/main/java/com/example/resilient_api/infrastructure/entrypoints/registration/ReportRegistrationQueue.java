@@ -0,0 +1,323 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.infrastructure.adapters.journal.RegistrationJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cola acotada de registros de reportes pendientes de procesar.
+ * Un 202 significa que el registro quedó en la cola: la cola limita la cantidad de registros
+ * en espera y la cantidad procesándose a la vez, y aplica una política de desborde configurable.
+ * Los registros en espera del mismo bootcamp comparten una única entrada.
+ * Cada registro se anota en el journal local antes de admitirlo y se marca como completado solo cuando la
+ * reconstrucción termina bien; los fallidos o descartados se reprocesan si la instancia se reinicia.
+ */
+@Component
+@Slf4j
+public class ReportRegistrationQueue {
+
+    public enum OverflowPolicy {
+        REJECT,
+        DROP_OLDEST,
+        BLOCK
+    }
+
+    private final ReportRegistrationCoalescer reportRegistrationCoalescer;
+    private final RegistrationJournal registrationJournal;
+    private final int capacity;
+    private final int workers;
+    private final OverflowPolicy overflowPolicy;
+    private final Duration blockTimeout;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<Long, QueuedRegistration> waiting = new LinkedHashMap<>();
+    private final LinkedHashMap<Long, BlockedProducer> blockedProducers = new LinkedHashMap<>();
+    private int inFlight;
+
+    private final Timer waitTimer;
+    private final Timer processingTimer;
+    private final Counter mergedCounter;
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+
+    public ReportRegistrationQueue(ReportRegistrationCoalescer reportRegistrationCoalescer,
+                                   RegistrationJournal registrationJournal,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${report.registration.queue.capacity:1000}") int capacity,
+                                   @Value("${report.registration.queue.workers:16}") int workers,
+                                   @Value("${report.registration.queue.overflow-policy:REJECT}") OverflowPolicy overflowPolicy,
+                                   @Value("${report.registration.queue.block-timeout:2s}") Duration blockTimeout) {
+        this.reportRegistrationCoalescer = reportRegistrationCoalescer;
+        this.registrationJournal = registrationJournal;
+        this.capacity = capacity;
+        this.workers = workers;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+
+        this.waitTimer = Timer.builder("report.registration.queue.wait")
+                .description("Time registrations spend waiting in the queue")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("report.registration.queue.processing")
+                .description("Time spent processing a dequeued registration")
+                .register(meterRegistry);
+        this.mergedCounter = Counter.builder("report.registration.queue.merged")
+                .description("Registrations merged into an entry already waiting in the queue")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("report.registration.queue.overflow")
+                .description("Registrations affected by the overflow policy")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("report.registration.queue.overflow")
+                .description("Registrations affected by the overflow policy")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("report.registration.queue.depth", this, ReportRegistrationQueue::depth)
+                .description("Registrations waiting in the queue")
+                .register(meterRegistry);
+        Gauge.builder("report.registration.queue.in-flight", this, ReportRegistrationQueue::inFlight)
+                .description("Registrations being processed")
+                .register(meterRegistry);
+        Gauge.builder("report.registration.queue.blocked", this, ReportRegistrationQueue::blocked)
+                .description("Producers waiting for queue capacity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agrega un registro a la cola
+     * @return Mono con el ticket del registro una vez aceptado en la cola, o error 429 si la cola está llena
+     */
+    public Mono<RegistrationTicket> enqueue(Long bootcampId, String messageId) {
+        return registrationJournal.accept(bootcampId, messageId)
+                .flatMap(sequence -> admit(bootcampId, messageId)
+                        .doOnNext(ticket -> checkpointOnSuccess(ticket, sequence))
+                        .onErrorResume(error -> registrationJournal.withdraw(sequence, bootcampId).then(Mono.error(error))));
+    }
+
+    private Mono<RegistrationTicket> admit(Long bootcampId, String messageId) {
+        return Mono.defer(() -> {
+            Offer offer;
+            synchronized (lock) {
+                offer = offer(bootcampId, messageId);
+            }
+            if (offer.dropped() != null) {
+                droppedCounter.increment();
+                log.warn("Dropped oldest queued registration for bootcampId: {} with messageId: {}",
+                        offer.dropped().bootcampId, offer.dropped().messageId);
+                offer.dropped().completion.tryEmitError(new TechnicalException(TechnicalMessage.REGISTRATION_DROPPED));
+            }
+            dispatch();
+            return offer.result();
+        });
+    }
+
+    /**
+     * Reprocesa los registros aceptados antes del último reinicio que no llegaron a completarse
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayJournal() {
+        List<RegistrationJournal.PendingRegistration> recovered = registrationJournal.recoveredRegistrations();
+        if (recovered.isEmpty()) {
+            return;
+        }
+        log.info("Replaying {} journaled bootcamp report registrations", recovered.size());
+
+        Flux.fromIterable(recovered)
+                .concatMap(registration -> enqueue(registration.bootcampId(), registration.messageId())
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofMillis(100))
+                                .maxBackoff(Duration.ofSeconds(5))
+                                .filter(BusinessException.class::isInstance)))
+                .subscribe(
+                        null,
+                        error -> log.error("Error replaying journaled bootcamp report registrations", error),
+                        () -> log.info("Journaled bootcamp report registrations replayed")
+                );
+    }
+
+    /**
+     * Un registro fallido o descartado queda pendiente en el journal para reprocesarse al reiniciar
+     */
+    private void checkpointOnSuccess(RegistrationTicket ticket, long sequence) {
+        ticket.completion()
+                .then(registrationJournal.complete(sequence, ticket.bootcampId()))
+                .subscribe(null, error -> log.debug("Registration for bootcampId: {} with messageId: {} not checkpointed: {}",
+                        ticket.bootcampId(), ticket.messageId(), error.getMessage()));
+    }
+
+    private Offer offer(Long bootcampId, String messageId) {
+        QueuedRegistration existing = waiting.get(bootcampId);
+        if (existing != null) {
+            mergedCounter.increment();
+            return new Offer(Mono.just(existing.ticket()), null);
+        }
+        BlockedProducer blocked = blockedProducers.get(bootcampId);
+        if (blocked != null) {
+            mergedCounter.increment();
+            return new Offer(blocked.awaitAdmission(), null);
+        }
+
+        QueuedRegistration registration = new QueuedRegistration(bootcampId, messageId);
+        if (waiting.size() < capacity) {
+            waiting.put(bootcampId, registration);
+            return new Offer(Mono.just(registration.ticket()), null);
+        }
+
+        return switch (overflowPolicy) {
+            case REJECT -> {
+                rejectedCounter.increment();
+                yield new Offer(Mono.error(new BusinessException(TechnicalMessage.REGISTRATION_QUEUE_FULL)), null);
+            }
+            case DROP_OLDEST -> {
+                Iterator<QueuedRegistration> oldest = waiting.values().iterator();
+                QueuedRegistration dropped = oldest.next();
+                oldest.remove();
+                waiting.put(bootcampId, registration);
+                yield new Offer(Mono.just(registration.ticket()), dropped);
+            }
+            case BLOCK -> {
+                BlockedProducer producer = new BlockedProducer(registration);
+                blockedProducers.put(bootcampId, producer);
+                yield new Offer(producer.awaitAdmission(), null);
+            }
+        };
+    }
+
+    private void dispatch() {
+        List<QueuedRegistration> started = new ArrayList<>();
+        List<BlockedProducer> admitted = new ArrayList<>();
+        synchronized (lock) {
+            while (inFlight < workers && !waiting.isEmpty()) {
+                Iterator<QueuedRegistration> next = waiting.values().iterator();
+                started.add(next.next());
+                next.remove();
+                inFlight++;
+
+                Iterator<BlockedProducer> blocked = blockedProducers.values().iterator();
+                if (blocked.hasNext()) {
+                    BlockedProducer producer = blocked.next();
+                    blocked.remove();
+                    waiting.put(producer.registration.bootcampId, producer.registration);
+                    admitted.add(producer);
+                }
+            }
+        }
+        admitted.forEach(producer -> producer.admission.tryEmitValue(producer.registration.ticket()));
+        started.forEach(this::process);
+    }
+
+    private void process(QueuedRegistration registration) {
+        waitTimer.record(System.nanoTime() - registration.enqueuedAt, TimeUnit.NANOSECONDS);
+        long startedAt = System.nanoTime();
+
+        reportRegistrationCoalescer.submit(registration.bootcampId, registration.messageId)
+                .doFinally(signal -> {
+                    processingTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    synchronized (lock) {
+                        inFlight--;
+                    }
+                    dispatch();
+                })
+                .subscribe(
+                        null,
+                        error -> {
+                            log.error("Async error registering bootcamp report for bootcampId: {} with messageId: {}",
+                                    registration.bootcampId, registration.messageId, error);
+                            registration.completion.tryEmitError(error);
+                        },
+                        () -> {
+                            log.info("Async bootcamp report registration completed for bootcampId: {} with messageId: {}",
+                                    registration.bootcampId, registration.messageId);
+                            registration.completion.tryEmitEmpty();
+                        }
+                );
+    }
+
+    private double depth() {
+        synchronized (lock) {
+            return waiting.size();
+        }
+    }
+
+    private double inFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    private double blocked() {
+        synchronized (lock) {
+            return blockedProducers.size();
+        }
+    }
+
+    /**
+     * Registro aceptado en la cola
+     * @param completion Mono que completa cuando el reporte fue reconstruido
+     */
+    public record RegistrationTicket(Long bootcampId, String messageId, Mono<Void> completion) {
+    }
+
+    private static final class QueuedRegistration {
+        private final Long bootcampId;
+        private final String messageId;
+        private final long enqueuedAt = System.nanoTime();
+        private final Sinks.Empty<Void> completion = Sinks.empty();
+
+        private QueuedRegistration(Long bootcampId, String messageId) {
+            this.bootcampId = bootcampId;
+            this.messageId = messageId;
+        }
+
+        private RegistrationTicket ticket() {
+            return new RegistrationTicket(bootcampId, messageId, completion.asMono());
+        }
+    }
+
+    private final class BlockedProducer {
+        private final QueuedRegistration registration;
+        private final Sinks.One<RegistrationTicket> admission = Sinks.one();
+
+        private BlockedProducer(QueuedRegistration registration) {
+            this.registration = registration;
+            Mono.delay(blockTimeout).subscribe(tick -> expire());
+        }
+
+        private Mono<RegistrationTicket> awaitAdmission() {
+            return admission.asMono();
+        }
+
+        private void expire() {
+            boolean stillBlocked;
+            synchronized (lock) {
+                stillBlocked = blockedProducers.remove(registration.bootcampId, this);
+            }
+            if (stillBlocked) {
+                rejectedCounter.increment();
+                admission.tryEmitError(new BusinessException(TechnicalMessage.REGISTRATION_QUEUE_FULL));
+            }
+        }
+    }
+
+    private record Offer(Mono<RegistrationTicket> result, QueuedRegistration dropped) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.resilient_api.domain.model;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para ReportFreshness
+ */
+class ReportFreshnessTest {
+
+    @Test
+    void parse_ShouldAcceptStoredFreshAndMaxAge() {
+        assertThat(ReportFreshness.parse(null)).isEqualTo(ReportFreshness.FRESH);
+        assertThat(ReportFreshness.parse(" ")).isEqualTo(ReportFreshness.FRESH);
+        assertThat(ReportFreshness.parse("Fresh")).isEqualTo(ReportFreshness.FRESH);
+        assertThat(ReportFreshness.parse("stored")).isEqualTo(ReportFreshness.STORED);
+        assertThat(ReportFreshness.parse("max-age=60")).isEqualTo(ReportFreshness.maxAge(Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void parse_WithInvalidValue_ShouldThrowBusinessException() {
+        for (String value : new String[]{"latest", "max-age=", "max-age=abc", "max-age=-1"}) {
+            assertThatThrownBy(() -> ReportFreshness.parse(value))
+                    .isInstanceOf(BusinessException.class)
+                    .matches(error -> ((BusinessException) error).getTechnicalMessage() == TechnicalMessage.INVALID_FRESHNESS);
+        }
+    }
+
+    @Test
+    void requiresRefresh_ShouldDependOnModeAndAge() {
+        LocalDateTime now = LocalDateTime.now();
+        ReportFreshness maxAge = ReportFreshness.maxAge(Duration.ofSeconds(60));
+
+        assertThat(ReportFreshness.STORED.requiresRefresh(now.minusDays(1), now)).isFalse();
+        assertThat(ReportFreshness.FRESH.requiresRefresh(now, now)).isTrue();
+        assertThat(maxAge.requiresRefresh(now.minusSeconds(30), now)).isFalse();
+        assertThat(maxAge.requiresRefresh(now.minusSeconds(90), now)).isTrue();
+        assertThat(maxAge.requiresRefresh(null, now)).isTrue();
+    }
+}
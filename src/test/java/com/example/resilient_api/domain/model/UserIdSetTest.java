@@ -0,0 +1,44 @@
+package com.example.resilient_api.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para UserIdSet
+ */
+class UserIdSetTest {
+
+    @Test
+    void of_ShouldSortAndDropDuplicates() {
+        UserIdSet ids = UserIdSet.of(new long[]{300L, 100L, 300L, 200L, 100L});
+
+        assertThat(ids.size()).isEqualTo(3);
+        assertThat(ids.toList()).containsExactly(100L, 200L, 300L);
+        assertThat(ids.contains(200L)).isTrue();
+        assertThat(ids.contains(400L)).isFalse();
+        assertThat(ids.contains(null)).isFalse();
+    }
+
+    @Test
+    void ofUsers_ShouldIgnoreUsersWithoutId() {
+        UserIdSet ids = UserIdSet.ofUsers(Arrays.asList(
+                new UserEnrollment(200L, "Jane Smith", "jane@example.com"),
+                new UserEnrollment(null, "Unknown", "unknown@example.com")));
+
+        assertThat(ids.toList()).containsExactly(200L);
+    }
+
+    @Test
+    void minus_ShouldKeepOnlyIdsMissingFromOther() {
+        UserIdSet current = UserIdSet.of(new long[]{100L, 200L, 300L, 500L});
+        UserIdSet stored = UserIdSet.of(new long[]{50L, 200L, 300L, 400L});
+
+        assertThat(current.minus(stored).toList()).containsExactly(100L, 500L);
+        assertThat(current.minus(current).isEmpty()).isTrue();
+        assertThat(UserIdSet.of(new long[0]).minus(stored).toList()).isEqualTo(List.of());
+    }
+}
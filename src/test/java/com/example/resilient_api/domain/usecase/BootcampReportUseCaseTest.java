@@ -1,24 +1,32 @@
 package com.example.resilient_api.domain.usecase;
 
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.ServedFreshness;
 import com.example.resilient_api.domain.enums.TechnicalMessage;
 import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
 import com.example.resilient_api.domain.model.*;
 import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
 import com.example.resilient_api.domain.spi.BootcampExternalServicePort;
 import com.example.resilient_api.domain.spi.BootcampInfo;
+import com.example.resilient_api.domain.spi.RebuildLanePort;
+import com.example.resilient_api.domain.spi.StageMetricsPort;
 import com.example.resilient_api.domain.spi.UserExternalServicePort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -40,7 +48,16 @@ class BootcampReportUseCaseTest {
     @Mock
     private UserExternalServicePort userExternalServicePort;
 
-    @InjectMocks
+    @Mock
+    private StageMetricsPort stageMetricsPort;
+
+    private final RebuildLanePort rebuildLanePort = new RebuildLanePort() {
+        @Override
+        public <T> Mono<T> runExclusive(Long laneBootcampId, Mono<T> work) {
+            return work;
+        }
+    };
+
     private BootcampReportUseCase bootcampReportUseCase;
 
     private String messageId;
@@ -50,6 +67,10 @@ class BootcampReportUseCaseTest {
 
     @BeforeEach
     void setUp() {
+        bootcampReportUseCase = new BootcampReportUseCase(bootcampReportPersistencePort, bootcampExternalServicePort,
+                userExternalServicePort, stageMetricsPort, rebuildLanePort, ReportBuildSettings.defaults());
+        // Por defecto el bootcamp aún no tiene reporte guardado
+        lenient().when(bootcampReportPersistencePort.findByBootcampId(anyLong())).thenReturn(Mono.empty());
         messageId = "test-message-id-123";
         bootcampId = 1L;
 
@@ -141,31 +162,76 @@ class BootcampReportUseCaseTest {
     }
 
     @Test
-    void getMostPopularBootcamp_WithExistingReport_ShouldReturnEnrichedReport() {
-        // Arrange
+    void getMostPopularBootcamp_WithExistingReport_ShouldFetchOnlyNewUsers() {
+        // Arrange - El reporte ya tiene al usuario 100; el 200 es nuevo
         when(bootcampReportPersistencePort.findMostPopularBootcamp())
                 .thenReturn(Mono.just(completeReport));
-        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId))
-                .thenReturn(Flux.just(100L, 200L)); // 2 usuarios actuales
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[]{200L, 100L}));
 
-        UserEnrollment user1 = new UserEnrollment(100L, "John Doe", "john@example.com");
         UserEnrollment user2 = new UserEnrollment(200L, "Jane Smith", "jane@example.com");
 
-        when(userExternalServicePort.getUsersByIds(anyList(), eq(messageId)))
-                .thenReturn(Flux.just(user1, user2));
+        when(userExternalServicePort.getUsersByIds(List.of(200L), messageId))
+                .thenReturn(Flux.just(user2));
 
         // Act & Assert
         StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(messageId))
                 .expectNextMatches(report ->
                         report.bootcampId().equals(bootcampId) &&
                         report.enrolledUsersCount() == 2 &&
-                        report.enrolledUsers().size() == 2
+                        report.enrolledUsers().stream().map(UserEnrollment::userId).toList().equals(List.of(100L, 200L))
                 )
                 .verifyComplete();
 
         verify(bootcampReportPersistencePort).findMostPopularBootcamp();
-        verify(bootcampExternalServicePort).getUserIdsByBootcampId(bootcampId, messageId);
-        verify(userExternalServicePort).getUsersByIds(anyList(), eq(messageId));
+        verify(bootcampExternalServicePort).collectUserIdsByBootcampId(bootcampId, messageId);
+        verify(userExternalServicePort).getUsersByIds(List.of(200L), messageId);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithUnchangedUsers_ShouldReuseStoredUsersWithoutFetching() {
+        // Arrange - Reporte leído de Mongo: los usuarios viven en los buckets
+        BootcampReport storedReport = completeReport.toBuilder()
+                .enrolledUsersCount(2)
+                .enrolledUsers(List.of())
+                .build();
+        UserEnrollment user1 = new UserEnrollment(100L, "John Doe", "john@example.com");
+        UserEnrollment user2 = new UserEnrollment(200L, "Jane Smith", "jane@example.com");
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(storedReport));
+        when(bootcampReportPersistencePort.findEnrolledUsers(bootcampId))
+                .thenReturn(Flux.just(user1, user2));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[]{100L, 200L, 200L}));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(messageId))
+                .expectNextMatches(report -> report.enrolledUsersCount() == 2 &&
+                        report.enrolledUsers().equals(List.of(user1, user2)))
+                .verifyComplete();
+
+        verify(userExternalServicePort, never()).getUsersByIds(anyList(), anyString());
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithRemovedUser_ShouldDropItLocally() {
+        // Arrange - El usuario 100 ya no está inscrito
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[0]));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(messageId))
+                .expectNextMatches(report ->
+                        report.bootcampId().equals(bootcampId) &&
+                        report.enrolledUsersCount() == 0 &&
+                        report.enrolledUsers().isEmpty()
+                )
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort, never()).findEnrolledUsers(anyLong());
+        verify(userExternalServicePort, never()).getUsersByIds(anyList(), anyString());
     }
 
     @Test
@@ -183,29 +249,30 @@ class BootcampReportUseCaseTest {
                 .verify();
 
         verify(bootcampReportPersistencePort).findMostPopularBootcamp();
-        verify(bootcampExternalServicePort, never()).getUserIdsByBootcampId(anyLong(), anyString());
+        verify(bootcampExternalServicePort, never()).collectUserIdsByBootcampId(anyLong(), anyString());
     }
 
     @Test
-    void getMostPopularBootcamp_WithNoCurrentUsers_ShouldReturnReportWithZeroUsers() {
-        // Arrange - Reporte existe pero ya no tiene usuarios inscritos
+    void getMostPopularBootcamp_WithNoStoredUsers_ShouldSkipEnrollmentBuckets() {
+        // Arrange - Reporte sin inscritos que ahora tiene uno
+        BootcampReport emptyReport = completeReport.toBuilder()
+                .enrolledUsersCount(0)
+                .enrolledUsers(List.of())
+                .build();
+        UserEnrollment user1 = new UserEnrollment(100L, "John Doe", "john@example.com");
         when(bootcampReportPersistencePort.findMostPopularBootcamp())
-                .thenReturn(Mono.just(completeReport));
-        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId))
-                .thenReturn(Flux.empty()); // Ya no hay usuarios
+                .thenReturn(Mono.just(emptyReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[]{100L}));
+        when(userExternalServicePort.getUsersByIds(List.of(100L), messageId))
+                .thenReturn(Flux.just(user1));
 
         // Act & Assert
         StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(messageId))
-                .expectNextMatches(report ->
-                        report.bootcampId().equals(bootcampId) &&
-                        report.enrolledUsersCount() == 0 &&
-                        report.enrolledUsers().isEmpty()
-                )
+                .expectNextMatches(report -> report.enrolledUsersCount() == 1)
                 .verifyComplete();
 
-        verify(bootcampReportPersistencePort).findMostPopularBootcamp();
-        verify(bootcampExternalServicePort).getUserIdsByBootcampId(bootcampId, messageId);
-        verify(userExternalServicePort, never()).getUsersByIds(anyList(), anyString());
+        verify(bootcampReportPersistencePort, never()).findEnrolledUsers(anyLong());
     }
 
     @Test
@@ -253,4 +320,506 @@ class BootcampReportUseCaseTest {
                 report.enrolledUsersCount() == 3
         ));
     }
+
+    @Test
+    void registerBootcampReports_WithDuplicatedIds_ShouldGroupUserLookupInSingleCall() {
+        // Arrange - Dos bootcamps (uno repetido) que comparten un usuario
+        BootcampInfo secondBootcamp = new BootcampInfo(2L, "Python Bootcamp", "Python training",
+                LocalDate.of(2024, 2, 1), 60, bootcampInfo.capacities());
+
+        when(bootcampExternalServicePort.getBootcampById(1L, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getBootcampById(2L, messageId)).thenReturn(Mono.just(secondBootcamp));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(1L, messageId)).thenReturn(Flux.just(100L, 200L));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(2L, messageId)).thenReturn(Flux.just(200L));
+        when(userExternalServicePort.getUsersByIds(List.of(100L, 200L), messageId))
+                .thenReturn(Flux.just(
+                        new UserEnrollment(100L, "John Doe", "john@example.com"),
+                        new UserEnrollment(200L, "Jane Smith", "jane@example.com")));
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReports(List.of(1L, 2L, 1L), 4, messageId)
+                        .collectList())
+                .expectNextMatches(results -> results.size() == 2 &&
+                        results.stream().allMatch(BootcampRegistrationResult::registered))
+                .verifyComplete();
+
+        verify(bootcampExternalServicePort, times(1)).getBootcampById(1L, messageId);
+        verify(userExternalServicePort, times(1)).getUsersByIds(anyList(), eq(messageId));
+        verify(bootcampReportPersistencePort).save(argThat(report ->
+                report.bootcampId().equals(2L) && report.enrolledUsersCount() == 1));
+    }
+
+    @Test
+    void registerBootcampReports_WithUnknownBootcamp_ShouldReportFailureForThatBootcampOnly() {
+        // Arrange - El bootcamp 99 no existe
+        when(bootcampExternalServicePort.getBootcampById(1L, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getBootcampById(99L, messageId)).thenReturn(Mono.empty());
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(anyLong(), eq(messageId))).thenReturn(Flux.empty());
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReports(List.of(1L, 99L), 2, messageId)
+                        .collectMap(BootcampRegistrationResult::bootcampId))
+                .expectNextMatches(results -> results.get(1L).registered() &&
+                        !results.get(99L).registered() &&
+                        results.get(99L).error().equals(TechnicalMessage.BOOTCAMP_NOT_FOUND.getMessage()))
+                .verifyComplete();
+
+        verify(userExternalServicePort, never()).getUsersByIds(anyList(), anyString());
+        verify(bootcampReportPersistencePort, times(1)).save(any(BootcampReport.class));
+    }
+
+    @Test
+    void registerBootcampReports_WhenBootcampLaneIsBusy_ShouldFailOnlyThatBootcamp() {
+        // Arrange - El carril del bootcamp 2 sigue ocupado por otra reconstrucción
+        RebuildLanePort busyLane = new RebuildLanePort() {
+            @Override
+            public <T> Mono<T> runExclusive(Long laneBootcampId, Mono<T> work) {
+                return laneBootcampId == 2L
+                        ? Mono.error(new TechnicalException(TechnicalMessage.REBUILD_LANE_BUSY))
+                        : work;
+            }
+        };
+        bootcampReportUseCase = new BootcampReportUseCase(bootcampReportPersistencePort, bootcampExternalServicePort,
+                userExternalServicePort, stageMetricsPort, busyLane, ReportBuildSettings.defaults());
+        BootcampInfo secondBootcamp = new BootcampInfo(2L, "Python Bootcamp", "Python training",
+                LocalDate.of(2024, 2, 1), 60, bootcampInfo.capacities());
+
+        when(bootcampExternalServicePort.getBootcampById(1L, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getBootcampById(2L, messageId)).thenReturn(Mono.just(secondBootcamp));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(anyLong(), eq(messageId))).thenReturn(Flux.empty());
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReports(List.of(1L, 2L), 2, messageId)
+                        .collectMap(BootcampRegistrationResult::bootcampId))
+                .expectNextMatches(results -> results.get(1L).registered() &&
+                        !results.get(2L).registered() &&
+                        results.get(2L).error().equals(TechnicalMessage.REBUILD_LANE_BUSY.getMessage()))
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort, times(1)).save(argThat(report -> report.bootcampId().equals(1L)));
+        verify(bootcampReportPersistencePort, never()).save(argThat(report -> report.bootcampId().equals(2L)));
+    }
+
+    @Test
+    void registerBootcampReport_WhenReportChangesWhileBuilding_ShouldRebuildWithNewVersion() {
+        // Arrange - Una inscripción sube la versión del reporte mientras se arma la primera reconstrucción
+        when(bootcampReportPersistencePort.findByBootcampId(bootcampId))
+                .thenReturn(Mono.just(completeReport.toBuilder().version(4L).build()),
+                        Mono.just(completeReport.toBuilder().version(5L).build()));
+        when(bootcampExternalServicePort.getBootcampById(bootcampId, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)).thenReturn(Flux.empty());
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.REPORT_VERSION_CONFLICT)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReport(bootcampId, messageId))
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort).save(argThat(report -> Long.valueOf(4L).equals(report.version())));
+        verify(bootcampReportPersistencePort).save(argThat(report -> Long.valueOf(5L).equals(report.version())));
+        verify(bootcampExternalServicePort, times(2)).getBootcampById(bootcampId, messageId);
+    }
+
+    @Test
+    void registerBootcampReports_WhenReportChangedSinceSnapshot_ShouldRebuildThatBootcampIndividually() {
+        // Arrange - El reporte del bootcamp 1 cambió entre el snapshot del lote y su guardado
+        when(bootcampReportPersistencePort.findByBootcampId(1L))
+                .thenReturn(Mono.just(completeReport.toBuilder().version(4L).build()),
+                        Mono.just(completeReport.toBuilder().version(5L).build()));
+        when(bootcampExternalServicePort.getBootcampById(1L, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(1L, messageId)).thenReturn(Flux.empty());
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenReturn(Mono.error(new BusinessException(TechnicalMessage.REPORT_VERSION_CONFLICT)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReports(List.of(1L), 1, messageId))
+                .expectNextMatches(BootcampRegistrationResult::registered)
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort).save(argThat(report -> Long.valueOf(4L).equals(report.version())));
+        verify(bootcampReportPersistencePort).save(argThat(report -> Long.valueOf(5L).equals(report.version())));
+    }
+
+    @Test
+    void registerBootcampReports_WhenUserServiceFails_ShouldReportFailureForAllBootcamps() {
+        // Arrange
+        when(bootcampExternalServicePort.getBootcampById(1L, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(1L, messageId)).thenReturn(Flux.just(100L));
+        when(userExternalServicePort.getUsersByIds(anyList(), eq(messageId)))
+                .thenReturn(Flux.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReports(List.of(1L), 2, messageId))
+                .expectNextMatches(result -> !result.registered() &&
+                        result.error().equals(TechnicalMessage.USER_SERVICE_ERROR.getMessage()))
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort, never()).save(any());
+    }
+
+    @Test
+    void enrollUser_WithExistingUser_ShouldFetchOnlyThatUserAndApplyDelta() {
+        // Arrange
+        UserEnrollment user = new UserEnrollment(200L, "Jane Doe", "jane@example.com");
+        when(userExternalServicePort.getUsersByIds(List.of(200L), messageId)).thenReturn(Flux.just(user));
+        when(bootcampReportPersistencePort.addEnrolledUser(bootcampId, user)).thenReturn(Mono.just(EnrollmentChange.APPLIED));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.enrollUser(bootcampId, 200L, messageId))
+                .expectNext(EnrollmentChange.APPLIED)
+                .verifyComplete();
+
+        verify(bootcampExternalServicePort, never()).getUserIdsByBootcampId(anyLong(), anyString());
+        verify(bootcampReportPersistencePort, never()).save(any());
+    }
+
+    @Test
+    void enrollUser_WithUnknownUser_ShouldThrowBusinessException() {
+        // Arrange
+        when(userExternalServicePort.getUsersByIds(List.of(200L), messageId)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.enrollUser(bootcampId, 200L, messageId))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException &&
+                        businessException.getTechnicalMessage() == TechnicalMessage.USER_NOT_FOUND)
+                .verify();
+
+        verify(bootcampReportPersistencePort, never()).addEnrolledUser(anyLong(), any());
+    }
+
+    @Test
+    void enrollUser_WhenBootcampLaneIsBusy_ShouldNotApplyDelta() {
+        // Arrange - Una reconstrucción del bootcamp sigue con el carril tomado
+        RebuildLanePort busyLane = new RebuildLanePort() {
+            @Override
+            public <T> Mono<T> runExclusive(Long laneBootcampId, Mono<T> work) {
+                return Mono.error(new TechnicalException(TechnicalMessage.REBUILD_LANE_BUSY));
+            }
+        };
+        bootcampReportUseCase = new BootcampReportUseCase(bootcampReportPersistencePort, bootcampExternalServicePort,
+                userExternalServicePort, stageMetricsPort, busyLane, ReportBuildSettings.defaults());
+        UserEnrollment user = new UserEnrollment(200L, "Jane Doe", "jane@example.com");
+        when(userExternalServicePort.getUsersByIds(List.of(200L), messageId)).thenReturn(Flux.just(user));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.enrollUser(bootcampId, 200L, messageId))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException &&
+                        technicalException.getTechnicalMessage() == TechnicalMessage.REBUILD_LANE_BUSY)
+                .verify();
+
+        verify(bootcampReportPersistencePort, never()).addEnrolledUser(anyLong(), any());
+    }
+
+    @Test
+    void unenrollUser_ShouldApplyDeltaWithoutCallingExternalServices() {
+        // Arrange
+        when(bootcampReportPersistencePort.removeEnrolledUser(bootcampId, 100L)).thenReturn(Mono.just(EnrollmentChange.UNCHANGED));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.unenrollUser(bootcampId, 100L, messageId))
+                .expectNext(EnrollmentChange.UNCHANGED)
+                .verifyComplete();
+
+        verifyNoInteractions(userExternalServicePort, bootcampExternalServicePort);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithStoredFreshness_ShouldSkipDownstreamServices() {
+        // Arrange - Reporte leído de Mongo con sus usuarios en los buckets
+        LocalDateTime updatedAt = LocalDateTime.now().minusDays(1);
+        BootcampReport storedReport = completeReport.toBuilder()
+                .enrolledUsers(List.of())
+                .updatedAt(updatedAt)
+                .build();
+        UserEnrollment user1 = new UserEnrollment(100L, "John Doe", "john@example.com");
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(storedReport));
+        when(bootcampReportPersistencePort.findEnrolledUsers(bootcampId))
+                .thenReturn(Flux.just(user1));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.STORED, messageId))
+                .expectNextMatches(read -> read.served() == ServedFreshness.STORED &&
+                        read.report().enrolledUsers().equals(List.of(user1)) &&
+                        read.report().updatedAt().equals(updatedAt))
+                .verifyComplete();
+
+        verifyNoInteractions(bootcampExternalServicePort, userExternalServicePort);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithinMaxAge_ShouldServeStoredReport() {
+        // Arrange
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.maxAge(Duration.ofMinutes(5)), messageId))
+                .expectNextMatches(read -> read.served() == ServedFreshness.STORED && read.report().enrolledUsersCount() == 1)
+                .verifyComplete();
+
+        verifyNoInteractions(bootcampExternalServicePort, userExternalServicePort);
+    }
+
+    @Test
+    void getMostPopularBootcamp_OlderThanMaxAge_ShouldEnrichReport() {
+        // Arrange - El reporte tiene una hora y se aceptan cinco minutos
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport.toBuilder().updatedAt(LocalDateTime.now().minusHours(1)).build()));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[]{100L}));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.maxAge(Duration.ofMinutes(5)), messageId))
+                .expectNextMatches(read -> read.served() == ServedFreshness.FRESH &&
+                        read.report().updatedAt().isAfter(LocalDateTime.now().minusMinutes(1)))
+                .verifyComplete();
+
+        verify(userExternalServicePort, never()).getUsersByIds(anyList(), anyString());
+    }
+
+    @Test
+    void getMostPopularBootcamp_WhenDownstreamUnavailable_ShouldServeStoredReportAsStale() {
+        // Arrange - Circuito abierto: bootcamp-api rechaza la llamada al instante
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.error(new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.maxAge(Duration.ZERO), messageId))
+                .expectNextMatches(read -> read.served() == ServedFreshness.STALE && read.report() == completeReport)
+                .verifyComplete();
+
+        verify(stageMetricsPort).recordDegradedRead("most-popular", "unavailable");
+        verify(userExternalServicePort, never()).getUsersByIds(anyList(), anyString());
+    }
+
+    @Test
+    void getMostPopularBootcamp_WhenEnrichmentExceedsBudget_ShouldServeStoredReportAsStale() {
+        // Arrange - users-api no responde dentro del presupuesto de lectura
+        bootcampReportUseCase = new BootcampReportUseCase(bootcampReportPersistencePort, bootcampExternalServicePort,
+                userExternalServicePort, stageMetricsPort, rebuildLanePort, ReportBuildSettings.defaults().toBuilder()
+                        .readEnrichmentBudget(Duration.ofMillis(50))
+                        .build());
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[]{100L, 200L}));
+        when(userExternalServicePort.getUsersByIds(List.of(200L), messageId))
+                .thenReturn(Flux.never());
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.maxAge(Duration.ZERO), messageId))
+                .expectNextMatches(read -> read.served() == ServedFreshness.STALE && read.report().enrolledUsersCount() == 1)
+                .verifyComplete();
+
+        verify(stageMetricsPort).recordDegradedRead("most-popular", "timeout");
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithFreshFreshness_ShouldPropagateErrorInsteadOfDegrading() {
+        // Arrange - Quien pide fresh no acepta el reporte guardado
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.error(new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.FRESH, messageId))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException &&
+                        technicalException.getTechnicalMessage() == TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE)
+                .verify();
+
+        verify(stageMetricsPort, never()).recordDegradedRead(anyString(), anyString());
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithFreshFreshness_ShouldWaitPastEnrichmentBudget() {
+        // Arrange - users-api responde después del presupuesto de lectura
+        bootcampReportUseCase = new BootcampReportUseCase(bootcampReportPersistencePort, bootcampExternalServicePort,
+                userExternalServicePort, stageMetricsPort, rebuildLanePort, ReportBuildSettings.defaults().toBuilder()
+                        .readEnrichmentBudget(Duration.ofMillis(50))
+                        .build());
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.just(new long[]{100L, 200L}));
+        when(userExternalServicePort.getUsersByIds(List.of(200L), messageId))
+                .thenReturn(Flux.just(new UserEnrollment(200L, "Jane Doe", "jane@example.com")).delaySequence(Duration.ofMillis(200)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(ReportFreshness.FRESH, messageId))
+                .expectNextMatches(read -> read.served() == ServedFreshness.FRESH && read.report().enrolledUsersCount() == 2)
+                .verifyComplete();
+
+        verify(stageMetricsPort, never()).recordDegradedRead(anyString(), anyString());
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithDegradedReadsDisabled_ShouldPropagateError() {
+        // Arrange
+        bootcampReportUseCase = new BootcampReportUseCase(bootcampReportPersistencePort, bootcampExternalServicePort,
+                userExternalServicePort, stageMetricsPort, rebuildLanePort, ReportBuildSettings.defaults().toBuilder()
+                        .degradedReads(false)
+                        .build());
+        when(bootcampReportPersistencePort.findMostPopularBootcamp())
+                .thenReturn(Mono.just(completeReport));
+        when(bootcampExternalServicePort.collectUserIdsByBootcampId(bootcampId, messageId))
+                .thenReturn(Mono.error(new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_ERROR)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getMostPopularBootcamp(messageId))
+                .expectError(TechnicalException.class)
+                .verify();
+
+        verify(stageMetricsPort, never()).recordDegradedRead(anyString(), anyString());
+    }
+
+    @Test
+    void getBootcampRanking_ShouldReturnPageFromPersistence() {
+        // Arrange
+        BootcampRanking first = new BootcampRanking(1, 1L, "Java Bootcamp", 30);
+        BootcampRanking second = new BootcampRanking(2, 2L, "Python Bootcamp", 20);
+        when(bootcampReportPersistencePort.findRanking(0, 2)).thenReturn(Flux.just(first, second));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getBootcampRanking(0, 2, messageId))
+                .expectNext(first, second)
+                .verifyComplete();
+
+        verifyNoInteractions(userExternalServicePort, bootcampExternalServicePort);
+    }
+
+    @Test
+    void getBootcampRanking_WithInvalidPage_ShouldThrowBusinessException() {
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.getBootcampRanking(0, 101, messageId))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException &&
+                        businessException.getTechnicalMessage() == TechnicalMessage.INVALID_RANKING_REQUEST)
+                .verify();
+        StepVerifier.create(bootcampReportUseCase.getBootcampRanking(-1, 10, messageId))
+                .expectError(BusinessException.class)
+                .verify();
+
+        verify(bootcampReportPersistencePort, never()).findRanking(anyInt(), anyInt());
+    }
+
+    @Test
+    void registerBootcampReport_ShouldRequestUserIdsWithoutWaitingForBootcampInfo() {
+        // Arrange - La información del bootcamp aún no llega
+        Sinks.One<BootcampInfo> bootcampInfoSink = Sinks.one();
+        PublisherProbe<Long> userIdsProbe = PublisherProbe.of(Flux.just(100L));
+        when(bootcampExternalServicePort.getBootcampById(bootcampId, messageId)).thenReturn(bootcampInfoSink.asMono());
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)).thenReturn(userIdsProbe.flux());
+        when(userExternalServicePort.getUsersByIds(List.of(100L), messageId))
+                .thenReturn(Flux.just(new UserEnrollment(100L, "John Doe", "john@example.com")));
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReport(bootcampId, messageId))
+                .then(() -> {
+                    userIdsProbe.assertWasSubscribed();
+                    verify(userExternalServicePort).getUsersByIds(List.of(100L), messageId);
+                    bootcampInfoSink.tryEmitValue(bootcampInfo);
+                })
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort).save(argThat(report -> report.enrolledUsersCount() == 1));
+        verify(stageMetricsPort).recordStage(eq("bootcamp-info"), eq("success"), any(Duration.class));
+        verify(stageMetricsPort).recordStage(eq("users"), eq("success"), any(Duration.class));
+        verify(stageMetricsPort).recordStage(eq("build"), eq("success"), any(Duration.class));
+    }
+
+    @Test
+    void registerBootcampReport_WhenUserServiceFails_ShouldSaveWithStoredUsers() {
+        // Arrange
+        UserEnrollment storedUser = new UserEnrollment(100L, "John Doe", "john@example.com");
+        when(bootcampExternalServicePort.getBootcampById(bootcampId, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)).thenReturn(Flux.just(100L, 200L));
+        when(userExternalServicePort.getUsersByIds(List.of(100L, 200L), messageId))
+                .thenReturn(Flux.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR)));
+        LocalDateTime storedAt = LocalDateTime.now().minusDays(1);
+        when(bootcampReportPersistencePort.findByBootcampId(bootcampId))
+                .thenReturn(Mono.just(completeReport.toBuilder().updatedAt(storedAt).build()));
+        when(bootcampReportPersistencePort.findEnrolledUsers(bootcampId)).thenReturn(Flux.just(storedUser));
+        when(bootcampReportPersistencePort.save(any(BootcampReport.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert - Los usuarios no se refrescaron: se conserva el updatedAt del reporte anterior
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReport(bootcampId, messageId))
+                .verifyComplete();
+
+        verify(bootcampReportPersistencePort).save(argThat(report ->
+                report.enrolledUsers().equals(List.of(storedUser)) && report.capacityCount() == 1
+                        && report.updatedAt().equals(storedAt)));
+        verify(stageMetricsPort).recordStage(eq("users"), eq("error"), any(Duration.class));
+        verify(stageMetricsPort).recordStage(eq("stored-users"), eq("success"), any(Duration.class));
+    }
+
+    @Test
+    void registerBootcampReport_WhenUserServiceFailsWithoutStoredReport_ShouldPropagateError() {
+        // Arrange
+        when(bootcampExternalServicePort.getBootcampById(bootcampId, messageId)).thenReturn(Mono.just(bootcampInfo));
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)).thenReturn(Flux.just(100L));
+        when(userExternalServicePort.getUsersByIds(List.of(100L), messageId))
+                .thenReturn(Flux.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR)));
+        when(bootcampReportPersistencePort.findByBootcampId(bootcampId)).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.registerBootcampReport(bootcampId, messageId))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException &&
+                        technicalException.getTechnicalMessage() == TechnicalMessage.USER_SERVICE_ERROR)
+                .verify();
+
+        verify(bootcampReportPersistencePort, never()).save(any());
+    }
+
+    @Test
+    void registerBootcampReport_WhenBootcampServiceTimesOut_ShouldFailWithoutSaving() {
+        // Arrange - El servicio de bootcamps nunca responde
+        when(bootcampExternalServicePort.getBootcampById(bootcampId, messageId)).thenReturn(Mono.never());
+        when(bootcampExternalServicePort.getUserIdsByBootcampId(bootcampId, messageId)).thenReturn(Flux.empty());
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> bootcampReportUseCase.registerBootcampReport(bootcampId, messageId))
+                .thenAwait(ReportBuildSettings.defaults().bootcampTimeout())
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException &&
+                        technicalException.getTechnicalMessage() == TechnicalMessage.BOOTCAMP_SERVICE_ERROR)
+                .verify();
+
+        verify(bootcampReportPersistencePort, never()).save(any());
+    }
+
+    @Test
+    void invalidateUserProfiles_ShouldInvalidateDistinctIds() {
+        // Arrange
+        when(userExternalServicePort.invalidateUsers(List.of(100L, 200L))).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.invalidateUserProfiles(Arrays.asList(100L, null, 200L, 100L), messageId))
+                .verifyComplete();
+
+        verify(userExternalServicePort).invalidateUsers(List.of(100L, 200L));
+    }
+
+    @Test
+    void invalidateUserProfiles_WithoutIds_ShouldThrowBusinessException() {
+        // Act & Assert
+        StepVerifier.create(bootcampReportUseCase.invalidateUserProfiles(List.of(), messageId))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException &&
+                        businessException.getTechnicalMessage() == TechnicalMessage.INVALID_USER_IDS)
+                .verify();
+
+        verify(userExternalServicePort, never()).invalidateUsers(anyList());
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.resilient_api.infrastructure.adapters.deadline;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para RequestDeadline
+ */
+class RequestDeadlineTest {
+
+    @Test
+    void bound_WhenDeadlinePasses_ShouldCancelCall() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        StepVerifier.create(RequestDeadline.bound(Mono.never().doOnCancel(() -> cancelled.set(true)))
+                        .contextWrite(RequestDeadline.within(Duration.ofMillis(50))))
+                .expectErrorMatches(RequestDeadlineTest::isDeadlineExceeded)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void bound_WhenDeadlineAlreadyExpired_ShouldNotSubscribe() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> {
+            subscriptions.incrementAndGet();
+            return "late";
+        });
+
+        StepVerifier.create(RequestDeadline.bound(call).contextWrite(RequestDeadline.within(Duration.ZERO)))
+                .expectErrorMatches(RequestDeadlineTest::isDeadlineExceeded)
+                .verify();
+        StepVerifier.create(RequestDeadline.requireRemaining(call).contextWrite(RequestDeadline.within(Duration.ZERO)))
+                .expectErrorMatches(RequestDeadlineTest::isDeadlineExceeded)
+                .verify();
+
+        assertThat(subscriptions).hasValue(0);
+    }
+
+    @Test
+    void bound_WithoutDeadline_ShouldLeaveCallUnchanged() {
+        StepVerifier.create(RequestDeadline.bound(Mono.delay(Duration.ofMillis(20)).thenReturn("done")))
+                .expectNext("done")
+                .verifyComplete();
+    }
+
+    @Test
+    void bound_Flux_ShouldApplyDeadlineToWholeStream() {
+        Flux<Long> slowStream = Flux.interval(Duration.ofMillis(30)).take(10);
+
+        StepVerifier.create(RequestDeadline.bound(slowStream).contextWrite(RequestDeadline.within(Duration.ofMillis(100))))
+                .thenConsumeWhile(tick -> true)
+                .expectErrorMatches(RequestDeadlineTest::isDeadlineExceeded)
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void within_ShouldKeepEarlierDeadline() {
+        // El plazo interno más largo no extiende el que ya fijó quien llama
+        Mono<Duration> remaining = Mono.deferContextual(context -> Mono.just(RequestDeadline.current(context).orElseThrow().remaining()));
+
+        StepVerifier.create(remaining
+                        .contextWrite(RequestDeadline.within(Duration.ofMinutes(5)))
+                        .contextWrite(RequestDeadline.within(Duration.ofSeconds(1))))
+                .expectNextMatches(duration -> duration.compareTo(Duration.ofSeconds(1)) <= 0)
+                .verifyComplete();
+    }
+
+    private static boolean isDeadlineExceeded(Throwable error) {
+        return error instanceof TechnicalException technicalException
+                && technicalException.getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED;
+    }
+}
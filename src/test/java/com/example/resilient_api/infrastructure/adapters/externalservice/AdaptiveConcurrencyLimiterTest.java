@@ -0,0 +1,106 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para AdaptiveConcurrencyLimiter
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void limit_WhenLimitReached_ShouldQueueUntilPermitIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 10);
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger secondCalls = new AtomicInteger();
+
+        Mono<String> firstCall = limiter.limit(first.asMono()).cache();
+        firstCall.subscribe();
+        Mono<String> secondCall = limiter.limit(Mono.fromCallable(() -> {
+            secondCalls.incrementAndGet();
+            return "second";
+        })).cache();
+        secondCall.subscribe();
+
+        assertThat(secondCalls).hasValue(0);
+        assertThat(gauge("report.limiter.queued")).isEqualTo(1.0);
+
+        first.tryEmitValue("first");
+
+        assertThat(secondCall.block()).isEqualTo("second");
+        assertThat(gauge("report.limiter.inflight")).isZero();
+    }
+
+    @Test
+    void limit_WhenQueueFull_ShouldShedAsUnavailable() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, 0);
+        limiter.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit(Mono.just("shed")))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.USER_SERVICE_UNAVAILABLE)
+                .verify();
+
+        assertThat(meterRegistry.get("report.limiter.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void limit_WhenDownstreamFails_ShouldDecreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20, 10);
+
+        StepVerifier.create(limiter.limit(Mono.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR))))
+                .expectError(TechnicalException.class)
+                .verify();
+
+        assertThat(gauge("report.limiter.limit")).isEqualTo(5.0);
+    }
+
+    @Test
+    void limit_WhenDownstreamRejectsRequest_ShouldKeepLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 20, 10);
+
+        StepVerifier.create(limiter.limit(Mono.error(new TechnicalException(TechnicalMessage.USER_SERVICE_REJECTED))))
+                .expectError(TechnicalException.class)
+                .verify();
+
+        assertThat(gauge("report.limiter.limit")).isEqualTo(10.0);
+    }
+
+    @Test
+    void limit_WhenFastResponsesUseTheLimit_ShouldIncreaseUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 2, 10);
+
+        StepVerifier.create(limiter.limit(Mono.just("a")).then(limiter.limit(Mono.just("b"))))
+                .expectNext("b")
+                .verifyComplete();
+
+        assertThat(gauge("report.limiter.limit")).isEqualTo(2.0);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxLimit, int maxQueued) {
+        return new AdaptiveConcurrencyLimiter("user", meterRegistry, TechnicalMessage.USER_SERVICE_UNAVAILABLE, true,
+                initialLimit, 1, maxLimit, 0.5, Duration.ofSeconds(1), maxQueued);
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("service", "user").gauge().value();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para BatchingUserExternalServiceAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchingUserExternalServiceAdapterTest {
+
+    private static final String MESSAGE_ID = "test-message-id";
+
+    @Mock
+    private UserExternalServicePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getUsersByIds_ConcurrentCallers_ShouldShareOneDeduplicatedLookup() {
+        BatchingUserExternalServiceAdapter adapter = adapter(100, Duration.ofMillis(20));
+        when(delegate.getUsersByIds(List.of(1L, 2L, 3L), MESSAGE_ID)).thenReturn(Flux.just(user(3L), user(1L), user(2L)));
+
+        StepVerifier.create(Mono.zip(
+                        adapter.getUsersByIds(List.of(2L, 1L), MESSAGE_ID).map(UserEnrollment::userId).collectList(),
+                        adapter.getUsersByIds(List.of(3L, 2L), MESSAGE_ID).map(UserEnrollment::userId).collectList()))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).containsExactly(2L, 1L);
+                    assertThat(results.getT2()).containsExactly(3L, 2L);
+                })
+                .verifyComplete();
+
+        verify(delegate, times(1)).getUsersByIds(anyList(), anyString());
+        assertThat(meterRegistry.get("report.users.batch.deduplicated").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.users.batch.dispatches").tag("trigger", "time").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getUsersByIds_WhenMaxBatchSizeReached_ShouldDispatchWithoutWaitingWindow() {
+        BatchingUserExternalServiceAdapter adapter = adapter(2, Duration.ofMinutes(1));
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(Flux.just(user(1L)));
+
+        // 2 no existe en users-api: el llamador solo recibe 1
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L, 2L), MESSAGE_ID).map(UserEnrollment::userId))
+                .expectNext(1L)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("report.users.batch.dispatches").tag("trigger", "size").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getUsersByIds_WhenUserAlreadyInFlight_ShouldJoinRunningLookup() {
+        BatchingUserExternalServiceAdapter adapter = adapter(2, Duration.ofMinutes(1));
+        Sinks.Many<UserEnrollment> running = Sinks.many().unicast().onBackpressureBuffer();
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(running.asFlux());
+
+        Mono<List<Long>> first = adapter.getUsersByIds(List.of(1L, 2L), MESSAGE_ID).map(UserEnrollment::userId).collectList().cache();
+        first.subscribe();
+        Mono<List<Long>> second = adapter.getUsersByIds(List.of(2L), MESSAGE_ID).map(UserEnrollment::userId).collectList().cache();
+        second.subscribe();
+        running.tryEmitNext(user(1L));
+        running.tryEmitNext(user(2L));
+        running.tryEmitComplete();
+
+        assertThat(first.block()).containsExactly(1L, 2L);
+        assertThat(second.block()).containsExactly(2L);
+        verify(delegate, times(1)).getUsersByIds(anyList(), anyString());
+    }
+
+    @Test
+    void getUsersByIds_WhenLookupFails_ShouldPropagateErrorToEveryCaller() {
+        BatchingUserExternalServiceAdapter adapter = adapter(100, Duration.ofMillis(20));
+        RuntimeException failure = new RuntimeException("users-api down");
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(Flux.error(failure));
+
+        StepVerifier.create(Mono.zip(
+                        adapter.getUsersByIds(List.of(1L), MESSAGE_ID).collectList(),
+                        adapter.getUsersByIds(List.of(2L), MESSAGE_ID).collectList()))
+                .expectErrorMatches(error -> error == failure)
+                .verify();
+    }
+
+    @Test
+    void getUsersByIds_ShouldDispatchWithLatestCallerDeadline() {
+        BatchingUserExternalServiceAdapter adapter = adapter(100, Duration.ofMillis(20));
+        AtomicReference<Duration> remaining = new AtomicReference<>();
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(Flux.deferContextual(context -> {
+            remaining.set(RequestDeadline.current(context).map(RequestDeadline::remaining).orElse(null));
+            return Flux.just(user(1L), user(2L));
+        }));
+
+        StepVerifier.create(Mono.zip(
+                        adapter.getUsersByIds(List.of(1L), MESSAGE_ID).collectList()
+                                .contextWrite(RequestDeadline.within(Duration.ofMinutes(1))),
+                        adapter.getUsersByIds(List.of(2L), MESSAGE_ID).collectList()
+                                .contextWrite(RequestDeadline.within(Duration.ofSeconds(2)))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertThat(remaining.get()).isNotNull().isGreaterThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void getUsersByIds_WhenOneCallerDeadlineExpires_ShouldNotCancelLookupForOthers() {
+        BatchingUserExternalServiceAdapter adapter = adapter(100, Duration.ofMillis(5));
+        Sinks.Many<UserEnrollment> running = Sinks.many().unicast().onBackpressureBuffer();
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(running.asFlux());
+
+        Mono<List<Long>> patient = adapter.getUsersByIds(List.of(1L), MESSAGE_ID).map(UserEnrollment::userId).collectList()
+                .contextWrite(RequestDeadline.within(Duration.ofMinutes(1)))
+                .cache();
+        patient.subscribe();
+
+        // El plazo corto vence antes de que users-api responda: solo ese llamador falla
+        StepVerifier.create(adapter.getUsersByIds(List.of(2L), MESSAGE_ID).collectList()
+                        .contextWrite(RequestDeadline.within(Duration.ofMillis(50))))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED)
+                .verify(Duration.ofSeconds(5));
+        running.tryEmitNext(user(1L));
+        running.tryEmitNext(user(2L));
+        running.tryEmitComplete();
+
+        assertThat(patient.block(Duration.ofSeconds(5))).containsExactly(1L);
+    }
+
+    @Test
+    void getUsersByIds_WhenRunningLookupExpiresFirst_ShouldNotJoinIt() {
+        BatchingUserExternalServiceAdapter adapter = adapter(1, Duration.ofMinutes(1));
+        when(delegate.getUsersByIds(List.of(1L), MESSAGE_ID)).thenReturn(Flux.never(), Flux.just(user(1L)));
+
+        adapter.getUsersByIds(List.of(1L), MESSAGE_ID)
+                .contextWrite(RequestDeadline.within(Duration.ofSeconds(1)))
+                .subscribe(user -> { }, error -> { });
+
+        // La consulta en vuelo vence antes que este llamador, que no tiene plazo: se pide de nuevo
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID).map(UserEnrollment::userId))
+                .expectNext(1L)
+                .verifyComplete();
+
+        verify(delegate, times(2)).getUsersByIds(List.of(1L), MESSAGE_ID);
+    }
+
+    private BatchingUserExternalServiceAdapter adapter(int maxBatchSize, Duration window) {
+        return new BatchingUserExternalServiceAdapter(delegate, meterRegistry, maxBatchSize, window);
+    }
+
+    private UserEnrollment user(Long userId) {
+        return new UserEnrollment(userId, "User " + userId, "user" + userId + "@example.com");
+    }
+}
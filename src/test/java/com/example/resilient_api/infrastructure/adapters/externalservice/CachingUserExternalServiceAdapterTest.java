@@ -0,0 +1,137 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.UserExternalServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CachingUserExternalServiceAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingUserExternalServiceAdapterTest {
+
+    private static final String MESSAGE_ID = "test-message-id";
+
+    @Mock
+    private UserExternalServicePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getUsersByIds_ShouldFetchOnlyMissingUsersAndKeepRequestedOrder() {
+        CachingUserExternalServiceAdapter adapter = adapter(Duration.ofMinutes(10), 100);
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(Flux.just(user(2L), user(1L)));
+        when(delegate.getUsersByIds(List.of(3L), MESSAGE_ID)).thenReturn(Flux.just(user(3L)));
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L, 2L), MESSAGE_ID).map(UserEnrollment::userId))
+                .expectNext(1L, 2L)
+                .verifyComplete();
+        StepVerifier.create(adapter.getUsersByIds(List.of(3L, 2L, 1L), MESSAGE_ID).map(UserEnrollment::userId))
+                .expectNext(3L, 2L, 1L)
+                .verifyComplete();
+
+        verify(delegate).getUsersByIds(List.of(3L), MESSAGE_ID);
+        assertThat(meterRegistry.get("report.users.cache.requests").tag("result", "hit").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("report.users.cache.requests").tag("result", "miss").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void getUsersByIds_WhenEntryExpired_ShouldFetchAgain() {
+        CachingUserExternalServiceAdapter adapter = adapter(Duration.ZERO, 100);
+        when(delegate.getUsersByIds(List.of(1L), MESSAGE_ID)).thenReturn(Flux.just(user(1L)));
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID)).expectNextCount(1).verifyComplete();
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID)).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(2)).getUsersByIds(List.of(1L), MESSAGE_ID);
+    }
+
+    @Test
+    void getUsersByIds_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        CachingUserExternalServiceAdapter adapter = adapter(Duration.ofMinutes(10), 2);
+        when(delegate.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(Flux.just(user(1L), user(2L)));
+        when(delegate.getUsersByIds(List.of(3L), MESSAGE_ID)).thenReturn(Flux.just(user(3L)));
+        when(delegate.getUsersByIds(List.of(2L), MESSAGE_ID)).thenReturn(Flux.just(user(2L)));
+
+        adapter.getUsersByIds(List.of(1L, 2L), MESSAGE_ID).blockLast();
+        adapter.getUsersByIds(List.of(1L), MESSAGE_ID).blockLast();
+        adapter.getUsersByIds(List.of(3L), MESSAGE_ID).blockLast();
+        adapter.getUsersByIds(List.of(1L, 2L), MESSAGE_ID).blockLast();
+
+        // 2 era el menos usado al entrar 3: se vuelve a pedir solo a él
+        verify(delegate).getUsersByIds(List.of(2L), MESSAGE_ID);
+        assertThat(meterRegistry.get("report.users.cache.evictions").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("report.users.cache.size").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void invalidateUsers_ShouldForceFetchAndDiscardLoadsInFlight() {
+        CachingUserExternalServiceAdapter adapter = adapter(Duration.ofMinutes(10), 100);
+        Sinks.One<UserEnrollment> inFlight = Sinks.one();
+        when(delegate.getUsersByIds(List.of(1L), MESSAGE_ID))
+                .thenReturn(Flux.just(user(1L)))
+                .thenReturn(inFlight.asMono().flux())
+                .thenReturn(Flux.just(user(1L)));
+
+        adapter.getUsersByIds(List.of(1L), MESSAGE_ID).blockLast();
+        StepVerifier.create(adapter.invalidateUsers(List.of(1L))).verifyComplete();
+
+        // Consulta iniciada antes de una segunda invalidación del mismo usuario: su resultado se entrega pero no se cachea
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID))
+                .then(() -> {
+                    adapter.invalidateUsers(List.of(1L)).block();
+                    inFlight.tryEmitValue(user(1L));
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+        adapter.getUsersByIds(List.of(1L), MESSAGE_ID).blockLast();
+
+        verify(delegate, times(3)).getUsersByIds(List.of(1L), MESSAGE_ID);
+        assertThat(meterRegistry.get("report.users.cache.invalidations").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void invalidateUsers_OfOtherUser_ShouldStillCacheLoadsInFlight() {
+        CachingUserExternalServiceAdapter adapter = adapter(Duration.ofMinutes(10), 100);
+        Sinks.One<UserEnrollment> inFlight = Sinks.one();
+        when(delegate.getUsersByIds(List.of(1L), MESSAGE_ID)).thenReturn(inFlight.asMono().flux());
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID))
+                .then(() -> {
+                    adapter.invalidateUsers(List.of(99L)).block();
+                    inFlight.tryEmitValue(user(1L));
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+        adapter.getUsersByIds(List.of(1L), MESSAGE_ID).blockLast();
+
+        verify(delegate, times(1)).getUsersByIds(List.of(1L), MESSAGE_ID);
+    }
+
+    private CachingUserExternalServiceAdapter adapter(Duration ttl, int maxEntries) {
+        return new CachingUserExternalServiceAdapter(delegate, meterRegistry, ttl, maxEntries);
+    }
+
+    private UserEnrollment user(Long userId) {
+        return new UserEnrollment(userId, "User " + userId, "user" + userId + "@example.com");
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.resilient_api.infrastructure.adapters.externalservice;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.infrastructure.adapters.webclient.UserWebClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para UserExternalServiceAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class UserExternalServiceAdapterTest {
+
+    private static final String MESSAGE_ID = "test-message-id";
+
+    @Mock
+    private UserWebClient userWebClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserExternalServiceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter("user", meterRegistry,
+                TechnicalMessage.USER_SERVICE_UNAVAILABLE, true, 10, 1, 10, 0.9, Duration.ofSeconds(1), 10);
+        adapter = new UserExternalServiceAdapter(userWebClient, concurrencyLimiter, meterRegistry, 2, 3, 2, Duration.ofMillis(1));
+    }
+
+    @Test
+    void getUsersByIds_ShouldFetchChunksConcurrentlyPreservingOrder() {
+        // El primer lote responde último
+        when(userWebClient.getUsersByIds(List.of(1L, 2L), MESSAGE_ID))
+                .thenReturn(Flux.just(user(1L), user(2L)).delaySubscription(Duration.ofMillis(50)));
+        when(userWebClient.getUsersByIds(List.of(3L, 4L), MESSAGE_ID)).thenReturn(Flux.just(user(3L), user(4L)));
+        when(userWebClient.getUsersByIds(List.of(5L), MESSAGE_ID)).thenReturn(Flux.just(user(5L)));
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L, 2L, 3L, 4L, 5L), MESSAGE_ID).map(UserEnrollment::userId))
+                .expectNext(1L, 2L, 3L, 4L, 5L)
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("report.users.chunk").tag("outcome", "success").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("report.users.chunks").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void getUsersByIds_WhenChunkFails_ShouldRetryOnlyThatChunk() {
+        when(userWebClient.getUsersByIds(List.of(1L, 2L), MESSAGE_ID)).thenReturn(Flux.just(user(1L), user(2L)));
+        when(userWebClient.getUsersByIds(List.of(3L), MESSAGE_ID))
+                .thenReturn(Flux.concat(Flux.just(user(3L)), Flux.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR))))
+                .thenReturn(Flux.just(user(3L)));
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L, 2L, 3L), MESSAGE_ID).map(UserEnrollment::userId))
+                .expectNext(1L, 2L, 3L)
+                .verifyComplete();
+
+        verify(userWebClient, times(1)).getUsersByIds(List.of(1L, 2L), MESSAGE_ID);
+        verify(userWebClient, times(2)).getUsersByIds(List.of(3L), MESSAGE_ID);
+        assertThat(meterRegistry.get("report.users.chunk.retries").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.users.chunk").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getUsersByIds_WhenChunkKeepsFailing_ShouldPropagateLastError() {
+        when(userWebClient.getUsersByIds(anyList(), anyString()))
+                .thenReturn(Flux.error(new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR)));
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException &&
+                        technicalException.getTechnicalMessage() == TechnicalMessage.USER_SERVICE_ERROR)
+                .verify();
+
+        verify(userWebClient, times(3)).getUsersByIds(List.of(1L), MESSAGE_ID);
+    }
+
+    @Test
+    void getUsersByIds_WhenServiceRejectsChunk_ShouldNotRetry() {
+        when(userWebClient.getUsersByIds(anyList(), anyString()))
+                .thenReturn(Flux.error(new TechnicalException(TechnicalMessage.USER_SERVICE_REJECTED)));
+
+        StepVerifier.create(adapter.getUsersByIds(List.of(1L), MESSAGE_ID))
+                .expectError(TechnicalException.class)
+                .verify();
+
+        verify(userWebClient, times(1)).getUsersByIds(List.of(1L), MESSAGE_ID);
+    }
+
+    @Test
+    void invalidateUsers_WithoutCache_ShouldCompleteWithoutCallingService() {
+        StepVerifier.create(adapter.invalidateUsers(List.of(1L, 2L)))
+                .verifyComplete();
+
+        verifyNoInteractions(userWebClient);
+    }
+
+    private UserEnrollment user(Long userId) {
+        return new UserEnrollment(userId, "User " + userId, "user" + userId + "@example.com");
+    }
+}
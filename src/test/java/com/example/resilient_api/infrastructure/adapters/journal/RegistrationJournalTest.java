@@ -0,0 +1,119 @@
+package com.example.resilient_api.infrastructure.adapters.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests unitarios para RegistrationJournal
+ */
+class RegistrationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoveredRegistrations_AfterRestart_ShouldContainOnlyUncompletedLatestPerBootcamp() {
+        RegistrationJournal journal = openJournal(DataSize.ofKilobytes(64));
+        long first = journal.recordAccepted(1L, "msg-1");
+        journal.recordAccepted(1L, "msg-2");
+        long second = journal.recordAccepted(2L, "msg-3");
+        journal.recordAccepted(3L, "msg-4");
+        journal.recordCompleted(first, 1L);
+        journal.recordCompleted(second, 2L);
+        journal.close();
+
+        List<RegistrationJournal.PendingRegistration> recovered = openJournal(DataSize.ofKilobytes(64)).recoveredRegistrations();
+
+        assertThat(recovered)
+                .extracting(RegistrationJournal.PendingRegistration::bootcampId, RegistrationJournal.PendingRegistration::messageId)
+                .containsExactly(
+                        tuple(1L, "msg-2"),
+                        tuple(3L, "msg-4"));
+    }
+
+    @Test
+    void recordAccepted_WhenSegmentIsFull_ShouldCompactAndKeepPendingRegistrations() {
+        RegistrationJournal journal = openJournal(DataSize.ofBytes(256));
+        for (long bootcampId = 1; bootcampId <= 50; bootcampId++) {
+            long sequence = journal.recordAccepted(bootcampId, "msg-" + bootcampId);
+            if (bootcampId != 42) {
+                journal.recordCompleted(sequence, bootcampId);
+            }
+        }
+        journal.close();
+
+        assertThat(openJournal(DataSize.ofBytes(256)).recoveredRegistrations())
+                .extracting(RegistrationJournal.PendingRegistration::bootcampId)
+                .containsExactly(42L);
+    }
+
+    @Test
+    void recordAccepted_WhenPendingExceedMaxSegmentSize_ShouldFailAndKeepJournaledRegistrations() {
+        RegistrationJournal journal = openJournal(DataSize.ofBytes(1024), DataSize.ofBytes(1024));
+
+        assertThatThrownBy(() -> {
+            for (long bootcampId = 1; bootcampId <= 50; bootcampId++) {
+                journal.recordAccepted(bootcampId, "msg-" + bootcampId);
+            }
+        })
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Registration journal is full");
+        journal.close();
+
+        assertThat(openJournal(DataSize.ofKilobytes(64)).recoveredRegistrations())
+                .isNotEmpty()
+                .extracting(RegistrationJournal.PendingRegistration::bootcampId)
+                .startsWith(1L, 2L, 3L);
+    }
+
+    @Test
+    void recordAccepted_WithLongMultiByteMessageId_ShouldTruncateOnCharacterBoundary() {
+        RegistrationJournal journal = openJournal(DataSize.ofKilobytes(64));
+        journal.recordAccepted(1L, "a" + "é".repeat(300));
+        journal.close();
+
+        assertThat(openJournal(DataSize.ofKilobytes(64)).recoveredRegistrations())
+                .extracting(RegistrationJournal.PendingRegistration::messageId)
+                .containsExactly("a" + "é".repeat(255));
+    }
+
+    @Test
+    void constructor_WithMaxSegmentSizeAboveMappingLimit_ShouldFail() {
+        assertThatThrownBy(() -> new RegistrationJournal(true, directory, DataSize.ofMegabytes(16), DataSize.ofGigabytes(4), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max-segment-size");
+    }
+
+    @Test
+    void withdraw_ShouldKeepEarlierPendingRegistrationOfSameBootcamp() {
+        RegistrationJournal journal = openJournal(DataSize.ofKilobytes(64));
+        long accepted = journal.accept(1L, "msg-1").block();
+        long rejected = journal.accept(1L, "msg-2").block();
+        journal.withdraw(rejected, 1L).block();
+        long completed = journal.accept(2L, "msg-3").block();
+        journal.complete(completed, 2L).block();
+        journal.close();
+
+        assertThat(openJournal(DataSize.ofKilobytes(64)).recoveredRegistrations())
+                .extracting(RegistrationJournal.PendingRegistration::sequence, RegistrationJournal.PendingRegistration::messageId)
+                .containsExactly(tuple(accepted, "msg-1"));
+    }
+
+    private RegistrationJournal openJournal(DataSize segmentSize) {
+        return openJournal(segmentSize, DataSize.ofMegabytes(1));
+    }
+
+    private RegistrationJournal openJournal(DataSize segmentSize, DataSize maxSegmentSize) {
+        RegistrationJournal journal = new RegistrationJournal(true, directory, segmentSize, maxSegmentSize, false);
+        journal.open();
+        return journal;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.infrastructure.adapters.deadline.RequestDeadline;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampReportEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentBucketEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentMemberEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampReportMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para BatchingBootcampReportPersistenceAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchingBootcampReportPersistenceAdapterTest {
+
+    @Mock
+    private BootcampReportPersistenceAdapter delegate;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private ReactiveBulkOperations bulkOperations;
+
+    @Mock
+    private ReactiveBulkOperations bucketOperations;
+
+    @Mock
+    private ReactiveBulkOperations memberOperations;
+
+    private final BootcampReportMapper bootcampReportMapper = new BootcampReportMapper();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(delegate.toReplaceUpdate(any())).thenReturn(new Update());
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BootcampReportEntity.class)).thenReturn(bulkOperations);
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentBucketEntity.class)).thenReturn(bucketOperations);
+        when(bucketOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentMemberEntity.class)).thenReturn(memberOperations);
+        when(memberOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+        when(bulkOperations.upsert(any(Query.class), any(Update.class))).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+    }
+
+    @Test
+    void save_BurstWithinDelay_ShouldWriteLatestVersionPerBootcampInSingleBulk() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(100, Duration.ofMillis(30));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Flux.just(entity(1L, "second"), entity(2L, "other")));
+
+        Mono<List<BootcampReport>> burst = Flux.merge(
+                adapter.save(report(1L, "first")),
+                adapter.save(report(1L, "second")),
+                adapter.save(report(2L, "other"))).collectList();
+
+        StepVerifier.create(burst)
+                .assertNext(saved -> assertThat(saved)
+                        .extracting(BootcampReport::bootcampDescription)
+                        .containsExactlyInAnyOrder("second", "second", "other"))
+                .verifyComplete();
+
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, times(1)).execute();
+        verify(bucketOperations, times(1)).execute();
+        verify(delegate).toReplaceUpdate(argThat(report -> "second".equals(report.bootcampDescription())));
+        verify(delegate).appendEnrollmentReplacement(eq(bucketOperations), eq(1L), any());
+        verify(delegate).appendMembershipReplacement(eq(memberOperations), eq(1L), any());
+        verify(memberOperations, times(1)).execute();
+        assertThat(meterRegistry.get("report.persistence.batch.size").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("report.persistence.batch.superseded").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.persistence.batch.flushes").tag("trigger", "time").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void save_WhenBatchIsFull_ShouldFlushWithoutWaitingForDelay() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(2, Duration.ofHours(1));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Flux.just(entity(1L, "a"), entity(2L, "b")));
+
+        StepVerifier.create(Mono.when(adapter.save(report(1L, "a")), adapter.save(report(2L, "b"))))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(meterRegistry.get("report.persistence.batch.flushes").tag("trigger", "size").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void save_WhenBulkFails_ShouldRetryEachWriteIndividually() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(100, Duration.ofMillis(10));
+        when(bulkOperations.execute()).thenReturn(Mono.error(new IllegalStateException("bulk failed")));
+        BootcampReport report = report(1L, "a");
+        when(delegate.save(report)).thenReturn(Mono.just(report));
+
+        StepVerifier.create(adapter.save(report))
+                .expectNext(report)
+                .verifyComplete();
+
+        verify(delegate).save(report);
+    }
+
+    @Test
+    void findByBootcampId_WithPendingWrite_ShouldWaitForIt() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(100, Duration.ofMillis(30));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Flux.just(entity(1L, "a")));
+        when(delegate.findByBootcampId(1L)).thenReturn(Mono.fromCallable(() -> {
+            verify(bulkOperations).execute();
+            return report(1L, "a");
+        }));
+
+        adapter.save(report(1L, "a")).subscribe();
+
+        StepVerifier.create(adapter.findByBootcampId(1L))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void save_WithVersion_ShouldBypassBatch() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(100, Duration.ofMillis(10));
+        BootcampReport versioned = report(1L, "a").toBuilder().version(3L).build();
+        when(delegate.save(versioned)).thenReturn(Mono.just(versioned));
+
+        StepVerifier.create(adapter.save(versioned))
+                .expectNext(versioned)
+                .verifyComplete();
+
+        verifyNoInteractions(bulkOperations);
+    }
+
+    @Test
+    void save_WithDeadlineShorterThanDelay_ShouldFlushEarly() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(100, Duration.ofHours(1));
+        when(reactiveMongoTemplate.find(any(Query.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Flux.just(entity(1L, "a")));
+
+        StepVerifier.create(adapter.save(report(1L, "a"))
+                        .contextWrite(RequestDeadline.within(Duration.ofSeconds(2))))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+
+        verify(bulkOperations, times(1)).execute();
+    }
+
+    @Test
+    void save_WhenCallerDeadlineExpiresDuringFlush_ShouldFailOnlyThatCaller() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(2, Duration.ofHours(1));
+        Sinks.One<BulkWriteResult> slowBulk = Sinks.one();
+        when(bulkOperations.execute()).thenReturn(slowBulk.asMono());
+        when(reactiveMongoTemplate.find(any(Query.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Flux.just(entity(1L, "a"), entity(2L, "b")));
+
+        Mono<BootcampReport> patient = adapter.save(report(1L, "a")).cache();
+        patient.subscribe();
+
+        // El lote se llena y se escribe; el llamador con plazo corto deja de esperar sin cancelar el lote
+        StepVerifier.create(adapter.save(report(2L, "b"))
+                        .contextWrite(RequestDeadline.within(Duration.ofMillis(50))))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED)
+                .verify(Duration.ofSeconds(5));
+        slowBulk.tryEmitValue(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of()));
+
+        assertThat(patient.block(Duration.ofSeconds(5))).extracting(BootcampReport::bootcampId).isEqualTo(1L);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void save_WhenAllCallersExpiredBeforeFlush_ShouldLeaveWriteOutOfBulk() {
+        BatchingBootcampReportPersistenceAdapter adapter = adapter(100, Duration.ofHours(1));
+        RequestDeadline expired = RequestDeadline.after(Duration.ZERO);
+
+        StepVerifier.create(adapter.save(report(1L, "a")).contextWrite(RequestDeadline.until(expired)))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.DEADLINE_EXCEEDED)
+                .verify(Duration.ofSeconds(5));
+        adapter.close();
+
+        verify(bulkOperations, never()).upsert(any(Query.class), any(Update.class));
+        verify(bulkOperations, never()).execute();
+    }
+
+    private BatchingBootcampReportPersistenceAdapter adapter(int maxBatchSize, Duration maxDelay) {
+        return new BatchingBootcampReportPersistenceAdapter(
+                delegate, reactiveMongoTemplate, bootcampReportMapper, meterRegistry, maxBatchSize, maxDelay);
+    }
+
+    private BootcampReport report(Long bootcampId, String description) {
+        return BootcampReport.builder()
+                .bootcampId(bootcampId)
+                .bootcampName("Bootcamp " + bootcampId)
+                .bootcampDescription(description)
+                .enrolledUsersCount(0)
+                .enrolledUsers(List.of())
+                .capacities(List.of())
+                .build();
+    }
+
+    private BootcampReportEntity entity(Long bootcampId, String description) {
+        return bootcampReportMapper.toEntity(report(bootcampId, description)).toBuilder()
+                .id("report-" + bootcampId)
+                .version(1L)
+                .build();
+    }
+}
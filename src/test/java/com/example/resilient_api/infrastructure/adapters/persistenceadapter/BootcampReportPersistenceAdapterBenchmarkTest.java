@@ -0,0 +1,158 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampReportEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentBucketEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampReportMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampReportRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.EnrollmentBucketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de escrituras concurrentes sobre bootcamp_reports:
+ * compara el patrón anterior (find + save, dos viajes) con el upsert atómico del adapter (un viaje).
+ * Requiere MongoDB real; se ejecuta con RUN_BENCHMARKS=true
+ */
+@DataMongoTest
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "RUN_BENCHMARKS", matches = "true")
+class BootcampReportPersistenceAdapterBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BootcampReportPersistenceAdapterBenchmarkTest.class);
+
+    private static final int BOOTCAMPS = 50;
+    private static final int WRITES = 5_000;
+    private static final int CONCURRENCY = 64;
+
+    @Autowired
+    private BootcampReportRepository bootcampReportRepository;
+
+    @Autowired
+    private EnrollmentBucketRepository enrollmentBucketRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final BootcampReportMapper bootcampReportMapper = new BootcampReportMapper();
+    private BootcampReportPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new BootcampReportPersistenceAdapter(
+                bootcampReportRepository, enrollmentBucketRepository, bootcampReportMapper, reactiveMongoTemplate, 200);
+        cleanUp();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bootcampReportRepository.deleteAll().block();
+        enrollmentBucketRepository.deleteAll().block();
+    }
+
+    @Test
+    void save_ConcurrentWrites_AtomicUpsertShouldOutperformFindThenSave() {
+        // Warm-up de conexiones y JIT
+        run(this::legacySave, WRITES / 10);
+        run(adapter::save, WRITES / 10);
+        cleanUp();
+
+        Result legacy = run(this::legacySave, WRITES);
+        cleanUp();
+        Result atomic = run(adapter::save, WRITES);
+
+        log.info("find+save: {} writes in {} ms -> {} writes/s, {} failed",
+                WRITES, legacy.elapsed().toMillis(), Math.round(legacy.throughput()), legacy.failures());
+        log.info("upsert: {} writes in {} ms -> {} writes/s, {} failed",
+                WRITES, atomic.elapsed().toMillis(), Math.round(atomic.throughput()), atomic.failures());
+
+        assertThat(atomic.throughput()).isGreaterThan(legacy.throughput());
+
+        // El upsert atómico no pierde escrituras y deja un único documento por bootcamp
+        assertThat(atomic.failures()).isZero();
+        Map<Long, Long> versions = bootcampReportRepository.findAll()
+                .collectMap(BootcampReportEntity::getBootcampId, BootcampReportEntity::getVersion)
+                .block();
+        assertThat(versions).hasSize(BOOTCAMPS);
+        assertThat(versions.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(WRITES);
+    }
+
+    private Result run(Function<BootcampReport, Mono<BootcampReport>> writer, int writes) {
+        AtomicInteger failures = new AtomicInteger();
+        long startedAt = System.nanoTime();
+        Flux.range(0, writes)
+                .flatMap(i -> writer.apply(report((long) (i % BOOTCAMPS) + 1, i))
+                        .onErrorResume(error -> {
+                            failures.incrementAndGet();
+                            return Mono.empty();
+                        }), CONCURRENCY)
+                .blockLast();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+        return new Result(elapsed, writes * 1_000_000_000.0 / elapsed.toNanos(), failures.get());
+    }
+
+    /**
+     * Implementación previa de save: lectura y escritura del resumen en dos viajes (más la misma escritura de buckets)
+     */
+    private Mono<BootcampReport> legacySave(BootcampReport bootcampReport) {
+        return bootcampReportRepository.findByBootcampId(bootcampReport.bootcampId())
+                .flatMap(existing -> bootcampReportRepository.save(bootcampReportMapper.toEntity(bootcampReport).toBuilder()
+                        .id(existing.getId())
+                        .build()))
+                .switchIfEmpty(Mono.defer(() -> bootcampReportRepository.save(bootcampReportMapper.toEntity(bootcampReport))))
+                .flatMap(saved -> {
+                    ReactiveBulkOperations bucketOperations = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentBucketEntity.class);
+                    adapter.appendEnrollmentReplacement(bucketOperations, bootcampReport.bootcampId(), bootcampReport.enrolledUsers());
+                    return bucketOperations.execute().thenReturn(saved);
+                })
+                .map(bootcampReportMapper::toDomain);
+    }
+
+    private BootcampReport report(Long bootcampId, int iteration) {
+        List<UserEnrollment> users = IntStream.range(0, 20)
+                .mapToObj(i -> new UserEnrollment((long) i, "User " + i, "user" + i + "@example.com"))
+                .collect(Collectors.toList());
+        return BootcampReport.builder()
+                .bootcampId(bootcampId)
+                .bootcampName("Bootcamp " + bootcampId)
+                .bootcampDescription("Iteration " + iteration)
+                .launchDate(LocalDate.of(2024, 1, 1))
+                .duration(90)
+                .capacityCount(0)
+                .technologyCount(0)
+                .enrolledUsersCount(users.size())
+                .enrolledUsers(users)
+                .capacities(List.of())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private record Result(Duration elapsed, double throughput, int failures) {
+    }
+}
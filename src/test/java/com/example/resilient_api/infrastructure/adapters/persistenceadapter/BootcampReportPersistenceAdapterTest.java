@@ -0,0 +1,280 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.BootcampReportEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentBucketEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.entity.EnrollmentMemberEntity;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.mapper.BootcampReportMapper;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.BootcampReportRepository;
+import com.example.resilient_api.infrastructure.adapters.persistenceadapter.repository.EnrollmentBucketRepository;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para BootcampReportPersistenceAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class BootcampReportPersistenceAdapterTest {
+
+    @Mock
+    private BootcampReportRepository bootcampReportRepository;
+
+    @Mock
+    private EnrollmentBucketRepository enrollmentBucketRepository;
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private MongoConverter mongoConverter;
+
+    @Mock
+    private ReactiveBulkOperations bucketOperations;
+
+    @Mock
+    private ReactiveBulkOperations memberOperations;
+
+    private final BootcampReportMapper bootcampReportMapper = new BootcampReportMapper();
+    private BootcampReportPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new BootcampReportPersistenceAdapter(
+                bootcampReportRepository, enrollmentBucketRepository, bootcampReportMapper, reactiveMongoTemplate, 2);
+    }
+
+    @Test
+    void save_WithStaleVersion_ShouldFailWithVersionConflict() {
+        when(reactiveMongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(adapter.save(report(1L).toBuilder().version(3L).build()))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.REPORT_VERSION_CONFLICT)
+                .verify();
+
+        verify(reactiveMongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(EnrollmentBucketEntity.class));
+    }
+
+    @Test
+    void save_WhenConcurrentUpsertWinsInsert_ShouldRetryAsUpdate() {
+        when(reactiveMongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")), Mono.just(entity(1L)));
+        stubBucketWrite();
+
+        StepVerifier.create(adapter.save(report(1L)))
+                .expectNextMatches(saved -> saved.bootcampId().equals(1L) && saved.version() == 2L)
+                .verifyComplete();
+
+        verify(reactiveMongoTemplate, times(2))
+                .findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(BootcampReportEntity.class));
+        verify(bucketOperations).execute();
+        verify(memberOperations).execute();
+    }
+
+    @Test
+    void save_WhenDuplicateKeyPersists_ShouldPropagateAfterOneRetry() {
+        when(reactiveMongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        StepVerifier.create(adapter.save(report(1L)))
+                .expectError(DuplicateKeyException.class)
+                .verify();
+
+        verify(reactiveMongoTemplate, times(2))
+                .findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(BootcampReportEntity.class));
+    }
+
+    @Test
+    void toReplaceUpdate_WithUpdatedAt_ShouldKeepIt() {
+        when(reactiveMongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        LocalDateTime updatedAt = LocalDateTime.now().minusDays(1);
+
+        Update update = adapter.toReplaceUpdate(report(1L).toBuilder().updatedAt(updatedAt).build());
+
+        // El converter puede escribir la fecha como LocalDateTime o como Date según sus conversiones
+        assertThat(update.getUpdateObject().get("$set", Document.class).get("updatedAt"))
+                .isIn(updatedAt, Date.from(updatedAt.atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
+    @Test
+    void addEnrolledUser_WhenMembershipAlreadyExists_ShouldNotPushNorIncrement() {
+        stubEnrollmentState();
+        when(reactiveMongoTemplate.insert(any(EnrollmentMemberEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        StepVerifier.create(adapter.addEnrolledUser(1L, user(200L)))
+                .expectNext(EnrollmentChange.UNCHANGED)
+                .verifyComplete();
+
+        verify(reactiveMongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), eq(EnrollmentBucketEntity.class));
+        verify(reactiveMongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class));
+    }
+
+    @Test
+    void addEnrolledUser_ConcurrentEnrollsOfSameUser_ShouldApplyOnlyOnce() {
+        stubEnrollmentState();
+        when(reactiveMongoTemplate.insert(any(EnrollmentMemberEntity.class)))
+                .thenReturn(Mono.just(new EnrollmentMemberEntity()), Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(EnrollmentBucketEntity.class)))
+                .thenReturn(Mono.just(new EnrollmentBucketEntity()));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        StepVerifier.create(Flux.merge(adapter.addEnrolledUser(1L, user(200L)), adapter.addEnrolledUser(1L, user(200L))).collectList())
+                .assertNext(changes -> assertThat(changes)
+                        .containsExactlyInAnyOrder(EnrollmentChange.APPLIED, EnrollmentChange.UNCHANGED))
+                .verifyComplete();
+
+        verify(reactiveMongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class), eq(EnrollmentBucketEntity.class));
+        verify(reactiveMongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class));
+    }
+
+    @Test
+    void addEnrolledUser_WhenBucketWriteFails_ShouldReleaseMembership() {
+        stubEnrollmentState();
+        when(reactiveMongoTemplate.insert(any(EnrollmentMemberEntity.class))).thenReturn(Mono.just(new EnrollmentMemberEntity()));
+        when(reactiveMongoTemplate.findAndModify(any(Query.class), any(Update.class), eq(EnrollmentBucketEntity.class)))
+                .thenReturn(Mono.error(new IllegalStateException("bucket write failed")));
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(EnrollmentMemberEntity.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+
+        StepVerifier.create(adapter.addEnrolledUser(1L, user(200L)))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(reactiveMongoTemplate).remove(any(Query.class), eq(EnrollmentMemberEntity.class));
+        verify(reactiveMongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class));
+    }
+
+    @Test
+    void removeEnrolledUser_Twice_ShouldDecrementOnlyOnce() {
+        stubNoLegacyEnrollments();
+        when(reactiveMongoTemplate.remove(any(Query.class), eq(EnrollmentMemberEntity.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(1)), Mono.just(DeleteResult.acknowledged(0)));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(EnrollmentBucketEntity.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)), Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(BootcampReportEntity.class))).thenReturn(Mono.just(true));
+
+        StepVerifier.create(adapter.removeEnrolledUser(1L, 200L).concatWith(adapter.removeEnrolledUser(1L, 200L)))
+                .expectNext(EnrollmentChange.APPLIED, EnrollmentChange.UNCHANGED)
+                .verifyComplete();
+
+        verify(reactiveMongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class));
+    }
+
+    @Test
+    void findEnrolledUsers_FromLegacyDocument_ShouldMigrateEmbeddedUsersOnce() {
+        Document legacy = new Document("bootcampId", 1L)
+                .append("enrolledUsersCount", 3)
+                .append("enrolledUsers", List.of(
+                        new Document("userId", 200).append("userName", "User 200").append("userEmail", "user200@example.com"),
+                        new Document("userId", 201L).append("userName", "User 201").append("userEmail", "user201@example.com"),
+                        new Document("userId", 202L).append("userName", "User 202").append("userEmail", "user202@example.com")));
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(Document.class), eq("bootcamp_reports"))).thenReturn(Mono.just(legacy));
+        stubBucketWrite();
+        when(reactiveMongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(BootcampReportEntity.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        EnrollmentBucketEntity migrated = EnrollmentBucketEntity.builder()
+                .bootcampId(1L)
+                .bucket(0)
+                .count(2)
+                .users(bootcampReportMapper.toUserEnrollmentEntities(List.of(user(200L), user(201L))))
+                .build();
+        when(enrollmentBucketRepository.findByBootcampIdOrderByBucketAsc(1L)).thenReturn(Flux.just(migrated));
+
+        StepVerifier.create(adapter.findEnrolledUsers(1L).concatWith(adapter.findEnrolledUsers(1L)))
+                .expectNextCount(4)
+                .verifyComplete();
+
+        // Los tres usuarios embebidos se reparten en dos buckets de tamaño 2 y quedan como pertenencias
+        verify(bucketOperations, times(2)).upsert(any(Query.class), any(Update.class));
+        verify(memberOperations, times(3)).upsert(any(Query.class), any(Update.class));
+        ArgumentCaptor<Update> dropLegacy = ArgumentCaptor.forClass(Update.class);
+        verify(reactiveMongoTemplate).updateFirst(any(Query.class), dropLegacy.capture(), eq(BootcampReportEntity.class));
+        assertThat(dropLegacy.getValue().getUpdateObject().get("$unset", Document.class)).containsKey("enrolledUsers");
+        assertThat(dropLegacy.getValue().getUpdateObject().get("$set", Document.class)).containsEntry("enrolledUsersCount", 3);
+        // La segunda lectura ya no vuelve a buscar la lista embebida
+        verify(reactiveMongoTemplate, times(1)).findOne(any(Query.class), eq(Document.class), eq("bootcamp_reports"));
+    }
+
+    private void stubNoLegacyEnrollments() {
+        when(reactiveMongoTemplate.findOne(any(Query.class), eq(Document.class), eq("bootcamp_reports"))).thenReturn(Mono.empty());
+    }
+
+    private void stubBucketWrite() {
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentBucketEntity.class)).thenReturn(bucketOperations);
+        when(bucketOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+        when(reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EnrollmentMemberEntity.class)).thenReturn(memberOperations);
+        when(memberOperations.execute()).thenReturn(Mono.just(BulkWriteResult.acknowledged(0, 0, 0, 0, List.of(), List.of())));
+    }
+
+    private void stubEnrollmentState() {
+        stubNoLegacyEnrollments();
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(BootcampReportEntity.class))).thenReturn(Mono.just(true));
+        when(reactiveMongoTemplate.exists(any(Query.class), eq(EnrollmentBucketEntity.class))).thenReturn(Mono.just(false));
+    }
+
+    private UserEnrollment user(Long userId) {
+        return new UserEnrollment(userId, "User " + userId, "user" + userId + "@example.com");
+    }
+
+    private BootcampReport report(Long bootcampId) {
+        return BootcampReport.builder()
+                .bootcampId(bootcampId)
+                .bootcampName("Bootcamp " + bootcampId)
+                .enrolledUsersCount(0)
+                .enrolledUsers(List.of())
+                .capacities(List.of())
+                .build();
+    }
+
+    private BootcampReportEntity entity(Long bootcampId) {
+        return bootcampReportMapper.toEntity(report(bootcampId)).toBuilder()
+                .id("report-" + bootcampId)
+                .version(2L)
+                .build();
+    }
+}
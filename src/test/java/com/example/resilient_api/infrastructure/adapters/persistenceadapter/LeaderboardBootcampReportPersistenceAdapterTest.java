@@ -0,0 +1,150 @@
+package com.example.resilient_api.infrastructure.adapters.persistenceadapter;
+
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para LeaderboardBootcampReportPersistenceAdapter
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaderboardBootcampReportPersistenceAdapterTest {
+
+    @Mock
+    private BootcampReportPersistencePort delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LeaderboardBootcampReportPersistenceAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        adapter = new LeaderboardBootcampReportPersistenceAdapter(delegate, new BootcampLeaderboard(), meterRegistry);
+    }
+
+    @Test
+    void findRanking_AfterRebuild_ShouldServePageFromMemory() {
+        when(delegate.findRanking(0, Integer.MAX_VALUE)).thenReturn(Flux.just(
+                ranking(1, 1L, 30), ranking(2, 2L, 20), ranking(3, 3L, 10)));
+        adapter.rebuild();
+
+        StepVerifier.create(adapter.findRanking(1, 2))
+                .expectNext(ranking(2, 2L, 20), ranking(3, 3L, 10))
+                .verifyComplete();
+
+        verify(delegate, never()).findRanking(1, 2);
+        assertThat(meterRegistry.get("report.leaderboard.reads").tag("source", "memory").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.leaderboard.size").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void findRanking_BeforeRebuildCompletes_ShouldQueryDatabase() {
+        when(delegate.findRanking(0, Integer.MAX_VALUE)).thenReturn(Flux.never());
+        when(delegate.findRanking(0, 10)).thenReturn(Flux.just(ranking(1, 1L, 30)));
+        adapter.rebuild();
+
+        StepVerifier.create(adapter.findRanking(0, 10))
+                .expectNext(ranking(1, 1L, 30))
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("report.leaderboard.reads").tag("source", "database").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void writes_ShouldReorderLeaderboard() {
+        when(delegate.findRanking(0, Integer.MAX_VALUE)).thenReturn(Flux.just(ranking(1, 1L, 30), ranking(2, 2L, 20)));
+        adapter.rebuild();
+        BootcampReport report = report(3L, 25);
+        UserEnrollment user = new UserEnrollment(100L, "John Doe", "john@example.com");
+        when(delegate.save(report)).thenReturn(Mono.just(report));
+        when(delegate.updateEnrollmentCount(1L, 5)).thenReturn(Mono.empty());
+        when(delegate.addEnrolledUser(2L, user)).thenReturn(Mono.just(EnrollmentChange.APPLIED));
+
+        StepVerifier.create(adapter.save(report)
+                        .then(adapter.updateEnrollmentCount(1L, 5))
+                        .then(adapter.addEnrolledUser(2L, user))
+                        .thenMany(adapter.findRanking(0, 10)))
+                .expectNext(ranking(1, 3L, 25), ranking(2, 2L, 21), ranking(3, 1L, 5))
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_ShouldNotOverwriteWritesAppliedMeanwhile() {
+        Sinks.Many<BootcampRanking> stored = Sinks.many().unicast().onBackpressureBuffer();
+        when(delegate.findRanking(0, Integer.MAX_VALUE)).thenReturn(stored.asFlux());
+        BootcampReport report = report(1L, 40);
+        when(delegate.save(report)).thenReturn(Mono.just(report));
+        adapter.rebuild();
+
+        adapter.save(report).block();
+        stored.tryEmitNext(ranking(1, 1L, 30));
+        stored.tryEmitNext(ranking(2, 2L, 20));
+        stored.tryEmitComplete();
+
+        StepVerifier.create(adapter.findRanking(0, 10))
+                .expectNext(ranking(1, 1L, 40), ranking(2, 2L, 20))
+                .verifyComplete();
+    }
+
+    @Test
+    void rebuild_WithDeltaBeforeBootcampIsIndexed_ShouldReReadItsCount() {
+        Sinks.Many<BootcampRanking> stored = Sinks.many().unicast().onBackpressureBuffer();
+        when(delegate.findRanking(0, Integer.MAX_VALUE)).thenReturn(stored.asFlux());
+        UserEnrollment user = new UserEnrollment(100L, "John Doe", "john@example.com");
+        when(delegate.addEnrolledUser(2L, user)).thenReturn(Mono.just(EnrollmentChange.APPLIED));
+        when(delegate.findByBootcampId(2L)).thenReturn(Mono.just(report(2L, 21)));
+        adapter.rebuild();
+
+        adapter.addEnrolledUser(2L, user).block();
+        stored.tryEmitNext(ranking(1, 1L, 30));
+        stored.tryEmitNext(ranking(2, 2L, 20));
+        stored.tryEmitComplete();
+
+        StepVerifier.create(adapter.findRanking(0, 10))
+                .expectNext(ranking(1, 1L, 30), ranking(2, 2L, 21))
+                .verifyComplete();
+        verify(delegate, times(1)).findByBootcampId(2L);
+    }
+
+    @Test
+    void removeEnrolledUser_WhenUnchanged_ShouldKeepCount() {
+        when(delegate.findRanking(0, Integer.MAX_VALUE)).thenReturn(Flux.just(ranking(1, 1L, 30)));
+        when(delegate.removeEnrolledUser(1L, 100L)).thenReturn(Mono.just(EnrollmentChange.UNCHANGED));
+        adapter.rebuild();
+
+        StepVerifier.create(adapter.removeEnrolledUser(1L, 100L).thenMany(adapter.findRanking(0, 10)))
+                .expectNext(ranking(1, 1L, 30))
+                .verifyComplete();
+    }
+
+    private BootcampRanking ranking(int rank, Long bootcampId, int enrolledUsersCount) {
+        return new BootcampRanking(rank, bootcampId, "Bootcamp " + bootcampId, enrolledUsersCount);
+    }
+
+    private BootcampReport report(Long bootcampId, int enrolledUsersCount) {
+        return BootcampReport.builder()
+                .bootcampId(bootcampId)
+                .bootcampName("Bootcamp " + bootcampId)
+                .enrolledUsersCount(enrolledUsersCount)
+                .enrolledUsers(List.of())
+                .capacities(List.of())
+                .build();
+    }
+}
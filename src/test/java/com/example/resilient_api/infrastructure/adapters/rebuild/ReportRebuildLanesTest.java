@@ -0,0 +1,116 @@
+package com.example.resilient_api.infrastructure.adapters.rebuild;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para ReportRebuildLanes
+ */
+class ReportRebuildLanesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportRebuildLanes rebuildLanes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rebuildLanes = new ReportRebuildLanes(Schedulers.immediate(), meterRegistry, 16, Duration.ofSeconds(5));
+    }
+
+    @Test
+    void runExclusive_SameBootcamp_ShouldWaitForRunningRebuild() {
+        Sinks.Empty<Void> firstRebuild = Sinks.empty();
+        AtomicInteger secondStarts = new AtomicInteger();
+
+        Disposable first = rebuildLanes.runExclusive(1L, firstRebuild.asMono()).subscribe();
+        Disposable second = rebuildLanes.runExclusive(1L, Mono.fromRunnable(secondStarts::incrementAndGet)).subscribe();
+
+        assertThat(secondStarts).hasValue(0);
+        assertThat(meterRegistry.get("report.rebuild.lanes.queued").gauge().value()).isEqualTo(1.0);
+
+        firstRebuild.tryEmitEmpty();
+
+        assertThat(secondStarts).hasValue(1);
+        assertThat(meterRegistry.get("report.rebuild.lanes.busy").gauge().value()).isZero();
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    void runExclusive_DifferentLanes_ShouldRunConcurrently() {
+        AtomicInteger started = new AtomicInteger();
+
+        rebuildLanes.runExclusive(1L, Mono.<Void>never().doOnSubscribe(subscription -> started.incrementAndGet())).subscribe();
+        rebuildLanes.runExclusive(2L, Mono.<Void>never().doOnSubscribe(subscription -> started.incrementAndGet())).subscribe();
+
+        assertThat(started).hasValue(2);
+        assertThat(meterRegistry.get("report.rebuild.lanes.busy").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void runExclusive_WhenRunningRebuildIsCancelled_ShouldHandLaneToNext() {
+        AtomicInteger secondStarts = new AtomicInteger();
+
+        Disposable first = rebuildLanes.runExclusive(1L, Mono.never()).subscribe();
+        rebuildLanes.runExclusive(1L, Mono.fromRunnable(secondStarts::incrementAndGet)).subscribe();
+        first.dispose();
+
+        assertThat(secondStarts).hasValue(1);
+    }
+
+    @Test
+    void runExclusive_WhenWaitingRebuildIsCancelled_ShouldLeaveQueue() {
+        Sinks.Empty<Void> firstRebuild = Sinks.empty();
+        AtomicInteger secondStarts = new AtomicInteger();
+        AtomicInteger thirdStarts = new AtomicInteger();
+
+        rebuildLanes.runExclusive(1L, firstRebuild.asMono()).subscribe();
+        Disposable second = rebuildLanes.runExclusive(1L, Mono.fromRunnable(secondStarts::incrementAndGet)).subscribe();
+        rebuildLanes.runExclusive(1L, Mono.fromRunnable(thirdStarts::incrementAndGet)).subscribe();
+        second.dispose();
+        firstRebuild.tryEmitEmpty();
+
+        assertThat(secondStarts).hasValue(0);
+        assertThat(thirdStarts).hasValue(1);
+        assertThat(meterRegistry.get("report.rebuild.lanes.queued").gauge().value()).isZero();
+    }
+
+    @Test
+    void runExclusive_WithWorkError_ShouldReleaseLane() {
+        StepVerifier.create(rebuildLanes.runExclusive(1L, Mono.error(new IllegalStateException("failed"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(meterRegistry.get("report.rebuild.lanes.busy").gauge().value()).isZero();
+    }
+
+    @Test
+    void runExclusive_WhenLaneStaysBusyPastMaxWait_ShouldFailWithLaneBusy() {
+        ReportRebuildLanes boundedLanes = new ReportRebuildLanes(Schedulers.immediate(), meterRegistry, 16, Duration.ofMillis(50));
+        AtomicInteger secondStarts = new AtomicInteger();
+
+        boundedLanes.runExclusive(1L, Mono.never()).subscribe();
+
+        StepVerifier.create(boundedLanes.runExclusive(1L, Mono.fromRunnable(secondStarts::incrementAndGet)))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.REBUILD_LANE_BUSY)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(secondStarts).hasValue(0);
+        assertThat(meterRegistry.get("report.rebuild.lanes.timeouts").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.rebuild.lanes.queued").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para DownstreamResilience
+ */
+class DownstreamResilienceTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private DownstreamResilience downstreamResilience;
+
+    @BeforeEach
+    void setUp() {
+        DownstreamFailurePredicate failurePredicate = new DownstreamFailurePredicate();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .recordException(failurePredicate)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryOnException(failurePredicate)
+                .build());
+        downstreamResilience = new DownstreamResilience(circuitBreakerRegistry, bulkheadRegistry, retryRegistry);
+    }
+
+    @Test
+    void protect_WhenServiceFailsTransiently_ShouldRetry() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> attempts.incrementAndGet() < 3
+                ? Mono.error(new TechnicalException(TechnicalMessage.BOOTCAMP_SERVICE_ERROR))
+                : Mono.just("bootcamp"));
+
+        StepVerifier.create(downstreamResilience.protect(DownstreamResilience.BOOTCAMP_SERVICE, TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE, call))
+                .expectNext("bootcamp")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void protect_WhenServiceRejectsRequest_ShouldNotRetryNorRecordFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            attempts.incrementAndGet();
+            return Mono.error(new TechnicalException(TechnicalMessage.BOOTCAMP_NOT_FOUND));
+        });
+
+        StepVerifier.create(downstreamResilience.protect(DownstreamResilience.BOOTCAMP_SERVICE, TechnicalMessage.BOOTCAMP_SERVICE_UNAVAILABLE, call))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.BOOTCAMP_NOT_FOUND)
+                .verify();
+
+        assertThat(attempts).hasValue(1);
+        assertThat(circuitBreakerRegistry.circuitBreaker(DownstreamResilience.BOOTCAMP_SERVICE).getMetrics().getNumberOfFailedCalls())
+                .isZero();
+    }
+
+    @Test
+    void protect_WhenCircuitOpen_ShouldFailFastAsUnavailable() {
+        circuitBreakerRegistry.circuitBreaker(DownstreamResilience.USER_SERVICE).transitionToOpenState();
+        AtomicInteger attempts = new AtomicInteger();
+        Flux<String> call = Flux.defer(() -> {
+            attempts.incrementAndGet();
+            return Flux.just("user");
+        });
+
+        StepVerifier.create(downstreamResilience.protect(DownstreamResilience.USER_SERVICE, TechnicalMessage.USER_SERVICE_UNAVAILABLE, call))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.USER_SERVICE_UNAVAILABLE)
+                .verify();
+
+        assertThat(attempts).hasValue(0);
+    }
+
+    @Test
+    void protect_WhenBulkheadFull_ShouldFailFastAsUnavailable() {
+        Mono<String> slowCall = Mono.never();
+        downstreamResilience.protect(DownstreamResilience.CAPACITY_SERVICE, TechnicalMessage.CAPACITY_SERVICE_UNAVAILABLE, slowCall)
+                .subscribe();
+
+        StepVerifier.create(downstreamResilience.protect(DownstreamResilience.CAPACITY_SERVICE, TechnicalMessage.CAPACITY_SERVICE_UNAVAILABLE, Mono.just("capacity")))
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.CAPACITY_SERVICE_UNAVAILABLE)
+                .verify();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para RequestHedger
+ */
+class RequestHedgerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        calls = new AtomicInteger();
+    }
+
+    @Test
+    void hedge_WhenOriginalIsSlow_ShouldReturnFirstResponse() {
+        RequestHedger hedger = hedger(true, 100);
+
+        StepVerifier.create(hedger.hedge(slowThenFast()))
+                .expectNext("fast")
+                .verifyComplete();
+
+        assertThat(calls).hasValue(2);
+        assertThat(counter("report.hedge.issued")).isEqualTo(1.0);
+        assertThat(counter("report.hedge.won")).isEqualTo(1.0);
+    }
+
+    @Test
+    void hedge_WhenOriginalAnswersInTime_ShouldNotSendCopy() {
+        RequestHedger hedger = hedger(true, 100);
+
+        StepVerifier.create(hedger.hedge(() -> {
+                    calls.incrementAndGet();
+                    return Flux.just("fast");
+                }))
+                .expectNext("fast")
+                .verifyComplete();
+
+        assertThat(calls).hasValue(1);
+        assertThat(counter("report.hedge.issued")).isZero();
+    }
+
+    @Test
+    void hedge_WhenBudgetExhausted_ShouldWaitForOriginal() {
+        RequestHedger hedger = hedger(true, 0);
+
+        StepVerifier.create(hedger.hedge(slowThenFast()))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertThat(calls).hasValue(1);
+        assertThat(counter("report.hedge.skipped")).isEqualTo(1.0);
+    }
+
+    @Test
+    void hedge_WhenDisabled_ShouldCallOnce() {
+        RequestHedger hedger = hedger(false, 100);
+
+        StepVerifier.create(hedger.hedge(slowThenFast()))
+                .expectNext("slow")
+                .verifyComplete();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void hedge_AfterMinimumSamples_ShouldRecomputeDelayFromRecentLatencies() {
+        RequestHedger hedger = hedger(true, 0);
+        Supplier<Flux<String>> fast = () -> Flux.just("fast");
+
+        for (int call = 0; call < 19; call++) {
+            hedger.hedge(fast).blockLast();
+        }
+        assertThat(delayMillis()).isEqualTo(20.0);
+
+        // La vigésima muestra completa el mínimo: la demora pasa al percentil de las respuestas rápidas
+        hedger.hedge(fast).blockLast();
+        assertThat(delayMillis()).isLessThan(20.0);
+    }
+
+    private Supplier<Flux<String>> slowThenFast() {
+        return () -> calls.incrementAndGet() == 1
+                ? Mono.delay(Duration.ofMillis(300)).thenMany(Flux.just("slow"))
+                : Flux.just("fast");
+    }
+
+    private RequestHedger hedger(boolean enabled, double budgetPercent) {
+        return new RequestHedger("test", meterRegistry, enabled, 0.95, budgetPercent,
+                Duration.ofMillis(1), Duration.ofMillis(20), 100);
+    }
+
+    private double delayMillis() {
+        return meterRegistry.get("report.hedge.delay").tag("service", "test").timeGauge().value(TimeUnit.MILLISECONDS);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("service", "test").counter().count();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.resilient_api.infrastructure.adapters.webclient;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para UserIdStreamDecoder
+ */
+class UserIdStreamDecoderTest {
+
+    private final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Test
+    void decode_JsonArraySplitAcrossBuffers_ShouldEmitEveryId() {
+        StepVerifier.create(UserIdStreamDecoder.decode(body("[100, 2", "00,30", "0]")))
+                .expectNext(100L, 200L, 300L)
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_NdjsonWithoutTrailingNewline_ShouldEmitLastId() {
+        StepVerifier.create(UserIdStreamDecoder.decode(body("100\n200\r\n", "300")))
+                .expectNext(100L, 200L, 300L)
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_ShouldHonourDownstreamDemand() {
+        StepVerifier.create(UserIdStreamDecoder.decode(body("[1,2,", "3]")), 1)
+                .expectNext(1L)
+                .thenRequest(2)
+                .expectNext(2L, 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_WhenBodyIsNotIdList_ShouldFail() {
+        StepVerifier.create(UserIdStreamDecoder.decode(body("{\"code\":\"404\"}")))
+                .expectErrorMatches(this::isMalformed)
+                .verify();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[[1]]", "1 2", "[1 2]", "[1,]", "[,1]", "[1", "[1,2", "[1]2", "[1]]", "]", "1,2", "1-"})
+    void decode_WithMalformedStructure_ShouldFailWithUserIdsMalformed(String payload) {
+        StepVerifier.create(UserIdStreamDecoder.decode(body(payload)))
+                .thenConsumeWhile(userId -> true)
+                .expectErrorMatches(this::isMalformed)
+                .verify();
+    }
+
+    @Test
+    void collect_WithUnterminatedArraySplitAcrossBuffers_ShouldFailWithUserIdsMalformed() {
+        StepVerifier.create(UserIdStreamDecoder.collect(body("[1,", "2")))
+                .expectErrorMatches(this::isMalformed)
+                .verify();
+    }
+
+    @Test
+    void collect_ShouldReturnPrimitiveArray() {
+        StepVerifier.create(UserIdStreamDecoder.collect(body("[", "", "]")))
+                .assertNext(userIds -> assertThat(userIds).isEmpty())
+                .verifyComplete();
+
+        StepVerifier.create(UserIdStreamDecoder.collect(body("[9007199254740993,", "7]")))
+                .assertNext(userIds -> assertThat(userIds).containsExactly(9007199254740993L, 7L))
+                .verifyComplete();
+    }
+
+    private boolean isMalformed(Throwable error) {
+        return error instanceof TechnicalException technicalException
+                && technicalException.getTechnicalMessage() == TechnicalMessage.USER_IDS_MALFORMED
+                && technicalException.getCause() instanceof DecodingException;
+    }
+
+    private Flux<DataBuffer> body(String... chunks) {
+        return Flux.fromArray(chunks)
+                .map(chunk -> bufferFactory.wrap(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
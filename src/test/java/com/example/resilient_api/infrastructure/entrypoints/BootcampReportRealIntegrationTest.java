@@ -115,7 +115,8 @@ class BootcampReportRealIntegrationTest {
         assert savedReport.enrolledUsersCount() == 2;
         assert savedReport.capacityCount() == 1;
         assert savedReport.technologyCount() == 2;
-        assert savedReport.enrolledUsers().size() == 2;
+        // Los usuarios se guardan en los buckets de inscripción y se leen bajo demanda
+        assert bootcampReportPersistencePort.findEnrolledUsers(bootcampId).count().block() == 2;
     }
 
     @Test
@@ -160,6 +161,7 @@ class BootcampReportRealIntegrationTest {
         assert savedReport != null;
         assert savedReport.enrolledUsersCount() == 0;
         assert savedReport.enrolledUsers().isEmpty();
+        assert bootcampReportPersistencePort.findEnrolledUsers(bootcampId).count().block() == 0;
         assert savedReport.capacityCount() == 1;
         assert savedReport.technologyCount() == 1;
     }
@@ -0,0 +1,236 @@
+package com.example.resilient_api.infrastructure.entrypoints.cache;
+
+import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.EnrollmentChange;
+import com.example.resilient_api.domain.enums.ServedFreshness;
+import com.example.resilient_api.domain.model.BootcampRanking;
+import com.example.resilient_api.domain.model.BootcampReport;
+import com.example.resilient_api.domain.model.ReportFreshness;
+import com.example.resilient_api.domain.model.ReportRead;
+import com.example.resilient_api.domain.model.UserEnrollment;
+import com.example.resilient_api.domain.spi.BootcampReportPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para CachingBootcampReportService
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingBootcampReportServiceTest {
+
+    @Mock
+    private BootcampReportServicePort delegate;
+
+    @Mock
+    private BootcampReportPersistencePort bootcampReportPersistencePort;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithinTtl_ShouldServeFromCache() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp("msg-2")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(1)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        assertThat(requests("miss")).isEqualTo(1.0);
+        assertThat(requests("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WhenStale_ShouldServeCachedValueAndRefreshInBackground() throws InterruptedException {
+        CachingBootcampReportService service = service(Duration.ofMillis(20), Duration.ofMinutes(1));
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))), Mono.just(ReportRead.fresh(report(2L, 20))));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        Thread.sleep(50);
+
+        StepVerifier.create(service.getMostPopularBootcamp(ReportFreshness.FRESH, "msg-2"))
+                .expectNextMatches(read -> read.served() == ServedFreshness.STALE && read.report().bootcampId().equals(1L))
+                .verifyComplete();
+        verify(delegate, timeout(1000).times(2)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        StepVerifier.create(service.getMostPopularBootcamp("msg-3"))
+                .expectNextMatches(report -> report.bootcampId().equals(2L))
+                .verifyComplete();
+
+        assertThat(requests("stale")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.most-popular.cache.refreshes").tag("outcome", "success").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void registerBootcampReport_WhenLeaderChanges_ShouldInvalidate() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))), Mono.just(ReportRead.fresh(report(2L, 30))));
+        when(delegate.registerBootcampReport(2L, "msg-2")).thenReturn(Mono.empty());
+        when(bootcampReportPersistencePort.findRanking(0, 1)).thenReturn(Flux.just(leader(2L, 30)));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.registerBootcampReport(2L, "msg-2")).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp("msg-3"))
+                .expectNextMatches(report -> report.bootcampId().equals(2L))
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("report.most-popular.cache.invalidations").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void registerBootcampReport_WhenLeaderUnchanged_ShouldKeepEntry() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))));
+        when(delegate.registerBootcampReport(2L, "msg-2")).thenReturn(Mono.empty());
+        when(bootcampReportPersistencePort.findRanking(0, 1)).thenReturn(Flux.just(leader(1L, 10)));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.registerBootcampReport(2L, "msg-2")).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp("msg-3")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(1)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        verify(bootcampReportPersistencePort, never()).findMostPopularBootcamp();
+    }
+
+    @Test
+    void unenrollUser_OnOtherBootcamp_ShouldKeepEntryWithoutQueryingLeader() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))));
+        when(delegate.unenrollUser(2L, 100L, "msg-2")).thenReturn(Mono.just(EnrollmentChange.APPLIED));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.unenrollUser(2L, 100L, "msg-2")).expectNext(EnrollmentChange.APPLIED).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp("msg-3")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(1)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        verifyNoInteractions(bootcampReportPersistencePort);
+    }
+
+    @Test
+    void enrollUser_OnCachedLeader_ShouldInvalidateWithoutQueryingLeader() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))));
+        when(delegate.enrollUser(1L, 100L, "msg-2")).thenReturn(Mono.just(EnrollmentChange.APPLIED));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.enrollUser(1L, 100L, "msg-2")).expectNext(EnrollmentChange.APPLIED).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp("msg-3")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(2)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        verifyNoInteractions(bootcampReportPersistencePort);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithOversizedResult_ShouldNotCache() {
+        CachingBootcampReportService service = new CachingBootcampReportService(delegate, bootcampReportPersistencePort,
+                meterRegistry, Duration.ofMinutes(1), Duration.ZERO, 0);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 1))));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp("msg-2")).expectNextCount(1).verifyComplete();
+
+        verify(delegate, times(2)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        assertThat(meterRegistry.get("report.most-popular.cache.oversized").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithStoredFreshnessAndCachedEntry_ShouldServeEntry() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))));
+
+        StepVerifier.create(service.getMostPopularBootcamp("msg-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp(ReportFreshness.STORED, "msg-2"))
+                .expectNextMatches(read -> read.served() == ServedFreshness.FRESH && read.report().bootcampId().equals(1L))
+                .verifyComplete();
+
+        verify(delegate, times(1)).getMostPopularBootcamp(any(ReportFreshness.class), anyString());
+        assertThat(requests("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithMaxAgeRefreshed_ShouldCacheEnrichedResult() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        ReportFreshness freshness = ReportFreshness.maxAge(Duration.ofSeconds(30));
+        when(delegate.getMostPopularBootcamp(freshness, "msg-1")).thenReturn(Mono.just(ReportRead.fresh(report(1L, 10))));
+
+        StepVerifier.create(service.getMostPopularBootcamp(freshness, "msg-1"))
+                .expectNextMatches(read -> read.served() == ServedFreshness.FRESH)
+                .verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp(ReportFreshness.FRESH, "msg-2"))
+                .expectNextMatches(read -> read.report().bootcampId().equals(1L))
+                .verifyComplete();
+
+        verify(delegate, never()).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        assertThat(requests("miss")).isEqualTo(1.0);
+        assertThat(requests("hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void getMostPopularBootcamp_WithStaleResult_ShouldNotCache() {
+        CachingBootcampReportService service = service(Duration.ofMinutes(1), Duration.ZERO);
+        when(delegate.getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString()))
+                .thenReturn(Mono.just(ReportRead.stale(report(1L, 10))), Mono.just(ReportRead.fresh(report(1L, 12))));
+
+        StepVerifier.create(service.getMostPopularBootcamp(ReportFreshness.FRESH, "msg-1"))
+                .expectNextMatches(read -> read.served() == ServedFreshness.STALE)
+                .verifyComplete();
+        StepVerifier.create(service.getMostPopularBootcamp(ReportFreshness.FRESH, "msg-2"))
+                .expectNextMatches(read -> read.served() == ServedFreshness.FRESH && read.report().enrolledUsersCount() == 12)
+                .verifyComplete();
+
+        verify(delegate, times(2)).getMostPopularBootcamp(eq(ReportFreshness.FRESH), anyString());
+        assertThat(requests("miss")).isEqualTo(2.0);
+    }
+
+    private CachingBootcampReportService service(Duration ttl, Duration staleWhileRevalidate) {
+        return new CachingBootcampReportService(delegate, bootcampReportPersistencePort, meterRegistry,
+                ttl, staleWhileRevalidate, 10_000);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("report.most-popular.cache.requests").tag("result", result).counter().count();
+    }
+
+    private BootcampRanking leader(Long bootcampId, int users) {
+        return new BootcampRanking(1, bootcampId, "Bootcamp " + bootcampId, users);
+    }
+
+    private BootcampReport report(Long bootcampId, int users) {
+        return BootcampReport.builder()
+                .bootcampId(bootcampId)
+                .bootcampName("Bootcamp " + bootcampId)
+                .enrolledUsersCount(users)
+                .enrolledUsers(Collections.nCopies(users, new UserEnrollment(1L, "User", "user@example.com")))
+                .capacities(List.of())
+                .build();
+    }
+}
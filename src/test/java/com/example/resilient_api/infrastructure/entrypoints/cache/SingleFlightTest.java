@@ -0,0 +1,105 @@
+package com.example.resilient_api.infrastructure.entrypoints.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para SingleFlight
+ */
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+    }
+
+    @Test
+    void execute_ConcurrentCalls_ShouldShareSingleExecution() {
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger executions = new AtomicInteger();
+
+        Mono<String> first = singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            return upstream.asMono();
+        }).cache();
+        Mono<String> second = singleFlight.execute("key", upstream::asMono).cache();
+        first.subscribe();
+        second.subscribe();
+        upstream.tryEmitValue("value");
+
+        StepVerifier.create(Mono.zip(first, second))
+                .expectNextMatches(results -> results.getT1().equals("value") && results.getT2().equals("value"))
+                .verifyComplete();
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("report.single-flight.collapsed").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.single-flight.executions").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void execute_WhenUpstreamFails_ShouldPropagateErrorToEveryCaller() {
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> first = singleFlight.execute("key", upstream::asMono).cache();
+        Mono<String> second = singleFlight.execute("key", upstream::asMono).cache();
+        first.subscribe(value -> { }, error -> { });
+        second.subscribe(value -> { }, error -> { });
+        upstream.tryEmitError(new IllegalStateException("boom"));
+
+        StepVerifier.create(first).expectErrorMessage("boom").verify();
+        StepVerifier.create(second).expectErrorMessage("boom").verify();
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldStartNewExecution() {
+        AtomicInteger executions = new AtomicInteger();
+
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.fromCallable(() -> "v" + executions.incrementAndGet())))
+                .expectNext("v1")
+                .verifyComplete();
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.fromCallable(() -> "v" + executions.incrementAndGet())))
+                .expectNext("v2")
+                .verifyComplete();
+    }
+
+    @Test
+    void execute_WhenOneCallerCancels_ShouldKeepServingTheOthers() {
+        Sinks.One<String> upstream = Sinks.one();
+
+        Disposable cancelled = singleFlight.execute("key", upstream::asMono).subscribe();
+        Mono<String> remaining = singleFlight.execute("key", upstream::asMono).cache();
+        remaining.subscribe();
+        cancelled.dispose();
+        upstream.tryEmitValue("value");
+
+        StepVerifier.create(remaining).expectNext("value").verifyComplete();
+    }
+
+    @Test
+    void execute_WhenAllCallersCancel_ShouldCancelUpstream() {
+        PublisherProbe<String> probe = PublisherProbe.of(Mono.never());
+
+        Disposable first = singleFlight.execute("key", probe::mono).subscribe();
+        Disposable second = singleFlight.execute("key", probe::mono).subscribe();
+        first.dispose();
+        second.dispose();
+
+        probe.assertWasCancelled();
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just("fresh")))
+                .expectNext("fresh")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.domain.model.BootcampRegistrationResult;
+import com.example.resilient_api.infrastructure.adapters.journal.RegistrationJournal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para BatchRegistrationJobRegistry
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchRegistrationJobRegistryTest {
+
+    private static final String MESSAGE_ID = "test-message-id";
+
+    @Mock
+    private BootcampReportServicePort bootcampReportServicePort;
+
+    @Mock
+    private RegistrationJournal registrationJournal;
+
+    private BatchRegistrationJobRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new BatchRegistrationJobRegistry(bootcampReportServicePort, registrationJournal,
+                500, 4, 2, 1, Duration.ofHours(1), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void submit_ShouldProcessBatchInChunksAndCheckpointOnlyRegisteredBootcamps() {
+        stubJournal();
+        when(registrationJournal.complete(anyLong(), anyLong())).thenReturn(Mono.empty());
+        when(bootcampReportServicePort.registerBootcampReports(eq(List.of(1L, 2L)), anyInt(), eq(MESSAGE_ID)))
+                .thenReturn(Flux.just(BootcampRegistrationResult.success(1L),
+                        BootcampRegistrationResult.failure(2L, new TechnicalException(TechnicalMessage.USER_SERVICE_ERROR))));
+        when(bootcampReportServicePort.registerBootcampReports(eq(List.of(3L)), anyInt(), eq(MESSAGE_ID)))
+                .thenReturn(Flux.just(BootcampRegistrationResult.success(3L)));
+
+        BatchRegistrationJob job = registry.submit(List.of(1L, 2L, 2L, 3L), MESSAGE_ID).block();
+
+        assertThat(job.status()).isEqualTo(BatchRegistrationJob.Status.COMPLETED_WITH_ERRORS);
+        assertThat(job.items())
+                .extracting(BatchRegistrationJob.Item::status)
+                .containsExactly(BatchRegistrationJob.ItemStatus.REGISTERED, BatchRegistrationJob.ItemStatus.FAILED,
+                        BatchRegistrationJob.ItemStatus.REGISTERED);
+        verify(registrationJournal).complete(101L, 1L);
+        verify(registrationJournal).complete(103L, 3L);
+        verify(registrationJournal, never()).complete(anyLong(), eq(2L));
+    }
+
+    @Test
+    void submit_WhenMaxJobsRunning_ShouldRejectWith429() {
+        stubJournal();
+        when(bootcampReportServicePort.registerBootcampReports(anyList(), anyInt(), anyString())).thenReturn(Flux.never());
+
+        registry.submit(List.of(1L), MESSAGE_ID).block();
+
+        StepVerifier.create(registry.submit(List.of(2L), MESSAGE_ID))
+                .expectErrorMatches(error -> error instanceof BusinessException businessException
+                        && businessException.getTechnicalMessage() == TechnicalMessage.BATCH_JOBS_BUSY)
+                .verify();
+        verify(registrationJournal, times(1)).acceptAll(anyList(), anyString());
+    }
+
+    @Test
+    void submit_WhenJobFinishes_ShouldFreeItsSlot() {
+        stubJournal();
+        when(registrationJournal.complete(anyLong(), anyLong())).thenReturn(Mono.empty());
+        when(bootcampReportServicePort.registerBootcampReports(anyList(), anyInt(), anyString()))
+                .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Long>>getArgument(0))
+                        .map(BootcampRegistrationResult::success));
+
+        BatchRegistrationJob first = registry.submit(List.of(1L), MESSAGE_ID).block();
+        BatchRegistrationJob second = registry.submit(List.of(2L), MESSAGE_ID).block();
+
+        assertThat(first.status()).isEqualTo(BatchRegistrationJob.Status.COMPLETED);
+        assertThat(second.status()).isEqualTo(BatchRegistrationJob.Status.COMPLETED);
+    }
+
+    private void stubJournal() {
+        when(registrationJournal.acceptAll(anyList(), anyString())).thenAnswer(invocation -> {
+            Map<Long, Long> sequences = new LinkedHashMap<>();
+            invocation.<List<Long>>getArgument(0).forEach(bootcampId -> sequences.put(bootcampId, 100L + bootcampId));
+            return Mono.just(sequences);
+        });
+    }
+}
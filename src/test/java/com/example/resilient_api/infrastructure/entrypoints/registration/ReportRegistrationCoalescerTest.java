@@ -0,0 +1,89 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.api.BootcampReportServicePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ReportRegistrationCoalescer
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportRegistrationCoalescerTest {
+
+    @Mock
+    private BootcampReportServicePort bootcampReportServicePort;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReportRegistrationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ReportRegistrationCoalescer(bootcampReportServicePort, meterRegistry, Duration.ofMillis(50), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void submit_BurstForSameBootcamp_ShouldExecuteSingleRebuild() {
+        when(bootcampReportServicePort.registerBootcampReport(eq(1L), anyString()))
+                .thenReturn(Mono.empty());
+
+        Mono<Void> burst = Mono.when(
+                coalescer.submit(1L, "msg-1"),
+                coalescer.submit(1L, "msg-2"),
+                coalescer.submit(1L, "msg-3"));
+
+        StepVerifier.create(burst).verifyComplete();
+
+        verify(bootcampReportServicePort, times(1)).registerBootcampReport(1L, "msg-1");
+        assertThat(meterRegistry.get("report.registration.requests").tag("outcome", "merged").counter().count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.get("report.registration.rebuilds").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_WhileRebuildRunning_ShouldRunOneTrailingRebuild() {
+        Sinks.Empty<Void> firstRebuild = Sinks.empty();
+        when(bootcampReportServicePort.registerBootcampReport(eq(1L), anyString()))
+                .thenReturn(firstRebuild.asMono(), Mono.empty());
+
+        Mono<Void> first = coalescer.submit(1L, "msg-1").cache();
+        first.subscribe();
+        verify(bootcampReportServicePort, timeout(1000)).registerBootcampReport(1L, "msg-1");
+
+        Mono<Void> trailing = Mono.when(coalescer.submit(1L, "msg-2"), coalescer.submit(1L, "msg-3")).cache();
+        trailing.subscribe();
+        firstRebuild.tryEmitEmpty();
+
+        StepVerifier.create(Mono.when(first, trailing)).verifyComplete();
+
+        verify(bootcampReportServicePort, times(2)).registerBootcampReport(anyLong(), anyString());
+        verify(bootcampReportServicePort).registerBootcampReport(1L, "msg-2");
+    }
+
+    @Test
+    void submit_WhenRebuildFails_ShouldPropagateErrorToMergedRequests() {
+        when(bootcampReportServicePort.registerBootcampReport(eq(2L), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        StepVerifier.create(Mono.when(coalescer.submit(2L, "msg-1"), coalescer.submit(2L, "msg-2")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verify(bootcampReportServicePort, times(1)).registerBootcampReport(anyLong(), anyString());
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.resilient_api.infrastructure.entrypoints.registration;
+
+import com.example.resilient_api.domain.enums.TechnicalMessage;
+import com.example.resilient_api.domain.exceptions.BusinessException;
+import com.example.resilient_api.domain.exceptions.TechnicalException;
+import com.example.resilient_api.infrastructure.adapters.journal.RegistrationJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ReportRegistrationQueue
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportRegistrationQueueTest {
+
+    @Mock
+    private ReportRegistrationCoalescer coalescer;
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void enqueue_WithRejectPolicyAndFullQueue_ShouldFailWith429() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.REJECT, 1, 1, Duration.ofSeconds(1));
+        when(coalescer.submit(eq(1L), anyString())).thenReturn(Mono.never());
+
+        queue.enqueue(1L, "msg-1").block();
+        queue.enqueue(2L, "msg-2").block();
+
+        StepVerifier.create(queue.enqueue(3L, "msg-3"))
+                .expectErrorMatches(error -> isBusiness(error, TechnicalMessage.REGISTRATION_QUEUE_FULL))
+                .verify();
+
+        verify(coalescer, never()).submit(eq(3L), anyString());
+        assertThat(meterRegistry.get("report.registration.queue.overflow").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void enqueue_WithDropOldestPolicyAndFullQueue_ShouldFailDroppedRegistration() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.DROP_OLDEST, 1, 1, Duration.ofSeconds(1));
+        when(coalescer.submit(eq(1L), anyString())).thenReturn(Mono.never());
+
+        queue.enqueue(1L, "msg-1").block();
+        ReportRegistrationQueue.RegistrationTicket oldest = queue.enqueue(2L, "msg-2").block();
+
+        StepVerifier.create(queue.enqueue(3L, "msg-3"))
+                .expectNextMatches(ticket -> ticket.bootcampId() == 3L)
+                .verifyComplete();
+        StepVerifier.create(oldest.completion())
+                .expectErrorMatches(error -> error instanceof TechnicalException technicalException
+                        && technicalException.getTechnicalMessage() == TechnicalMessage.REGISTRATION_DROPPED)
+                .verify();
+
+        assertThat(meterRegistry.get("report.registration.queue.depth").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.registration.queue.overflow").tag("outcome", "dropped").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void enqueue_WithBlockPolicy_ShouldFailWith429WhenTimeoutExpires() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.BLOCK, 1, 1, Duration.ofMillis(50));
+        when(coalescer.submit(eq(1L), anyString())).thenReturn(Mono.never());
+
+        queue.enqueue(1L, "msg-1").block();
+        queue.enqueue(2L, "msg-2").block();
+
+        StepVerifier.create(queue.enqueue(3L, "msg-3"))
+                .then(() -> assertThat(meterRegistry.get("report.registration.queue.blocked").gauge().value()).isEqualTo(1.0))
+                .expectErrorMatches(error -> isBusiness(error, TechnicalMessage.REGISTRATION_QUEUE_FULL))
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(meterRegistry.get("report.registration.queue.blocked").gauge().value()).isZero();
+        verify(coalescer, never()).submit(eq(3L), anyString());
+    }
+
+    @Test
+    void enqueue_WithBlockPolicy_ShouldAdmitWhenCapacityFrees() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.BLOCK, 1, 1, Duration.ofSeconds(5));
+        Sinks.Empty<Void> running = Sinks.empty();
+        when(coalescer.submit(eq(1L), anyString())).thenReturn(running.asMono());
+        when(coalescer.submit(eq(2L), anyString())).thenReturn(Mono.never());
+
+        queue.enqueue(1L, "msg-1").block();
+        queue.enqueue(2L, "msg-2").block();
+
+        StepVerifier.create(queue.enqueue(3L, "msg-3"))
+                .then(running::tryEmitEmpty)
+                .expectNextMatches(ticket -> ticket.bootcampId() == 3L)
+                .verifyComplete();
+    }
+
+    @Test
+    void enqueue_SameBootcampWhileWaiting_ShouldShareOneEntry() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.REJECT, 5, 1, Duration.ofSeconds(1));
+        Sinks.Empty<Void> running = Sinks.empty();
+        when(coalescer.submit(eq(1L), anyString())).thenReturn(running.asMono());
+        when(coalescer.submit(eq(2L), anyString())).thenReturn(Mono.empty());
+
+        queue.enqueue(1L, "msg-1").block();
+        ReportRegistrationQueue.RegistrationTicket first = queue.enqueue(2L, "msg-2").block();
+        ReportRegistrationQueue.RegistrationTicket merged = queue.enqueue(2L, "msg-3").block();
+
+        assertThat(meterRegistry.get("report.registration.queue.depth").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("report.registration.queue.merged").counter().count()).isEqualTo(1.0);
+
+        running.tryEmitEmpty();
+
+        StepVerifier.create(Mono.when(first.completion(), merged.completion())).verifyComplete();
+        verify(coalescer, times(1)).submit(2L, "msg-2");
+        verify(coalescer, never()).submit(2L, "msg-3");
+    }
+
+    @Test
+    void enqueue_ShouldNotExceedWorkerConcurrency() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.REJECT, 10, 2, Duration.ofSeconds(1));
+        when(coalescer.submit(anyLong(), anyString())).thenReturn(Mono.never());
+
+        for (long bootcampId = 1; bootcampId <= 4; bootcampId++) {
+            queue.enqueue(bootcampId, "msg-" + bootcampId).block();
+        }
+
+        verify(coalescer, times(2)).submit(anyLong(), anyString());
+        assertThat(meterRegistry.get("report.registration.queue.in-flight").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("report.registration.queue.depth").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void enqueue_WhenRebuildFinishes_ShouldCompleteTicketAndFreeWorker() {
+        ReportRegistrationQueue queue = queue(ReportRegistrationQueue.OverflowPolicy.REJECT, 10, 1, Duration.ofSeconds(1));
+        when(coalescer.submit(anyLong(), anyString())).thenReturn(Mono.empty());
+
+        ReportRegistrationQueue.RegistrationTicket ticket = queue.enqueue(1L, "msg-1").block();
+
+        StepVerifier.create(ticket.completion()).verifyComplete();
+        assertThat(meterRegistry.get("report.registration.queue.in-flight").gauge().value()).isZero();
+        assertThat(meterRegistry.get("report.registration.queue.processing").timer().count()).isEqualTo(1);
+    }
+
+    private ReportRegistrationQueue queue(ReportRegistrationQueue.OverflowPolicy policy, int capacity, int workers, Duration blockTimeout) {
+        RegistrationJournal journal = new RegistrationJournal(false, directory, DataSize.ofKilobytes(64), DataSize.ofMegabytes(1), false);
+        return new ReportRegistrationQueue(coalescer, journal, meterRegistry, capacity, workers, policy, blockTimeout);
+    }
+
+    private static boolean isBusiness(Throwable error, TechnicalMessage message) {
+        return error instanceof BusinessException businessException && businessException.getTechnicalMessage() == message;
+    }
+}